@@ -7,6 +7,9 @@ plugins {
 
 extra["springCloudVersion"] = "2023.0.3"
 
+// 21 enables virtual threads in the servlet services, see spring.threads.virtual.enabled
+val javaVersion = providers.gradleProperty("javaVersion").getOrElse("17")
+
 allprojects {
     apply {
         plugin("java")
@@ -19,7 +22,7 @@ allprojects {
 
     java {
         toolchain {
-            languageVersion = JavaLanguageVersion.of(17)
+            languageVersion = JavaLanguageVersion.of(javaVersion.toInt())
         }
     }
 
@@ -0,0 +1,51 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+// Read-heavy mix against questions-service: front page listing, next pages and single questions.
+// BASE_URL points at the service or the gateway, TOKEN is an access token of any user.
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const TOKEN = __ENV.TOKEN;
+const RATE = Number(__ENV.RATE || 500);
+const DURATION = __ENV.DURATION || '2m';
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'constant-arrival-rate',
+            rate: RATE,
+            timeUnit: '1s',
+            duration: DURATION,
+            preAllocatedVUs: Math.max(50, RATE),
+            maxVUs: RATE * 4,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+const params = { headers: { Authorization: `Bearer ${TOKEN}` } };
+
+export function setup() {
+    if (!TOKEN) {
+        throw new Error('TOKEN is required');
+    }
+    const page = http.get(`${BASE_URL}/api/questions?size=100`, params).json();
+    return { ids: (page.data || []).map((question) => question.id) };
+}
+
+export default function (data) {
+    const roll = Math.random();
+    let response;
+    if (roll < 0.5 || data.ids.length === 0) {
+        response = http.get(`${BASE_URL}/api/questions`, { ...params, tags: { name: 'list' } });
+    } else if (roll < 0.7) {
+        const page = 1 + Math.floor(Math.random() * 10);
+        response = http.get(`${BASE_URL}/api/questions?page=${page}`, { ...params, tags: { name: 'list-page' } });
+    } else {
+        const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+        response = http.get(`${BASE_URL}/api/questions/${id}`, { ...params, tags: { name: 'get' } });
+    }
+    check(response, { 'status is 200': (r) => r.status === 200 });
+}
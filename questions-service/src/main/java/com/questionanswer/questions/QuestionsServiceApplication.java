@@ -1,13 +1,18 @@
 package com.questionanswer.questions;
 
+import com.questionanswer.questions.bulk.BulkLoadRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 @EnableDiscoveryClient
 public class QuestionsServiceApplication {
 	public static void main(String[] args) {
-		SpringApplication.run(QuestionsServiceApplication.class, args);
+		ConfigurableApplicationContext context = SpringApplication.run(QuestionsServiceApplication.class, args);
+		if (context.getEnvironment().matchesProfiles(BulkLoadRunner.PROFILE)) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 }
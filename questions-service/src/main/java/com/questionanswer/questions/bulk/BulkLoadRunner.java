@@ -0,0 +1,85 @@
+package com.questionanswer.questions.bulk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Runs a bulk load on startup under the {@value #PROFILE} profile, after which the application exits with the code
+ * of {@link org.springframework.boot.SpringApplication#exit}. {@code questions.bulk-load.mode} selects the input:
+ * {@code file} loads {@code questions.bulk-load.questions} and optionally {@code questions.bulk-load.answers},
+ * {@code synthetic} generates a dataset from the {@code questions.bulk-load.synthetic.*} settings.
+ * <p>
+ * The profile starts no web server, message listeners, scheduled jobs or index builds, so it has to come after
+ * the environment profile, for example {@code java -jar questions-service.jar
+ * --spring.profiles.active=standalone,bulk-load --questions.bulk-load.synthetic.questions=1000000}.
+ */
+@Slf4j
+@Component
+@Profile(BulkLoadRunner.PROFILE)
+public class BulkLoadRunner implements CommandLineRunner {
+    public static final String PROFILE = "bulk-load";
+
+    private final BulkLoader bulkLoader;
+    private final JdbcClient jdbcClient;
+    private final String mode;
+    private final String questionsFile;
+    private final String answersFile;
+    private final SyntheticDataset.Settings syntheticSettings;
+
+    public BulkLoadRunner(BulkLoader bulkLoader,
+                          JdbcClient jdbcClient,
+                          @Value("${questions.bulk-load.mode:synthetic}") String mode,
+                          @Value("${questions.bulk-load.questions:}") String questionsFile,
+                          @Value("${questions.bulk-load.answers:}") String answersFile,
+                          @Value("${questions.bulk-load.synthetic.questions:100000}") long questions,
+                          @Value("${questions.bulk-load.synthetic.authors:10000}") int authors,
+                          @Value("${questions.bulk-load.synthetic.author-skew:1.1}") double authorSkew,
+                          @Value("${questions.bulk-load.synthetic.answers-per-question:3}") double answersPerQuestion,
+                          @Value("${questions.bulk-load.synthetic.span:365d}") Duration span,
+                          @Value("${questions.bulk-load.synthetic.seed:42}") long seed) {
+        this.bulkLoader = bulkLoader;
+        this.jdbcClient = jdbcClient;
+        this.mode = mode;
+        this.questionsFile = questionsFile;
+        this.answersFile = answersFile;
+        this.syntheticSettings = new SyntheticDataset.Settings(
+                questions, authors, authorSkew, answersPerQuestion, span, seed);
+    }
+
+    @Override
+    public void run(String... args) {
+        long started = System.nanoTime();
+        BulkLoader.Result result = switch (mode) {
+            case "file" -> loadFiles();
+            case "synthetic" -> bulkLoader.load(new SyntheticDataset(syntheticSettings, Instant.now()));
+            default -> throw new IllegalArgumentException(
+                    "Unknown questions.bulk-load.mode '%s', expected file or synthetic".formatted(mode));
+        };
+        // Fresh statistics, otherwise the planner keeps estimating the tables at their size before the load
+        jdbcClient.sql("analyze questions").update();
+        jdbcClient.sql("analyze answers").update();
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        long rows = result.questions() + result.answers();
+        log.info("Loaded {} questions and {} answers, skipped {} answers, in {} s ({} rows/min)",
+                result.questions(), result.answers(), result.skippedAnswers(), elapsed.toSeconds(),
+                rows * 60_000 / Math.max(1, elapsed.toMillis()));
+    }
+
+    private BulkLoader.Result loadFiles() {
+        if (!StringUtils.hasText(questionsFile)) {
+            throw new IllegalArgumentException("questions.bulk-load.questions is required in file mode");
+        }
+        return bulkLoader.load(Path.of(questionsFile),
+                StringUtils.hasText(answersFile) ? Path.of(answersFile) : null);
+    }
+}
@@ -0,0 +1,245 @@
+package com.questionanswer.questions.bulk;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+/**
+ * Loads questions and answers through {@code COPY FROM STDIN}, streaming rows to the server with constant memory.
+ * <p>
+ * Rows are copied into temporary staging tables first and merged with one statement per table: questions get fresh
+ * IDs from the sequence, answers are linked through the source IDs and skip the ones the API would reject, i.e.
+ * answers to the own question, repeated answers of the same author and answers to unknown questions.
+ * Everything is loaded in the surrounding transaction, so a failed load leaves no rows behind.
+ * <p>
+ * Files ending with {@code .csv} are streamed to the server as they are and need the header
+ * {@code id,title,text,author,created_at} for questions and {@code question_id,text,author,created_at} for answers.
+ * Any other file is read as NDJSON with the properties of {@link ImportedQuestion} and {@link ImportedAnswer}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkLoader {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final String CREATE_STAGING = """
+            create temporary table import_questions (
+                id bigint, title text, text text, author uuid, created_at timestamptz
+            ) on commit drop;
+            create temporary table import_answers (
+                question_id bigint, text text, author uuid, created_at timestamptz
+            ) on commit drop;
+            create temporary table import_question_ids (
+                source_id bigint primary key, id bigint not null, author uuid
+            ) on commit drop;
+            """;
+
+    private static final String COPY_QUESTIONS =
+            "copy import_questions (id, title, text, author, created_at) from stdin (format csv%s)";
+
+    private static final String COPY_ANSWERS =
+            "copy import_answers (question_id, text, author, created_at) from stdin (format csv%s)";
+
+    /**
+     * Takes one {@code nextval} per block of 50 rows and numbers the rows within the block, the sequences increment
+     * by the allocation size of the entities, see {@link com.questionanswer.questions.components.IdBlocks}.
+     */
+    private static final String ASSIGN_QUESTION_IDS = """
+            with numbered as (
+                select id, author, row_number() over () - 1 as position from import_questions
+            ), blocks as materialized (
+                select block, nextval('questions_seq') as first_id
+                from generate_series(0, (select (count(*) - 1) / 50 from numbered)) as block
+            )
+            insert into import_question_ids (source_id, id, author)
+            select n.id, b.first_id + n.position % 50, n.author
+            from numbered n
+            join blocks b on b.block = n.position / 50
+            """;
+
+    private static final String MERGE_QUESTIONS = """
+            insert into questions (id, title, text, author, created_at)
+            select ids.id, q.title, q.text, q.author, coalesce(q.created_at, current_timestamp)
+            from import_questions q
+            join import_question_ids ids on ids.source_id = q.id
+            """;
+
+    private static final String MERGE_ANSWERS = """
+            with numbered as (
+                select a.text, ids.id as question_id, a.author, coalesce(a.created_at, current_timestamp) as created_at,
+                       row_number() over () - 1 as position
+                from import_answers a
+                join import_question_ids ids on ids.source_id = a.question_id
+                where a.author <> ids.author
+            ), blocks as materialized (
+                select block, nextval('answers_seq') as first_id
+                from generate_series(0, (select (count(*) - 1) / 50 from numbered)) as block
+            )
+            insert into answers (id, text, question_id, author, created_at)
+            select b.first_id + n.position % 50, n.text, n.question_id, n.author, n.created_at
+            from numbered n
+            join blocks b on b.block = n.position / 50
+            on conflict (question_id, author) do nothing
+            """;
+
+    /**
+     * Loaded questions are new, so their answer count is the number of answers merged above.
+     */
+    private static final String COUNT_ANSWERS = """
+            update questions q set answer_count = c.answers
+            from (
+                select a.question_id, count(*) as answers
+                from answers a
+                join import_question_ids ids on ids.id = a.question_id
+                group by a.question_id
+            ) c
+            where q.id = c.question_id
+            """;
+
+    private static final String DROP_STAGING = "drop table import_question_ids, import_answers, import_questions";
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Number of rows read and inserted by a load.
+     */
+    public record Result(long questions, long answersRead, long answers) {
+        public long skippedAnswers() {
+            return answersRead - answers;
+        }
+    }
+
+    /**
+     * Loads questions and optionally answers from CSV or NDJSON files.
+     *
+     * @param questions file with the questions
+     * @param answers file with the answers to these questions, {@code null} to load questions only
+     * @return the number of loaded rows
+     */
+    @Transactional
+    public Result load(Path questions, Path answers) {
+        return load(
+                out -> copyFile(questions, out, ImportedQuestion.class, CsvRowWriter::write),
+                answers == null ? null : out -> copyFile(answers, out, ImportedAnswer.class, CsvRowWriter::write),
+                isCsv(questions),
+                answers != null && isCsv(answers));
+    }
+
+    /**
+     * Loads a generated dataset, reusing the staging path of the files so it exercises the same statements.
+     *
+     * @param dataset the dataset to generate
+     * @return the number of loaded rows
+     */
+    @Transactional
+    public Result load(SyntheticDataset dataset) {
+        return load(
+                out -> writeRows(out, rows -> dataset.questions(rows::write)),
+                out -> writeRows(out, rows -> dataset.answers(rows::write)),
+                false,
+                false);
+    }
+
+    private Result load(CopyBody questions, CopyBody answers, boolean questionsWithHeader, boolean answersWithHeader) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement statement = connection.createStatement()) {
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            statement.execute(CREATE_STAGING);
+
+            copy(pgConnection, COPY_QUESTIONS.formatted(questionsWithHeader ? ", header match" : ""), questions);
+            if (answers != null) {
+                copy(pgConnection, COPY_ANSWERS.formatted(answersWithHeader ? ", header match" : ""), answers);
+            }
+
+            statement.executeUpdate(ASSIGN_QUESTION_IDS);
+            long loadedQuestions = statement.executeUpdate(MERGE_QUESTIONS);
+            long answersRead = answers == null ? 0 : count(statement, "select count(*) from import_answers");
+            long loadedAnswers = answers == null ? 0 : statement.executeUpdate(MERGE_ANSWERS);
+            if (loadedAnswers > 0) {
+                statement.executeUpdate(COUNT_ANSWERS);
+            }
+            statement.execute(DROP_STAGING);
+
+            return new Result(loadedQuestions, answersRead, loadedAnswers);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Bulk load failed: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Bulk load failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static void copy(PGConnection connection, String sql, CopyBody body) throws SQLException, IOException {
+        long started = System.nanoTime();
+        long rows;
+        try (PGCopyOutputStream out = new PGCopyOutputStream(connection, sql, BUFFER_SIZE)) {
+            body.write(out);
+            rows = out.endCopy();
+        }
+        log.info("{}: {} rows in {} ms", sql, rows, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private <T> void copyFile(Path file, OutputStream out, Class<T> type,
+                              RowWriter<T> rowWriter) throws IOException {
+        if (isCsv(file)) {
+            Files.copy(file, out);
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             MappingIterator<T> rows = objectMapper.readerFor(type).readValues(reader)) {
+            writeRows(out, csv -> rows.forEachRemaining(row -> rowWriter.write(csv, row)));
+        }
+    }
+
+    private static void writeRows(OutputStream out, Consumer<CsvRowWriter> rows) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        rows.accept(new CsvRowWriter(writer));
+        writer.flush();
+    }
+
+    private static long count(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static boolean isCsv(Path file) {
+        return file.getFileName().toString().toLowerCase().endsWith(".csv");
+    }
+
+    @FunctionalInterface
+    private interface CopyBody {
+        void write(OutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(CsvRowWriter writer, T row);
+    }
+}
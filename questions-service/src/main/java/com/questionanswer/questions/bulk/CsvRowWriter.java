@@ -0,0 +1,72 @@
+package com.questionanswer.questions.bulk;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes rows in the CSV format of {@code COPY}: {@code null} is an unquoted empty field,
+ * any other value is quoted when it contains a delimiter, quote or line break.
+ */
+class CsvRowWriter {
+    private final Writer writer;
+
+    CsvRowWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    void write(ImportedQuestion question) {
+        row(question.id(), question.title(), question.text(), question.author(), question.createdAt());
+    }
+
+    void write(ImportedAnswer answer) {
+        row(answer.questionId(), answer.text(), answer.author(), answer.createdAt());
+    }
+
+    private void row(Object... values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                field(values[i]);
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void field(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && !needsQuotes(text)) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    /**
+     * Backslashes are quoted too, an unquoted {@code \.} line would end the data.
+     */
+    private static boolean needsQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r' || c == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
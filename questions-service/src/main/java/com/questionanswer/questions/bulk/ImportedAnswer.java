@@ -0,0 +1,10 @@
+package com.questionanswer.questions.bulk;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An answer as read from an import file, referencing the source ID of its question.
+ */
+public record ImportedAnswer(Long questionId, String text, UUID author, Instant createdAt) {
+}
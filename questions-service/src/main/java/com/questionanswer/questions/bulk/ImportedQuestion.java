@@ -0,0 +1,10 @@
+package com.questionanswer.questions.bulk;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A question as read from an import file, the ID is the one of the source and only links answers to it.
+ */
+public record ImportedQuestion(Long id, String title, String text, UUID author, Instant createdAt) {
+}
@@ -0,0 +1,153 @@
+package com.questionanswer.questions.bulk;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Generates questions and answers that satisfy the rules of the API.
+ * Authors are drawn from a Zipf distribution, so a few of them write most of the content, and the number of answers
+ * per question is geometric. Every question draws from its own random stream derived from the seed, so questions and
+ * answers can be generated in two passes without keeping anything but the author distribution in memory.
+ */
+public class SyntheticDataset {
+    private static final long AUTHOR_NAMESPACE = 0x5e5e_5e5e_0000_4000L;
+    private static final long ANSWER_STREAM = 0x2545_f491_4f6c_dd1dL;
+    private static final long MAX_ANSWER_DELAY_MILLIS = Duration.ofDays(7).toMillis();
+    private static final String[] WORDS = ("lorem ipsum dolor sit amet consectetur adipiscing elit sed do eiusmod "
+            + "tempor incididunt ut labore et dolore magna aliqua enim ad minim veniam quis nostrud exercitation "
+            + "ullamco laboris nisi aliquip ex ea commodo consequat duis aute irure in reprehenderit voluptate velit "
+            + "esse cillum fugiat nulla pariatur excepteur sint occaecat cupidatat non proident sunt culpa qui officia "
+            + "deserunt mollit anim id est laborum").split(" ");
+
+    /**
+     * @param questions number of questions
+     * @param authors number of distinct authors, at least two so that every question can be answered
+     * @param authorSkew Zipf exponent of the author distribution, {@code 0} for uniform
+     * @param answersPerQuestion mean number of answers per question
+     * @param span how far back from the end the questions are spread
+     * @param seed seed of the random streams, the same settings always produce the same dataset
+     */
+    public record Settings(long questions, int authors, double authorSkew, double answersPerQuestion,
+                           Duration span, long seed) {
+    }
+
+    private final Settings settings;
+    private final Instant end;
+    private final double[] authorDistribution;
+    private final double continueProbability;
+
+    public SyntheticDataset(Settings settings, Instant end) {
+        if (settings.authors() < 2) {
+            throw new IllegalArgumentException("At least two authors are required, got " + settings.authors());
+        }
+        this.settings = settings;
+        this.end = end;
+        this.authorDistribution = cumulativeZipf(settings.authors(), settings.authorSkew());
+        this.continueProbability = settings.answersPerQuestion() / (1 + settings.answersPerQuestion());
+    }
+
+    /**
+     * Generates the questions, their IDs run from 1 to the number of questions.
+     */
+    public void questions(Consumer<ImportedQuestion> sink) {
+        for (long id = 1; id <= settings.questions(); id++) {
+            SplittableRandom random = questionRandom(id);
+            UUID author = author(random);
+            Instant createdAt = questionCreatedAt(random);
+            sink.accept(new ImportedQuestion(id, sentence(random, 10, 79) + "?", sentence(random, 10, 300),
+                    author, createdAt));
+        }
+    }
+
+    /**
+     * Generates the answers. An author answers a question at most once and never answers their own question.
+     */
+    public void answers(Consumer<ImportedAnswer> sink) {
+        Set<UUID> answered = new HashSet<>();
+        for (long id = 1; id <= settings.questions(); id++) {
+            SplittableRandom questionRandom = questionRandom(id);
+            UUID questionAuthor = author(questionRandom);
+            Instant questionCreatedAt = questionCreatedAt(questionRandom);
+
+            SplittableRandom random = new SplittableRandom(questionSeed(id) ^ ANSWER_STREAM);
+            int count = answerCount(random);
+            answered.clear();
+            answered.add(questionAuthor);
+            // Rejection sampling, bounded so that a heavy skew over few authors can not loop forever
+            for (int attempt = 0; answered.size() <= count && attempt < count * 20; attempt++) {
+                UUID author = author(random);
+                if (answered.add(author)) {
+                    long delay = random.nextLong(MAX_ANSWER_DELAY_MILLIS);
+                    Instant createdAt = questionCreatedAt.plusMillis(delay);
+                    sink.accept(new ImportedAnswer(id, sentence(random, 120, 1200), author,
+                            createdAt.isAfter(end) ? end : createdAt));
+                }
+            }
+        }
+    }
+
+    private SplittableRandom questionRandom(long id) {
+        return new SplittableRandom(questionSeed(id));
+    }
+
+    private long questionSeed(long id) {
+        return settings.seed() * 0x9e37_79b9_7f4a_7c15L + id;
+    }
+
+    private UUID author(SplittableRandom random) {
+        int index = Arrays.binarySearch(authorDistribution, random.nextDouble());
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return new UUID(AUTHOR_NAMESPACE, Math.min(index, authorDistribution.length - 1));
+    }
+
+    private Instant questionCreatedAt(SplittableRandom random) {
+        long spanMillis = Math.max(1, settings.span().toMillis());
+        return end.minusMillis(random.nextLong(spanMillis));
+    }
+
+    private int answerCount(SplittableRandom random) {
+        int count = 0;
+        while (count < settings.authors() - 1 && random.nextDouble() < continueProbability) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String sentence(SplittableRandom random, int minLength, int maxLength) {
+        int length = random.nextInt(minLength, maxLength + 1);
+        StringBuilder sentence = new StringBuilder(length + 16);
+        while (sentence.length() < length) {
+            if (!sentence.isEmpty()) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        sentence.setLength(length);
+        sentence.setCharAt(0, Character.toUpperCase(sentence.charAt(0)));
+        if (sentence.charAt(length - 1) == ' ') {
+            sentence.setCharAt(length - 1, '.');
+        }
+        return sentence.toString();
+    }
+
+    private static double[] cumulativeZipf(int authors, double skew) {
+        double[] distribution = new double[authors];
+        double total = 0;
+        for (int rank = 0; rank < authors; rank++) {
+            total += 1 / Math.pow(rank + 1, skew);
+            distribution[rank] = total;
+        }
+        for (int rank = 0; rank < authors; rank++) {
+            distribution[rank] /= total;
+        }
+        return distribution;
+    }
+}
@@ -0,0 +1,28 @@
+package com.questionanswer.questions.components;
+
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+/**
+ * Keys of the transaction-scoped Postgres advisory locks that let one replica at a time run a background job.
+ */
+final class AdvisoryLocks {
+    static final long SCORE_RECONCILIATION = 1;
+    static final long SIGNATURE_BACKFILL = 2;
+
+    private AdvisoryLocks() {
+    }
+
+    /**
+     * Takes the lock until the current transaction ends, without waiting for it.
+     *
+     * @param jdbcClient runs the statement in the current transaction
+     * @param key one of the keys above
+     * @return whether the lock was taken, false if another transaction holds it
+     */
+    static boolean tryLock(JdbcClient jdbcClient, long key) {
+        return jdbcClient.sql("select pg_try_advisory_xact_lock(?)")
+                .param(key)
+                .query(Boolean.class)
+                .single();
+    }
+}
@@ -0,0 +1,146 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.events.AnswerVotedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write-behind score counters of answers, flushed to {@code answers.score}.
+ * A vote only writes its own row in {@code votes}, the score deltas of all votes are aggregated here, so votes on a
+ * popular answer never wait for the lock of the answer row. The delta is counted after the vote commits.
+ * <p>
+ * {@code votes} stays the source of truth: a crash loses at most one flush interval of deltas, the score of an
+ * answer can always be recomputed as the sum of its votes, which {@link #reconcile()} does for scores that drifted.
+ * Every score written increments the version of the question, so its ETag changes with the order of its answers.
+ * Metrics are prefixed with {@code questions.votes}.
+ */
+@Slf4j
+@Component
+public class AnswerScoreCounter extends WriteBehindCounter {
+    private static final String FLUSH = """
+            update answers a set score = a.score + v.delta
+            from unnest(?::bigint[], ?::bigint[]) as v(id, delta)
+            where a.id = v.id
+            """;
+    private static final String DRIFTS = """
+            select a.id, a.score, coalesce(v.votes, 0) as votes
+            from answers a
+            left join (select answer_id, sum(value) as votes from votes group by answer_id) v on v.answer_id = a.id
+            where a.score <> coalesce(v.votes, 0)
+            """;
+    private static final String CORRECT = """
+            update answers a set score = (select coalesce(sum(v.value), 0) from votes v where v.answer_id = a.id)
+            from unnest(?::bigint[], ?::bigint[]) as d(id, score)
+            where a.id = d.id and a.score = d.score
+            returning a.id
+            """;
+    private static final String INCREMENT_QUESTION_VERSIONS = """
+            update questions q set version = q.version + 1
+            where q.id in (select a.question_id from answers a where a.id = any(?::bigint[]))
+            returning q.id
+            """;
+
+    private final JdbcClient jdbcClient;
+    private final TransactionTemplate transactionTemplate;
+    private final QuestionCacheInvalidator questionCacheInvalidator;
+    private Map<Long, Drift> suspectedDrifts = Map.of();
+
+    public AnswerScoreCounter(JdbcClient jdbcClient, TransactionTemplate transactionTemplate,
+                              QuestionCacheInvalidator questionCacheInvalidator, MeterRegistry meterRegistry) {
+        super(jdbcClient, FLUSH, meterRegistry, "questions.votes");
+        this.jdbcClient = jdbcClient;
+        this.transactionTemplate = transactionTemplate;
+        this.questionCacheInvalidator = questionCacheInvalidator;
+    }
+
+    @TransactionalEventListener
+    public void onAnswerVoted(AnswerVotedEvent event) {
+        add(event.answerId(), event.delta());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${questions.votes.flush-interval:1s}")
+    public void flush() {
+        super.flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Sets the scores that differ from the sum of their votes to that sum, on one replica at a time.
+     * Deltas still pending on any replica also show up as a difference, but only until the next flush, so only
+     * answers whose score and votes are both unchanged since the previous run of this replica are corrected, and
+     * only if the score has not been flushed to since. Correcting twice sets the same value.
+     */
+    @Scheduled(fixedDelayString = "${questions.votes.reconcile-interval:1h}",
+            initialDelayString = "${questions.votes.reconcile-interval:1h}")
+    public synchronized void reconcile() {
+        List<Long> corrected = transactionTemplate.execute(status -> {
+            if (!AdvisoryLocks.tryLock(jdbcClient, AdvisoryLocks.SCORE_RECONCILIATION)) {
+                return List.of();
+            }
+            Map<Long, Drift> drifts = new HashMap<>();
+            jdbcClient.sql(DRIFTS).query((RowCallbackHandler) rs ->
+                    drifts.put(rs.getLong("id"), new Drift(rs.getLong("score"), rs.getLong("votes"))));
+
+            List<Long> ids = new ArrayList<>();
+            List<Long> scores = new ArrayList<>();
+            drifts.forEach((id, drift) -> {
+                if (drift.equals(suspectedDrifts.get(id)) && pending(id) == 0) {
+                    ids.add(id);
+                    scores.add(drift.score());
+                }
+            });
+            ids.forEach(drifts::remove);
+            suspectedDrifts = drifts;
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            return jdbcClient.sql(CORRECT)
+                    .param(ids.stream().mapToLong(Long::longValue).toArray())
+                    .param(scores.stream().mapToLong(Long::longValue).toArray())
+                    .query(Long.class)
+                    .list();
+        });
+        if (!corrected.isEmpty()) {
+            log.warn("Corrected the scores of {} answers that drifted from their votes", corrected.size());
+            incrementQuestionVersions(corrected);
+        }
+    }
+
+    @Override
+    protected void onFlushed(List<Long> ids, List<Long> deltas) {
+        incrementQuestionVersions(ids);
+    }
+
+    private void incrementQuestionVersions(List<Long> answerIds) {
+        List<Long> questionIds = jdbcClient.sql(INCREMENT_QUESTION_VERSIONS)
+                .param(answerIds.stream().mapToLong(Long::longValue).toArray())
+                .query(Long.class)
+                .list();
+        if (!questionIds.isEmpty()) {
+            questionCacheInvalidator.onAnswerScoresChanged(questionIds);
+        }
+    }
+
+    /**
+     * A persisted score and the sum of the votes of the answer, observed by one run.
+     */
+    private record Drift(long score, long votes) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.repository.AnswerRepository;
+import com.questionanswer.questions.repository.QuestionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Reads the global question count from the planner statistics in {@code pg_class.reltuples},
+ * which is maintained by autovacuum and costs a single catalog lookup.
+ * Per-author counts have no such statistic and stay cached exact counts.
+ */
+@Component
+@ConditionalOnProperty(name = "questions.pagination.count-mode", havingValue = "approximate")
+public class ApproximateTotalCountProvider extends CachedTotalCountProvider {
+    private final JdbcClient jdbcClient;
+
+    public ApproximateTotalCountProvider(QuestionRepository questionRepository,
+                                         AnswerRepository answerRepository,
+                                         JdbcClient jdbcClient,
+                                         @Value("${questions.pagination.count-cache-ttl:30s}") Duration ttl,
+                                         @Value("${questions.pagination.count-cache-max-entries:10000}") int maxEntries) {
+        super(questionRepository, answerRepository, ttl, maxEntries);
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public long countQuestions() {
+        long estimate = jdbcClient.sql("select reltuples::bigint from pg_class where oid = 'questions'::regclass")
+                .query(Long.class)
+                .single();
+        // The table has not been analyzed yet
+        if (estimate <= 0) {
+            return super.countQuestions();
+        }
+        return estimate;
+    }
+}
@@ -0,0 +1,130 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.events.AnswerChangedEvent;
+import com.questionanswer.questions.events.ChangeType;
+import com.questionanswer.questions.events.QuestionChangedEvent;
+import com.questionanswer.questions.events.QuestionsCreatedEvent;
+import com.questionanswer.questions.repository.AnswerRepository;
+import com.questionanswer.questions.repository.QuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Exact counts cached per listing filter.
+ * Entries are dropped after commit of every change that affects them; the TTL bounds staleness
+ * caused by writes on other replicas.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "questions.pagination.count-mode", havingValue = "cached", matchIfMissing = true)
+public class CachedTotalCountProvider implements TotalCountProvider {
+    private static final String QUESTIONS_KEY = "questions";
+    private static final String QUESTIONS_BY_AUTHOR_PREFIX = "questions:author:";
+    private static final String UNANSWERED_QUESTIONS_KEY = "questions:unanswered";
+    private static final String ANSWERS_BY_AUTHOR_PREFIX = "answers:author:";
+
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final ConcurrentMap<String, CachedCount> counts = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public CachedTotalCountProvider(QuestionRepository questionRepository,
+                                    AnswerRepository answerRepository,
+                                    @Value("${questions.pagination.count-cache-ttl:30s}") Duration ttl,
+                                    @Value("${questions.pagination.count-cache-max-entries:10000}") int maxEntries) {
+        this.questionRepository = questionRepository;
+        this.answerRepository = answerRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public long countQuestions() {
+        return cached(QUESTIONS_KEY, questionRepository::count);
+    }
+
+    @Override
+    public long countQuestionsByAuthor(UUID author) {
+        return cached(QUESTIONS_BY_AUTHOR_PREFIX + author, () -> questionRepository.countByAuthor(author));
+    }
+
+    @Override
+    public long countUnansweredQuestions() {
+        return cached(UNANSWERED_QUESTIONS_KEY, questionRepository::countUnanswered);
+    }
+
+    @Override
+    public long countAnswersByAuthor(UUID author) {
+        return cached(ANSWERS_BY_AUTHOR_PREFIX + author, () -> answerRepository.countByAuthor(author));
+    }
+
+    @TransactionalEventListener
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        if (event.changeType() == ChangeType.UPDATED) {
+            return;
+        }
+        invalidate(QUESTIONS_KEY);
+        invalidate(QUESTIONS_BY_AUTHOR_PREFIX + event.author());
+        invalidate(UNANSWERED_QUESTIONS_KEY);
+        if (event.changeType() == ChangeType.DELETED) {
+            // Answers are removed by cascade, their authors are unknown here
+            generation.incrementAndGet();
+            counts.keySet().removeIf(key -> key.startsWith(ANSWERS_BY_AUTHOR_PREFIX));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onQuestionsCreated(QuestionsCreatedEvent event) {
+        invalidate(QUESTIONS_KEY);
+        invalidate(QUESTIONS_BY_AUTHOR_PREFIX + event.author());
+        invalidate(UNANSWERED_QUESTIONS_KEY);
+    }
+
+    @TransactionalEventListener
+    public void onAnswerChanged(AnswerChangedEvent event) {
+        invalidate(ANSWERS_BY_AUTHOR_PREFIX + event.author());
+        // The first answer or the deletion of the last one moves the question in or out of the listing
+        invalidate(UNANSWERED_QUESTIONS_KEY);
+    }
+
+    private long cached(String key, LongSupplier loader) {
+        long now = System.nanoTime();
+        CachedCount cachedCount = counts.get(key);
+        if (cachedCount != null && now - cachedCount.loadedAt() < ttlNanos) {
+            return cachedCount.value();
+        }
+
+        long loadGeneration = generation.get();
+        long value = loader.getAsLong();
+        if (counts.size() >= maxEntries) {
+            log.debug("Count cache reached {} entries, clearing it", maxEntries);
+            counts.clear();
+        }
+        // A change committed while counting makes the loaded value stale, so it is not cached
+        if (generation.get() == loadGeneration) {
+            counts.put(key, new CachedCount(value, now));
+        }
+        return value;
+    }
+
+    private void invalidate(String key) {
+        generation.incrementAndGet();
+        counts.remove(key);
+    }
+
+    private record CachedCount(long value, long loadedAt) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.repository.AnswerRepository;
+import com.questionanswer.questions.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "questions.pagination.count-mode", havingValue = "exact")
+public class ExactTotalCountProvider implements TotalCountProvider {
+    private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+
+    @Override
+    public long countQuestions() {
+        return questionRepository.count();
+    }
+
+    @Override
+    public long countQuestionsByAuthor(UUID author) {
+        return questionRepository.countByAuthor(author);
+    }
+
+    @Override
+    public long countUnansweredQuestions() {
+        return questionRepository.countUnanswered();
+    }
+
+    @Override
+    public long countAnswersByAuthor(UUID author) {
+        return answerRepository.countByAuthor(author);
+    }
+}
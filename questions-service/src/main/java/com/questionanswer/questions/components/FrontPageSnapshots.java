@@ -0,0 +1,215 @@
+package com.questionanswer.questions.components;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.questionanswer.questions.dto.PagedResponse;
+import com.questionanswer.questions.dto.QuestionHeader;
+import com.questionanswer.questions.events.QuestionListingChangedEvent;
+import com.questionanswer.questions.service.QuestionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Pre-serialized JSON of the first pages of the default question listing
+ * ({@code createdAt desc}, {@value #PAGE_SIZE} per page, with totals), kept in direct buffers outside the heap.
+ * <p>
+ * Pages are rebuilt once the {@link QuestionListingVersion} stamp they were rendered at changes, which happens
+ * after every question change on any replica. Only the pages holding a question edited or answered since are
+ * rendered again; creations and deletions move every later question and change the totals of all pages, so they
+ * rebuild all of them, as does a stamp that changed without a recorded change, e.g. once it expired.
+ * While a rebuild is pending the old pages are served only until they are older than the allowed staleness;
+ * afterwards requests fall back to the database.
+ * Rendering stops at the memory cap, the remaining pages are always served from the database.
+ * Views do not change the stamp, so the view counts of the pages are those at render time.
+ */
+@Slf4j
+@Component
+public class FrontPageSnapshots {
+    public static final int PAGE_SIZE = 20;
+    private static final Sort SORT = Sort.by("createdAt").descending();
+
+    private final QuestionService questionService;
+    private final QuestionListingVersion questionListingVersion;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int pages;
+    private final long maxBytes;
+    private final long maxStalenessNanos;
+
+    private volatile Snapshot snapshot;
+    private final Set<Long> changedIds = new HashSet<>();
+    private boolean membershipChanged;
+
+    public FrontPageSnapshots(QuestionService questionService,
+                              QuestionListingVersion questionListingVersion,
+                              ObjectMapper objectMapper,
+                              @Value("${questions.snapshot.enabled:true}") boolean enabled,
+                              @Value("${questions.snapshot.pages:5}") int pages,
+                              @Value("${questions.snapshot.max-bytes:4194304}") long maxBytes,
+                              @Value("${questions.snapshot.max-staleness:5s}") Duration maxStaleness) {
+        this.questionService = questionService;
+        this.questionListingVersion = questionListingVersion;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.pages = pages;
+        this.maxBytes = maxBytes;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    /**
+     * Returns the rendered page if it is current or within the allowed staleness.
+     *
+     * @param page zero-based page number
+     * @return read-only view of the rendered page or empty if the page must be loaded from the database
+     */
+    public Optional<RenderedPage> find(int page) {
+        Snapshot current = snapshot;
+        if (current == null || page >= current.pages().size()) {
+            return Optional.empty();
+        }
+        if (!current.stamp().equals(questionListingVersion.current())
+                && System.nanoTime() - current.renderedAt() > maxStalenessNanos) {
+            return Optional.empty();
+        }
+        return Optional.of(new RenderedPage(current.pages().get(page).body().asReadOnlyBuffer(), current.stamp()));
+    }
+
+    /**
+     * Records the questions to render again, runs before the stamp moves on.
+     */
+    @EventListener
+    public synchronized void onListingChanged(QuestionListingChangedEvent event) {
+        if (event.membershipChanged()) {
+            membershipChanged = true;
+        } else {
+            changedIds.addAll(event.questionIds());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${questions.snapshot.refresh-interval:1s}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        // Read before the pages, so the stamp never claims newer content than was rendered
+        String stamp = questionListingVersion.current();
+        Snapshot current = snapshot;
+        if (current != null && current.stamp().equals(stamp)) {
+            return;
+        }
+
+        Changes changes = takeChanges();
+        try {
+            snapshot = current == null || changes.membershipChanged() || changes.questionIds().isEmpty()
+                    ? render(stamp)
+                    : render(current, changes.questionIds(), stamp);
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.error("Failed to render front page snapshots", e);
+            renderAllNextTime();
+        }
+    }
+
+    private Snapshot render(String stamp) throws JsonProcessingException {
+        long renderedAt = System.nanoTime();
+        List<Page> rendered = new ArrayList<>(pages);
+        long usedBytes = 0;
+        for (int page = 0; page < pages; page++) {
+            PagedResponse<QuestionHeader> response = load(page);
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            if (usedBytes + json.length > maxBytes) {
+                log.warn("Front page snapshots reached {} bytes, rendered {} of {} pages", maxBytes, page, pages);
+                break;
+            }
+            rendered.add(Page.of(response, json));
+            usedBytes += json.length;
+            if (!response.hasNext()) {
+                break;
+            }
+        }
+        log.debug("Rendered {} front pages, {} bytes", rendered.size(), usedBytes);
+        return new Snapshot(List.copyOf(rendered), stamp, renderedAt);
+    }
+
+    /**
+     * Renders only the pages of the previous snapshot that hold a changed question and keeps the others,
+     * questions changed in place neither move between pages nor change the totals.
+     */
+    private Snapshot render(Snapshot previous, Set<Long> questionIds, String stamp) throws JsonProcessingException {
+        long renderedAt = System.nanoTime();
+        List<Page> rendered = new ArrayList<>(previous.pages().size());
+        long usedBytes = 0;
+        int renderedPages = 0;
+        for (int page = 0; page < previous.pages().size(); page++) {
+            Page kept = previous.pages().get(page);
+            if (Collections.disjoint(kept.questionIds(), questionIds)) {
+                if (usedBytes + kept.body().capacity() > maxBytes) {
+                    break;
+                }
+                rendered.add(kept);
+                usedBytes += kept.body().capacity();
+                continue;
+            }
+            PagedResponse<QuestionHeader> response = load(page);
+            byte[] json = objectMapper.writeValueAsBytes(response);
+            if (usedBytes + json.length > maxBytes) {
+                log.warn("Front page snapshots reached {} bytes, kept {} of {} pages", maxBytes, page, pages);
+                break;
+            }
+            rendered.add(Page.of(response, json));
+            usedBytes += json.length;
+            renderedPages++;
+        }
+        log.debug("Rendered {} of {} front pages again, {} bytes", renderedPages, rendered.size(), usedBytes);
+        return new Snapshot(List.copyOf(rendered), stamp, renderedAt);
+    }
+
+    private PagedResponse<QuestionHeader> load(int page) {
+        return questionService.getQuestions(PageRequest.of(page, PAGE_SIZE, SORT), true);
+    }
+
+    private synchronized void renderAllNextTime() {
+        membershipChanged = true;
+    }
+
+    private synchronized Changes takeChanges() {
+        Changes changes = new Changes(Set.copyOf(changedIds), membershipChanged);
+        changedIds.clear();
+        membershipChanged = false;
+        return changes;
+    }
+
+    /**
+     * @param body  UTF-8 JSON of the page, positioned at its start
+     * @param stamp listing version stamp the page was rendered at
+     */
+    public record RenderedPage(ByteBuffer body, String stamp) {
+    }
+
+    private record Snapshot(List<Page> pages, String stamp, long renderedAt) {
+    }
+
+    private record Page(ByteBuffer body, List<Long> questionIds) {
+
+        static Page of(PagedResponse<QuestionHeader> response, byte[] json) {
+            return new Page(ByteBuffer.allocateDirect(json.length).put(json).flip(),
+                    response.data().stream().map(QuestionHeader::id).toList());
+        }
+    }
+
+    private record Changes(Set<Long> questionIds, boolean membershipChanged) {
+    }
+}
@@ -0,0 +1,577 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.dto.QuestionHeader;
+import com.questionanswer.questions.events.AnswerChangedEvent;
+import com.questionanswer.questions.events.ChangeType;
+import com.questionanswer.questions.events.QuestionChangedEvent;
+import com.questionanswer.questions.events.QuestionsCreatedEvent;
+import com.questionanswer.questions.repository.QuestionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Trending questions ranked by recent activity with exponential time decay, serves {@code sort=hot} without
+ * touching the database.
+ * <p>
+ * The hotness of a question is the sum of the weights of its activity, each halved every
+ * {@code questions.hot.half-life}: {@value #QUESTION_WEIGHT} for being asked, {@value #ANSWER_WEIGHT} per answer and
+ * {@value #VIEW_WEIGHT} per view. Instead of decaying all scores as time passes, a weight is scaled by
+ * {@code 2^((time - landmark) / half-life)} when it is added. That keeps the order of the scores without ever
+ * updating them, the landmark moves to the present with every rescoring so the factor stays small.
+ * <p>
+ * Scores are kept in an open addressing table keyed by the primitive question ID and updated incrementally: answers
+ * and questions after commit of their creation on this replica, views whenever {@link QuestionViewCounter} flushes
+ * them. The {@code questions.hot.top-size} hottest questions are kept in a tree ordered by score and ID, an update
+ * moves one question in place. Their headers are kept in memory under the same lock and the headers in hottest-first
+ * order are cached until the next change, so reads only page through them. Headers are refreshed after every
+ * committed change of a question or its answers on any replica, see {@link QuestionCacheInvalidator}.
+ * <p>
+ * Every {@code questions.hot.rescore-interval} the activity within {@code questions.hot.horizon} is read again and
+ * scored in parallel on the common fork/join pool. That adds what other replicas recorded, drops deleted answers and
+ * corrects the drift of the incremental sums. Views are not stored with a time, so their part of the scores is
+ * carried over from the previous table. Exposes {@code questions.hot.tracked} (scored questions).
+ */
+@Slf4j
+@Component
+public class HotQuestionFeed {
+    static final double QUESTION_WEIGHT = 1.0;
+    static final double ANSWER_WEIGHT = 1.0;
+    static final double VIEW_WEIGHT = 0.05;
+
+    private static final String ACTIVITY = """
+            select id, created_at, false from questions where created_at >= ? and created_at < ?
+            union all
+            select question_id, created_at, true from answers where created_at >= ? and created_at < ?
+            order by 1
+            """;
+    private static final Comparator<Ranked> HOTTEST_FIRST =
+            Comparator.comparingDouble(Ranked::score).thenComparingLong(Ranked::id).reversed();
+
+    private final QuestionRepository questionRepository;
+    private final JdbcClient jdbcClient;
+    private final double halfLifeMillis;
+    private final long horizonMillis;
+    private final int topSize;
+
+    private ScoreTable table = new ScoreTable(16);
+    private long landmark = System.currentTimeMillis();
+    private final NavigableSet<Ranked> top = new TreeSet<>(HOTTEST_FIRST);
+    private final Map<Long, Ranked> ranked = new HashMap<>();
+    private final Map<Long, QuestionHeader> headers = new HashMap<>();
+    private volatile List<QuestionHeader> hottest;
+    private volatile long version;
+    private final List<Recorded> recordedDuringRescore = new ArrayList<>();
+    private final Object rescoreLock = new Object();
+    private boolean rescoring;
+
+    public HotQuestionFeed(QuestionRepository questionRepository,
+                           JdbcClient jdbcClient,
+                           MeterRegistry meterRegistry,
+                           @Value("${questions.hot.half-life:6h}") Duration halfLife,
+                           @Value("${questions.hot.horizon:3d}") Duration horizon,
+                           @Value("${questions.hot.top-size:500}") int topSize) {
+        this.questionRepository = questionRepository;
+        this.jdbcClient = jdbcClient;
+        this.halfLifeMillis = halfLife.toMillis();
+        this.horizonMillis = horizon.toMillis();
+        this.topSize = topSize;
+        meterRegistry.gauge("questions.hot.tracked", this, HotQuestionFeed::tracked);
+    }
+
+    /**
+     * Recomputes all scores from the activity within the horizon and replaces the table and the hottest questions.
+     * Activity recorded meanwhile is added again if it is newer than the activity read. Views older than the horizon
+     * are dropped.
+     */
+    @Scheduled(fixedDelayString = "${questions.hot.rescore-interval:1m}",
+            initialDelayString = "${questions.hot.rescore-interval:1m}")
+    public void rescore() {
+        synchronized (rescoreLock) {
+            long started = System.nanoTime();
+            long until = System.currentTimeMillis();
+            synchronized (this) {
+                rescoring = true;
+                recordedDuringRescore.clear();
+            }
+            ScoreTable rescored;
+            try {
+                Activity activity = new Activity();
+                jdbcClient.sql(ACTIVITY)
+                        .params(new Timestamp(until - horizonMillis), new Timestamp(until),
+                                new Timestamp(until - horizonMillis), new Timestamp(until))
+                        .query((RowCallbackHandler) rs ->
+                                activity.add(rs.getLong(1), rs.getTimestamp(2).getTime(), rs.getBoolean(3)));
+                rescored = activity.score(until, halfLifeMillis);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    rescoring = false;
+                    recordedDuringRescore.clear();
+                }
+                throw e;
+            }
+
+            List<Long> ids;
+            synchronized (this) {
+                double minViews = VIEW_WEIGHT * decay(until - horizonMillis, until);
+                double carried = decay(landmark, until);
+                table.forEachView((id, views) -> {
+                    if (views * carried >= minViews) {
+                        rescored.add(id, views * carried, true);
+                    }
+                });
+                table = rescored;
+                landmark = until;
+                rescoring = false;
+                for (Recorded recorded : recordedDuringRescore) {
+                    if (recorded.at() >= until) {
+                        table.add(recorded.id(), recorded.weight() * decay(recorded.at(), landmark), false);
+                    }
+                }
+                recordedDuringRescore.clear();
+                top.clear();
+                ranked.clear();
+                for (Ranked hot : table.hottest(topSize)) {
+                    top.add(hot);
+                    ranked.put(hot.id(), hot);
+                }
+                headers.keySet().retainAll(ranked.keySet());
+                changed();
+                ids = List.copyOf(ranked.keySet());
+            }
+            loadHeaders(ids);
+            log.info("Rescored {} questions in {} ms", rescored.size, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        if (event.changeType() == ChangeType.CREATED) {
+            record(event.questionId(), QUESTION_WEIGHT, System.currentTimeMillis());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onQuestionsCreated(QuestionsCreatedEvent event) {
+        record(event.questionIds(), QUESTION_WEIGHT, System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener
+    public void onAnswerChanged(AnswerChangedEvent event) {
+        if (event.changeType() == ChangeType.CREATED) {
+            record(event.questionId(), ANSWER_WEIGHT, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Adds views flushed by {@link QuestionViewCounter}, all at the time of the flush.
+     *
+     * @param ids the IDs of the viewed questions
+     * @param views the number of views of each question
+     */
+    public void recordViews(List<Long> ids, List<Long> views) {
+        long now = System.currentTimeMillis();
+        List<Long> entered = new ArrayList<>();
+        synchronized (this) {
+            for (int i = 0; i < ids.size(); i++) {
+                double score = table.add(ids.get(i), views.get(i) * VIEW_WEIGHT * decay(now, landmark), true);
+                if (rank(ids.get(i), score)) {
+                    entered.add(ids.get(i));
+                }
+            }
+        }
+        loadHeaders(entered);
+    }
+
+    /**
+     * Reloads the headers of those questions that are among the hottest with one query, removes those that no
+     * longer exist.
+     *
+     * @param ids the IDs of the changed questions
+     */
+    public void refresh(Collection<Long> ids) {
+        List<Long> hot;
+        synchronized (this) {
+            hot = ids.stream().filter(ranked::containsKey).toList();
+        }
+        if (hot.isEmpty()) {
+            return;
+        }
+        List<QuestionHeader> found;
+        try {
+            found = questionRepository.findHeadersByIdIn(hot);
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh hot questionIds: {}, kept until the next rescoring", hot, e);
+            return;
+        }
+        Set<Long> removed = new HashSet<>(hot);
+        synchronized (this) {
+            for (QuestionHeader header : found) {
+                putHeader(header);
+                removed.remove(header.id());
+            }
+            for (Long id : removed) {
+                table.remove(id);
+                unrank(id);
+            }
+        }
+    }
+
+    /**
+     * @return headers of the hottest questions, hottest first
+     */
+    public List<QuestionHeader> hottest() {
+        List<QuestionHeader> current = hottest;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (hottest == null) {
+                List<QuestionHeader> sorted = new ArrayList<>(top.size());
+                for (Ranked hot : top) {
+                    QuestionHeader header = headers.get(hot.id());
+                    if (header != null) {
+                        sorted.add(header);
+                    }
+                }
+                hottest = List.copyOf(sorted);
+            }
+            return hottest;
+        }
+    }
+
+    /**
+     * @return a stamp that changes whenever the hottest questions or their order change
+     */
+    public long version() {
+        return version;
+    }
+
+    public synchronized int tracked() {
+        return table.size;
+    }
+
+    void record(Long questionId, double weight, long at) {
+        record(List.of(questionId), weight, at);
+    }
+
+    /**
+     * Adds the same activity to several questions, headers of those entering the hottest are loaded with one query.
+     */
+    void record(List<Long> questionIds, double weight, long at) {
+        List<Long> entered = new ArrayList<>();
+        synchronized (this) {
+            for (Long questionId : questionIds) {
+                if (rescoring) {
+                    recordedDuringRescore.add(new Recorded(questionId, weight, at));
+                }
+                if (rank(questionId, table.add(questionId, weight * decay(at, landmark), false))) {
+                    entered.add(questionId);
+                }
+            }
+        }
+        loadHeaders(entered);
+    }
+
+    /**
+     * Moves the question to its place among the hottest ones, the coldest one drops out once they are too many.
+     * Called with the lock held.
+     *
+     * @return whether the question was not among them before
+     */
+    private boolean rank(long id, double score) {
+        if (score == Double.NEGATIVE_INFINITY) {
+            return false;
+        }
+        Ranked current = new Ranked(id, score);
+        Ranked previous = ranked.get(id);
+        if (previous == null && top.size() >= topSize
+                && (top.isEmpty() || HOTTEST_FIRST.compare(current, top.last()) > 0)) {
+            return false;
+        }
+        if (previous != null) {
+            top.remove(previous);
+        }
+        top.add(current);
+        ranked.put(id, current);
+        if (top.size() > topSize) {
+            Ranked coldest = top.pollLast();
+            ranked.remove(coldest.id());
+            headers.remove(coldest.id());
+        }
+        changed();
+        return previous == null;
+    }
+
+    /**
+     * Called with the lock held.
+     */
+    private void unrank(long id) {
+        Ranked previous = ranked.remove(id);
+        if (previous != null) {
+            top.remove(previous);
+            headers.remove(id);
+            changed();
+        }
+    }
+
+    /**
+     * Keeps the header only while the question is among the hottest, it may have dropped out during the load.
+     * Called with the lock held.
+     */
+    private void putHeader(QuestionHeader header) {
+        if (ranked.containsKey(header.id())) {
+            headers.put(header.id(), header);
+            hottest = null;
+        }
+    }
+
+    /**
+     * Called with the lock held.
+     */
+    private void changed() {
+        hottest = null;
+        version = System.nanoTime();
+    }
+
+    private void loadHeaders(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<QuestionHeader> found;
+        try {
+            found = questionRepository.findHeadersByIdIn(ids);
+        } catch (RuntimeException e) {
+            log.error("Failed to load {} hot question headers, retrying with the next rescoring", ids.size(), e);
+            return;
+        }
+        synchronized (this) {
+            found.forEach(this::putHeader);
+        }
+    }
+
+    /**
+     * @return the factor that scales a weight added at {@code at} relative to the {@code landmark}
+     */
+    private double decay(long at, long landmark) {
+        return Math.pow(2, (at - landmark) / halfLifeMillis);
+    }
+
+    private record Ranked(long id, double score) {
+    }
+
+    private record Recorded(long id, double weight, long at) {
+    }
+
+    /**
+     * Open addressing map from question ID to score and to the part of the score that comes from views.
+     * IDs are positive, {@code 0} marks a free slot. Removed questions keep their slot with a score of
+     * negative infinity until the next rescoring builds a new table. Not thread-safe.
+     */
+    private static final class ScoreTable {
+        private long[] ids;
+        private double[] scores;
+        private double[] views;
+        private int size;
+
+        ScoreTable(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(8, expected) * 2 - 1) << 1;
+            ids = new long[capacity];
+            scores = new double[capacity];
+            views = new double[capacity];
+        }
+
+        /**
+         * @return the new score of the question
+         */
+        double add(long id, double value, boolean view) {
+            int slot = slot(id);
+            if (ids[slot] == 0) {
+                if ((size + 1) * 2 > ids.length) {
+                    grow();
+                    slot = slot(id);
+                }
+                ids[slot] = id;
+                size++;
+            }
+            scores[slot] += value;
+            if (view) {
+                views[slot] += value;
+            }
+            return scores[slot];
+        }
+
+        void remove(long id) {
+            int slot = slot(id);
+            if (ids[slot] != 0) {
+                scores[slot] = Double.NEGATIVE_INFINITY;
+                views[slot] = 0;
+            }
+        }
+
+        void forEachView(ViewConsumer consumer) {
+            for (int slot = 0; slot < ids.length; slot++) {
+                if (ids[slot] != 0 && views[slot] > 0 && scores[slot] != Double.NEGATIVE_INFINITY) {
+                    consumer.accept(ids[slot], views[slot]);
+                }
+            }
+        }
+
+        List<Ranked> hottest(int limit) {
+            PriorityQueue<Ranked> coldestFirst = new PriorityQueue<>(limit + 1, HOTTEST_FIRST.reversed());
+            for (int slot = 0; slot < ids.length; slot++) {
+                if (ids[slot] != 0 && scores[slot] != Double.NEGATIVE_INFINITY) {
+                    coldestFirst.add(new Ranked(ids[slot], scores[slot]));
+                    if (coldestFirst.size() > limit) {
+                        coldestFirst.poll();
+                    }
+                }
+            }
+            List<Ranked> hottest = new ArrayList<>(coldestFirst);
+            hottest.sort(HOTTEST_FIRST);
+            return hottest;
+        }
+
+        private int slot(long id) {
+            int mask = ids.length - 1;
+            int slot = (int) ((id * 0x9e3779b97f4a7c15L) >>> 32) & mask;
+            while (ids[slot] != 0 && ids[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldIds = ids;
+            double[] oldScores = scores;
+            double[] oldViews = views;
+            ids = new long[oldIds.length * 2];
+            scores = new double[oldIds.length * 2];
+            views = new double[oldIds.length * 2];
+            for (int old = 0; old < oldIds.length; old++) {
+                if (oldIds[old] != 0) {
+                    int slot = slot(oldIds[old]);
+                    ids[slot] = oldIds[old];
+                    scores[slot] = oldScores[old];
+                    views[slot] = oldViews[old];
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ViewConsumer {
+        void accept(long id, double views);
+    }
+
+    /**
+     * Activity within the horizon ordered by question ID, so the rows of a question are adjacent.
+     */
+    private static final class Activity {
+        private long[] questionIds = new long[1024];
+        private long[] times = new long[1024];
+        private boolean[] answers = new boolean[1024];
+        private int size;
+
+        void add(long questionId, long time, boolean answer) {
+            if (size == questionIds.length) {
+                int capacity = size + (size >> 1);
+                questionIds = Arrays.copyOf(questionIds, capacity);
+                times = Arrays.copyOf(times, capacity);
+                answers = Arrays.copyOf(answers, capacity);
+            }
+            questionIds[size] = questionId;
+            times[size] = time;
+            answers[size] = answer;
+            size++;
+        }
+
+        /**
+         * Sums the decayed weights of every question in parallel, relative to the {@code landmark}.
+         */
+        ScoreTable score(long landmark, double halfLifeMillis) {
+            int[] starts = new int[size + 1];
+            int questions = 0;
+            for (int row = 0; row < size; row++) {
+                if (row == 0 || questionIds[row] != questionIds[row - 1]) {
+                    starts[questions++] = row;
+                }
+            }
+            starts[questions] = size;
+
+            double[] scores = new double[questions];
+            ForkJoinPool.commonPool().invoke(new ScoreTask(this, starts, scores, landmark, halfLifeMillis, 0, questions));
+            ScoreTable table = new ScoreTable(questions);
+            for (int question = 0; question < questions; question++) {
+                table.add(questionIds[starts[question]], scores[question], false);
+            }
+            return table;
+        }
+    }
+
+    /**
+     * Scores a range of questions, splitting it in halves down to {@value #THRESHOLD} questions per task.
+     */
+    private static final class ScoreTask extends RecursiveAction {
+        private static final int THRESHOLD = 1024;
+
+        private final Activity activity;
+        private final int[] starts;
+        private final double[] scores;
+        private final long landmark;
+        private final double halfLifeMillis;
+        private final int from;
+        private final int to;
+
+        ScoreTask(Activity activity, int[] starts, double[] scores, long landmark, double halfLifeMillis,
+                  int from, int to) {
+            this.activity = activity;
+            this.starts = starts;
+            this.scores = scores;
+            this.landmark = landmark;
+            this.halfLifeMillis = halfLifeMillis;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ScoreTask(activity, starts, scores, landmark, halfLifeMillis, from, middle),
+                        new ScoreTask(activity, starts, scores, landmark, halfLifeMillis, middle, to));
+                return;
+            }
+            for (int question = from; question < to; question++) {
+                double score = 0;
+                for (int row = starts[question]; row < starts[question + 1]; row++) {
+                    double weight = activity.answers[row] ? ANSWER_WEIGHT : QUESTION_WEIGHT;
+                    score += weight * Math.pow(2, (activity.times[row] - landmark) / halfLifeMillis);
+                }
+                scores[question] = score;
+            }
+        }
+    }
+}
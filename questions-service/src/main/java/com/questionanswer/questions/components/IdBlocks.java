@@ -0,0 +1,54 @@
+package com.questionanswer.questions.components;
+
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * IDs for rows inserted by native statements, handed out from blocks of {@value #BLOCK_SIZE} that one
+ * {@code nextval} reserves, like the pooled-lo optimizer of Hibernate does for entities. The sequences increment by
+ * the block size, so a {@code nextval} per row would use up a whole block for every row.
+ */
+@Component
+public class IdBlocks {
+    /**
+     * Increment of the ID sequences, equal to the allocation size of the entities.
+     */
+    public static final int BLOCK_SIZE = 50;
+
+    private final JdbcClient jdbcClient;
+    private final Map<String, Block> blocks = new HashMap<>();
+
+    public IdBlocks(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    /**
+     * @param sequence the name of the sequence, e.g. {@code answers_seq}
+     * @return an ID no other caller, replica or Hibernate gets
+     */
+    public synchronized long next(String sequence) {
+        Block block = blocks.get(sequence);
+        if (block == null || block.next == block.end) {
+            long first = jdbcClient.sql("select nextval(?::regclass)")
+                    .param(sequence)
+                    .query(Long.class)
+                    .single();
+            block = new Block(first, first + BLOCK_SIZE);
+            blocks.put(sequence, block);
+        }
+        return block.next++;
+    }
+
+    private static final class Block {
+        private long next;
+        private final long end;
+
+        Block(long next, long end) {
+            this.next = next;
+            this.end = end;
+        }
+    }
+}
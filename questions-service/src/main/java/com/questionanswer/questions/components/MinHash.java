@@ -0,0 +1,132 @@
+package com.questionanswer.questions.components;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * MinHash signatures of questions. The share of equal values of two signatures estimates the Jaccard similarity
+ * of the word bigrams of their title and text. Signatures are split into {@value #BANDS} bands of {@value #ROWS}
+ * values for {@link QuestionDuplicateIndex}.
+ * <p>
+ * Signatures are stored in {@code questions.minhash}, so hashing must stay stable: a change of the sizes, seeds or
+ * tokenization needs a migration that clears the column, missing signatures are computed again on startup.
+ */
+public final class MinHash {
+    public static final int BANDS = 16;
+    public static final int ROWS = 4;
+    public static final int SIZE = BANDS * ROWS;
+
+    private static final int SHINGLE_WORDS = 2;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final long[] SEEDS = new long[SIZE];
+
+    static {
+        for (int i = 0; i < SIZE; i++) {
+            SEEDS[i] = mix((i + 1) * 0x9e3779b97f4a7c15L);
+        }
+    }
+
+    private MinHash() {
+    }
+
+    public static int[] signature(String title, String text) {
+        List<String> words = words(title + " " + text);
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, words.size() - SHINGLE_WORDS + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = hash(words, start, Math.min(words.size(), start + SHINGLE_WORDS));
+            for (int i = 0; i < SIZE; i++) {
+                int value = (int) (mix(shingle ^ SEEDS[i]) >>> 32);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * @return the estimated Jaccard similarity, from {@code 0} to {@code 1}
+     */
+    public static double similarity(int[] first, int[] second) {
+        int equal = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (first[i] == second[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIZE;
+    }
+
+    /**
+     * Hashes every band of the signature, signatures with an equal band hash are candidate duplicates.
+     */
+    public static int[] bandHashes(int[] signature) {
+        int[] hashes = new int[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long hash = band;
+            for (int row = 0; row < ROWS; row++) {
+                hash = hash * 31 + signature[band * ROWS + row];
+            }
+            hashes[band] = (int) mix(hash);
+        }
+        return hashes;
+    }
+
+    public static byte[] encode(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    public static int[] decode(byte[] encoded) {
+        if (encoded.length != SIZE * Integer.BYTES) {
+            throw new IllegalArgumentException("MinHash signature has %d bytes, expected %d"
+                    .formatted(encoded.length, SIZE * Integer.BYTES));
+        }
+        int[] signature = new int[SIZE];
+        ByteBuffer.wrap(encoded).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * 64-bit FNV-1a of the words, {@link String#hashCode()} has too few bits to keep distinct shingles apart.
+     */
+    private static long hash(List<String> words, int from, int to) {
+        long hash = FNV_OFFSET;
+        for (int i = from; i < to; i++) {
+            String word = words.get(i);
+            for (int c = 0; c < word.length(); c++) {
+                hash = (hash ^ word.charAt(c)) * FNV_PRIME;
+            }
+            hash = (hash ^ ' ') * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Finalizer of SplitMix64, spreads every input bit over the whole output.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,56 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.entity.Answer;
+import com.questionanswer.questions.entity.NotificationEventType;
+import com.questionanswer.questions.entity.OutboxEvent;
+import com.questionanswer.questions.events.AnswerCreatedEvent;
+import com.questionanswer.questions.events.NotificationEvent;
+import com.questionanswer.questions.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Writes notification events to the outbox in the caller's transaction, so an event exists
+ * if and only if the change that produced it was committed. {@link OutboxRelay} publishes them.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxEventPublisher implements EventPublisher {
+    public static final String EXCHANGE = "question-events";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final MessageConverter messageConverter;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAnswerCreated(Answer answer) {
+        AnswerCreatedEvent event = new AnswerCreatedEvent();
+        event.setEventType(NotificationEventType.ANSWER_CREATED);
+        event.setTimestamp(Instant.now());
+        event.setActorId(answer.getAuthor());
+        event.setUserId(answer.getQuestion().getAuthor());
+        event.setQuestionId(answer.getQuestion().getId());
+        event.setQuestionTitle(answer.getQuestion().getTitle());
+        event.setAnswerId(answer.getId());
+
+        saveEvent(event, "answer.created");
+    }
+
+    private void saveEvent(NotificationEvent event, String routingKey) {
+        // Serialized by the AMQP converter, so the body is the same as if it was sent directly
+        byte[] body = messageConverter.toMessage(event, new MessageProperties()).getBody();
+        outboxEventRepository.save(OutboxEvent.builder()
+                .exchange(EXCHANGE)
+                .routingKey(routingKey)
+                .typeId(event.getEventType().name().toLowerCase().replace(".", "_"))
+                .payload(new String(body, StandardCharsets.UTF_8))
+                .build());
+    }
+}
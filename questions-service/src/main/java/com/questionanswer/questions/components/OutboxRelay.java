@@ -0,0 +1,197 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.entity.OutboxEvent;
+import com.questionanswer.questions.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the outbox to RabbitMQ in batches.
+ * A batch is locked with {@code SKIP LOCKED} and pipelined on a single channel: every message is sent with its own
+ * correlation data and the confirms are awaited together, so a batch costs one round-trip instead of one per message.
+ * Nacked or unconfirmed messages are resent up to {@code max-attempts} times; confirmed ones are deleted in the same
+ * transaction and the rest stays for the next run. Delivery is at least once, the outbox ID is sent as message ID.
+ * <p>
+ * Exposes {@code questions.outbox.published}, {@code questions.outbox.failures},
+ * {@code questions.outbox.lag} (from write to confirm), {@code questions.outbox.publish.latency}
+ * (from send to confirm, with percentiles), {@code questions.outbox.in-flight} and {@code questions.outbox.backlog}.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long confirmTimeoutNanos;
+
+    private final Counter published;
+    private final Counter failures;
+    private final Timer lag;
+    private final Timer publishLatency;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${questions.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${questions.outbox.relay.batch-size:100}") int batchSize,
+                       @Value("${questions.outbox.relay.max-attempts:3}") int maxAttempts,
+                       @Value("${questions.outbox.relay.confirm-timeout:5s}") Duration confirmTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.confirmTimeoutNanos = confirmTimeout.toNanos();
+
+        this.published = meterRegistry.counter("questions.outbox.published");
+        this.failures = meterRegistry.counter("questions.outbox.failures");
+        this.lag = meterRegistry.timer("questions.outbox.lag");
+        this.publishLatency = Timer.builder("questions.outbox.publish.latency")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("questions.outbox.in-flight", inFlight, AtomicInteger::get)
+                .register(meterRegistry);
+        Gauge.builder("questions.outbox.backlog", outboxEventRepository, OutboxEventRepository::count)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays full batches back to back until the outbox is drained or a batch is not fully confirmed.
+     */
+    @Scheduled(fixedDelayString = "${questions.outbox.relay.poll-interval:500ms}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed == batchSize);
+        } catch (AmqpException e) {
+            failures.increment();
+            log.error("Failed to relay outbox events, the batch will be retried", e);
+        }
+    }
+
+    /**
+     * @return size of the batch if every event was confirmed, otherwise {@code 0} to stop draining
+     */
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxEvent> confirmed = new ArrayList<>(batch.size());
+        List<OutboxEvent> pending = batch;
+        for (int attempt = 1; attempt <= maxAttempts && !pending.isEmpty(); attempt++) {
+            pending = awaitConfirms(publish(pending), confirmed);
+        }
+
+        if (!confirmed.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(confirmed.stream().map(OutboxEvent::getId).toList());
+            Instant confirmedAt = Instant.now();
+            for (OutboxEvent event : confirmed) {
+                lag.record(Duration.between(event.getCreatedAt(), confirmedAt));
+            }
+            published.increment(confirmed.size());
+        }
+        if (!pending.isEmpty()) {
+            failures.increment(pending.size());
+            log.warn("{} outbox events were not confirmed after {} attempts, they will be retried",
+                    pending.size(), maxAttempts);
+            return 0;
+        }
+        return batch.size();
+    }
+
+    private Map<OutboxEvent, CompletableFuture<CorrelationData.Confirm>> publish(List<OutboxEvent> events) {
+        Map<OutboxEvent, CompletableFuture<CorrelationData.Confirm>> confirms = new LinkedHashMap<>();
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : events) {
+                CorrelationData correlationData = new CorrelationData(String.valueOf(event.getId()));
+                long sentAt = System.nanoTime();
+                inFlight.incrementAndGet();
+                confirms.put(event, correlationData.getFuture().whenComplete((confirm, e) -> {
+                    inFlight.decrementAndGet();
+                    publishLatency.record(System.nanoTime() - sentAt, TimeUnit.NANOSECONDS);
+                }));
+                operations.send(event.getExchange(), event.getRoutingKey(), toMessage(event), correlationData);
+            }
+            return null;
+        });
+        return confirms;
+    }
+
+    /**
+     * Waits for the confirms of one attempt, sharing a single timeout between them.
+     *
+     * @return events that were nacked or not confirmed in time
+     */
+    private List<OutboxEvent> awaitConfirms(Map<OutboxEvent, CompletableFuture<CorrelationData.Confirm>> confirms,
+                                            List<OutboxEvent> confirmed) {
+        long deadline = System.nanoTime() + confirmTimeoutNanos;
+        List<OutboxEvent> unconfirmed = new ArrayList<>();
+        for (Map.Entry<OutboxEvent, CompletableFuture<CorrelationData.Confirm>> entry : confirms.entrySet()) {
+            try {
+                CorrelationData.Confirm confirm = entry.getValue()
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (confirm.isAck()) {
+                    confirmed.add(entry.getKey());
+                } else {
+                    log.warn("Outbox event {} was nacked: {}", entry.getKey().getId(), confirm.getReason());
+                    unconfirmed.add(entry.getKey());
+                }
+            } catch (TimeoutException | ExecutionException e) {
+                unconfirmed.add(entry.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unconfirmed.add(entry.getKey());
+            }
+        }
+        return unconfirmed;
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.setMessageId(String.valueOf(event.getId()));
+        properties.setHeader("__TypeId__", event.getTypeId());
+        return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
@@ -0,0 +1,78 @@
+package com.questionanswer.questions.components;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.questionanswer.questions.entity.Question;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Local read-through cache of questions keyed by ID, bounded by size and TTL.
+ * Hits, misses and evictions are exported as {@code cache.*} metrics with the tag {@code cache=questions}.
+ * <p>
+ * Immutable snapshots are cached, every lookup returns a new detached {@link Question} without answers,
+ * so callers can not modify the cached state. Changes made on any replica are evicted through
+ * {@link QuestionCacheInvalidator}; the TTL bounds staleness when an invalidation is lost.
+ */
+@Component
+public class QuestionCache {
+    private final Cache<Long, CachedQuestion> cache;
+
+    public QuestionCache(MeterRegistry meterRegistry,
+                         @Value("${questions.cache.question.max-size:10000}") long maxSize,
+                         @Value("${questions.cache.question.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "questions");
+    }
+
+    /**
+     * Returns the question from the cache, loading it on a miss. Missing questions are not cached.
+     *
+     * @param id the ID of the question
+     * @param loader loads the question from the database
+     * @return detached copy of the question or empty if it does not exist
+     */
+    public Optional<Question> get(Long id, Function<Long, Optional<Question>> loader) {
+        CachedQuestion cached = cache.get(id, key -> loader.apply(key).map(CachedQuestion::of).orElse(null));
+        return Optional.ofNullable(cached).map(CachedQuestion::toQuestion);
+    }
+
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    private record CachedQuestion(Long id, String title, String text, UUID author, Instant createdAt, long version,
+                                  long views, int answerCount) {
+
+        static CachedQuestion of(Question question) {
+            return new CachedQuestion(question.getId(), question.getTitle(), question.getText(),
+                    question.getAuthor(), question.getCreatedAt(), question.getVersion(), question.getViews(),
+                    question.getAnswerCount());
+        }
+
+        Question toQuestion() {
+            return Question.builder()
+                    .id(id)
+                    .title(title)
+                    .text(text)
+                    .author(author)
+                    .createdAt(createdAt)
+                    .version(version)
+                    .views(views)
+                    .answerCount(answerCount)
+                    .build();
+        }
+    }
+}
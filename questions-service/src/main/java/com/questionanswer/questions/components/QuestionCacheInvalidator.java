@@ -0,0 +1,103 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.config.RabbitMQConfig;
+import com.questionanswer.questions.events.AnswerChangedEvent;
+import com.questionanswer.questions.events.ChangeType;
+import com.questionanswer.questions.events.QuestionCacheInvalidation;
+import com.questionanswer.questions.events.QuestionChangedEvent;
+import com.questionanswer.questions.events.QuestionListingChangedEvent;
+import com.questionanswer.questions.events.QuestionsCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps {@link QuestionCache}, {@link QuestionListingVersion}, {@link QuestionTitleIndex},
+ * {@link QuestionDuplicateIndex} and the headers of the {@link HotQuestionFeed} of every replica consistent.
+ * After commit of a change the question is evicted locally and the eviction is broadcast
+ * through a fanout exchange, each replica consumes it from its own exclusive queue.
+ * The queue of the sender is bound to the exchange as well, so messages carry the sender's instance ID
+ * and the sender skips its own.
+ * Questions created together are invalidated with one message and their indexes refreshed with one query each.
+ * Listing changes are also published as {@link QuestionListingChangedEvent} for the {@link FrontPageSnapshots},
+ * which cannot be injected here without a dependency cycle through the question service.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionCacheInvalidator {
+    private final QuestionCache questionCache;
+    private final QuestionListingVersion questionListingVersion;
+    private final QuestionTitleIndex questionTitleIndex;
+    private final QuestionDuplicateIndex questionDuplicateIndex;
+    private final HotQuestionFeed hotQuestionFeed;
+    private final RabbitTemplate rabbitTemplate;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @TransactionalEventListener
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        invalidate(new QuestionCacheInvalidation(instanceId, List.of(event.questionId()), true, true,
+                event.changeType() != ChangeType.UPDATED));
+    }
+
+    @TransactionalEventListener
+    public void onQuestionsCreated(QuestionsCreatedEvent event) {
+        invalidate(new QuestionCacheInvalidation(instanceId, event.questionIds(), true, true, true));
+    }
+
+    @TransactionalEventListener
+    public void onAnswerChanged(AnswerChangedEvent event) {
+        invalidate(new QuestionCacheInvalidation(instanceId, List.of(event.questionId()), true, false, false));
+    }
+
+    /**
+     * Called once new scores are written, which reorder the answers of the questions but leave the listings as
+     * they are.
+     *
+     * @param questionIds the IDs of the questions whose answers were voted on
+     */
+    public void onAnswerScoresChanged(List<Long> questionIds) {
+        invalidate(new QuestionCacheInvalidation(instanceId, questionIds, false, false, false));
+    }
+
+    @RabbitListener(queues = "#{questionCacheInvalidationQueue.name}")
+    public void onInvalidation(QuestionCacheInvalidation invalidation) {
+        if (instanceId.equals(invalidation.origin())) {
+            return;
+        }
+        apply(invalidation);
+    }
+
+    private void invalidate(QuestionCacheInvalidation invalidation) {
+        apply(invalidation);
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.QUESTION_CACHE_EXCHANGE, "", invalidation);
+        } catch (AmqpException e) {
+            log.error("Failed to broadcast cache invalidation for questionIds: {}", invalidation.questionIds(), e);
+        }
+    }
+
+    private void apply(QuestionCacheInvalidation invalidation) {
+        invalidation.questionIds().forEach(questionCache::evict);
+        if (invalidation.listingChanged()) {
+            // Before the bump, so a snapshot rendered at the new stamp always sees the change
+            applicationEventPublisher.publishEvent(
+                    new QuestionListingChangedEvent(invalidation.questionIds(), invalidation.membershipChanged()));
+            questionListingVersion.bump();
+            hotQuestionFeed.refresh(invalidation.questionIds());
+        }
+        if (invalidation.titleChanged()) {
+            questionTitleIndex.refresh(invalidation.questionIds());
+            questionDuplicateIndex.refresh(invalidation.questionIds());
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.dto.QuestionSignature;
+import com.questionanswer.questions.repository.QuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory LSH index of question {@link MinHash} signatures, finds possible duplicates of a question without
+ * comparing it to every other one. Questions sharing the hash of any band of their signatures are candidates,
+ * candidates are kept when the similarity of the stored signatures reaches {@code questions.duplicates.min-similarity}.
+ * With {@value MinHash#ROWS} rows per band a pair with similarity 0.5 becomes a candidate with probability 0.64,
+ * a pair with similarity 0.7 with probability 0.99.
+ * <p>
+ * Band hashes of the questions present at the last build are kept in one sorted {@code long[]} per band, packed with
+ * the position of the question, and found by binary search. Questions changed since then are kept in a map that is
+ * scanned and takes precedence, rebuilding every {@code questions.duplicates.rebuild-interval} folds it in.
+ * Signatures are loaded outside the lock, a refresh only applies the signatures no refresh started after it has
+ * loaded again.
+ * Signatures missing in the database, e.g. of bulk loaded questions, are computed by
+ * {@link QuestionSignatureBackfill} before every build.
+ */
+@Slf4j
+@Component
+public class QuestionDuplicateIndex {
+    private static final int MAX_CANDIDATES = 1000;
+    private static final int[] REMOVED = new int[0];
+
+    private final QuestionRepository questionRepository;
+    private final QuestionSignatureBackfill signatureBackfill;
+    private final TransactionTemplate transactionTemplate;
+    private final double minSimilarity;
+
+    private volatile Segment segment = Segment.EMPTY;
+    private final Map<Long, int[]> changed = new ConcurrentHashMap<>();
+    private final Set<Long> changedDuringBuild = new HashSet<>();
+    private final Map<Long, Long> refreshing = new HashMap<>();
+    private final Object buildLock = new Object();
+    private long refreshes;
+    private boolean building;
+
+    public QuestionDuplicateIndex(QuestionRepository questionRepository,
+                                  QuestionSignatureBackfill signatureBackfill,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${questions.duplicates.min-similarity:0.5}") double minSimilarity) {
+        this.questionRepository = questionRepository;
+        this.signatureBackfill = signatureBackfill;
+        this.transactionTemplate = transactionTemplate;
+        this.minSimilarity = minSimilarity;
+    }
+
+    /**
+     * A question similar to the searched one.
+     */
+    public record Match(Long id, double similarity) {
+    }
+
+    public void build() {
+        synchronized (buildLock) {
+            long started = System.nanoTime();
+            signatureBackfill.run();
+            synchronized (this) {
+                building = true;
+                changedDuringBuild.clear();
+            }
+            Segment built;
+            try {
+                built = transactionTemplate.execute(status -> {
+                    try (Stream<QuestionSignature> signatures = questionRepository.streamSignatures()) {
+                        return Segment.of(signatures);
+                    }
+                });
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    building = false;
+                    changedDuringBuild.clear();
+                }
+                throw e;
+            }
+
+            List<Long> stale;
+            synchronized (this) {
+                segment = built;
+                building = false;
+                changed.clear();
+                // Refreshes still loading may have read a signature before the stream did, they are superseded
+                changedDuringBuild.addAll(refreshing.keySet());
+                stale = List.copyOf(changedDuringBuild);
+                changedDuringBuild.clear();
+            }
+            refresh(stale);
+            log.info("Indexed {} question signatures in {} ms",
+                    built.ids().length, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${questions.duplicates.rebuild-interval:1h}",
+            initialDelayString = "${questions.duplicates.rebuild-interval:1h}")
+    public void rebuild() {
+        build();
+    }
+
+    /**
+     * Reloads the signatures of the questions with one query, removes those that no longer exist.
+     *
+     * @param ids the IDs of the changed questions
+     */
+    public void refresh(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        long refresh;
+        synchronized (this) {
+            refresh = ++refreshes;
+            ids.forEach(id -> refreshing.put(id, refresh));
+            if (building) {
+                changedDuringBuild.addAll(ids);
+            }
+        }
+        Map<Long, int[]> refreshed = new HashMap<>();
+        try {
+            for (QuestionSignature signature : questionRepository.findSignaturesByIdIn(ids)) {
+                if (signature.minhash() != null) {
+                    refreshed.put(signature.id(), MinHash.bandHashes(MinHash.decode(signature.minhash())));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh signatures of questionIds: {}, kept until the next build", ids, e);
+            synchronized (this) {
+                ids.forEach(id -> refreshing.remove(id, refresh));
+            }
+            return;
+        }
+
+        synchronized (this) {
+            for (Long id : ids) {
+                // Otherwise a later refresh owns the question, it loaded the signature again
+                if (refreshing.remove(id, refresh)) {
+                    changed.put(id, refreshed.getOrDefault(id, REMOVED));
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds questions whose stored signature is similar to the given one, most similar first.
+     *
+     * @param signature the {@link MinHash} signature to search for
+     * @param excludeId the ID of the question the signature belongs to, {@code null} for a new question
+     * @param limit maximum number of matches
+     * @return the matches with a similarity of at least {@code questions.duplicates.min-similarity}
+     */
+    public List<Match> findSimilar(int[] signature, Long excludeId, int limit) {
+        int[] bandHashes = MinHash.bandHashes(signature);
+        Set<Long> candidates = new LinkedHashSet<>();
+        segment.collect(bandHashes, candidates);
+        candidates.removeIf(changed::containsKey);
+        changed.forEach((id, hashes) -> {
+            if (sharesBand(hashes, bandHashes)) {
+                candidates.add(id);
+            }
+        });
+        if (excludeId != null) {
+            candidates.remove(excludeId);
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        return questionRepository.findSignaturesByIdIn(candidates.stream().limit(MAX_CANDIDATES).toList()).stream()
+                .filter(candidate -> candidate.minhash() != null)
+                .map(candidate -> new Match(candidate.id(),
+                        MinHash.similarity(signature, MinHash.decode(candidate.minhash()))))
+                .filter(match -> match.similarity() >= minSimilarity)
+                .sorted(Comparator.comparingDouble(Match::similarity).reversed()
+                        .thenComparing(Match::id, Comparator.reverseOrder()))
+                .limit(limit)
+                .toList();
+    }
+
+    private static boolean sharesBand(int[] hashes, int[] bandHashes) {
+        for (int band = 0; band < hashes.length; band++) {
+            if (hashes[band] == bandHashes[band]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Immutable band index of the questions present at a build. An entry holds the band hash in its upper and the
+     * position of the question in {@code ids} in its lower half, so the entries of a hash are adjacent.
+     */
+    private record Segment(long[] ids, long[][] bands) {
+        static final Segment EMPTY = new Segment(new long[0], new long[MinHash.BANDS][0]);
+
+        static Segment of(Stream<QuestionSignature> signatures) {
+            GrowableLongs ids = new GrowableLongs();
+            GrowableLongs[] bands = new GrowableLongs[MinHash.BANDS];
+            Arrays.setAll(bands, band -> new GrowableLongs());
+            signatures.forEach(signature -> {
+                int[] hashes = MinHash.bandHashes(MinHash.decode(signature.minhash()));
+                for (int band = 0; band < MinHash.BANDS; band++) {
+                    bands[band].add((long) hashes[band] << 32 | ids.size);
+                }
+                ids.add(signature.id());
+            });
+
+            long[][] sorted = new long[MinHash.BANDS][];
+            for (int band = 0; band < MinHash.BANDS; band++) {
+                sorted[band] = bands[band].toArray();
+                Arrays.sort(sorted[band]);
+            }
+            return new Segment(ids.toArray(), sorted);
+        }
+
+        void collect(int[] bandHashes, Set<Long> candidates) {
+            for (int band = 0; band < MinHash.BANDS; band++) {
+                long[] entries = bands[band];
+                int position = Arrays.binarySearch(entries, (long) bandHashes[band] << 32);
+                if (position < 0) {
+                    position = -position - 1;
+                }
+                while (position < entries.length && (int) (entries[position] >> 32) == bandHashes[band]) {
+                    candidates.add(ids[(int) entries[position]]);
+                    position++;
+                }
+            }
+        }
+    }
+
+    private static final class GrowableLongs {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1));
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.questionanswer.questions.components;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Version stamp of the question listings, backs their ETags.
+ * A new random stamp is taken after every committed change of a question on any replica,
+ * see {@link QuestionCacheInvalidator}. Stamps of different replicas never match, so a client
+ * switching replicas gets a full response instead of a wrong {@code 304}.
+ * The stamp also expires after the TTL, which bounds staleness when an invalidation is lost.
+ */
+@Component
+public class QuestionListingVersion {
+    private final long ttlNanos;
+    private volatile Stamp stamp;
+
+    public QuestionListingVersion(@Value("${questions.etag.listing-ttl:10m}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+        this.stamp = Stamp.next();
+    }
+
+    public String current() {
+        Stamp current = stamp;
+        if (System.nanoTime() - current.createdAt() >= ttlNanos) {
+            current = Stamp.next();
+            stamp = current;
+        }
+        return current.value();
+    }
+
+    public void bump() {
+        stamp = Stamp.next();
+    }
+
+    private record Stamp(String value, long createdAt) {
+
+        static Stamp next() {
+            return new Stamp(Long.toHexString(ThreadLocalRandom.current().nextLong()), System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.dto.QuestionContent;
+import com.questionanswer.questions.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Computes the {@link MinHash} signatures missing in the database, e.g. of bulk loaded questions, one transaction
+ * per batch and one replica at a time. Only ID, title, text and version are read, and a signature is only written
+ * if the question is still unsigned at the version it was read at, so a concurrent edit is never overwritten and
+ * never gets the signature of its previous text. Unsigned questions are found through a partial index, a run with
+ * nothing to compute reads no rows.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionSignatureBackfill {
+    private static final int BATCH_SIZE = 500;
+    private static final String SET_SIGNATURE = """
+            update questions set minhash = ?
+            where id = ? and minhash is null and version = ?
+            """;
+
+    private final QuestionRepository questionRepository;
+    private final JdbcClient jdbcClient;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * @return the number of signatures written, 0 if another replica is computing them
+     */
+    public long run() {
+        long computed = 0;
+        Batch batch = new Batch(0, 0L);
+        while (batch.lastId() != null) {
+            long afterId = batch.lastId();
+            batch = transactionTemplate.execute(status -> computeBatch(afterId));
+            computed += batch.written();
+        }
+        if (computed > 0) {
+            log.info("Computed {} missing question signatures", computed);
+        }
+        return computed;
+    }
+
+    private Batch computeBatch(long afterId) {
+        if (!AdvisoryLocks.tryLock(jdbcClient, AdvisoryLocks.SIGNATURE_BACKFILL)) {
+            return new Batch(0, null);
+        }
+        List<QuestionContent> questions = questionRepository.findUnsignedContents(afterId,
+                PageRequest.ofSize(BATCH_SIZE));
+        int written = 0;
+        for (QuestionContent question : questions) {
+            written += jdbcClient.sql(SET_SIGNATURE)
+                    .param(MinHash.encode(MinHash.signature(question.title(), question.text())))
+                    .param(question.id())
+                    .param(question.version())
+                    .update();
+        }
+        return new Batch(written, questions.size() < BATCH_SIZE ? null : questions.get(questions.size() - 1).id());
+    }
+
+    /**
+     * @param lastId the ID to continue after, {@code null} once there is nothing left
+     */
+    private record Batch(int written, Long lastId) {
+    }
+}
@@ -0,0 +1,440 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.dto.QuestionSuggestion;
+import com.questionanswer.questions.repository.QuestionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index of question titles, answers typeahead suggestions without touching the database.
+ * Every question takes the next slot of the index when it is first indexed, slots follow creation order since IDs
+ * of pooled sequences do not. A slot holds the ID and the UTF-8 bytes of the title, deleted questions leave an empty
+ * slot until the next build. Titles are split into lowercase words, every word maps to the ascending slots of the
+ * questions whose title contains it, kept in a primitive {@code int[]}. Words are sorted, so the words starting with
+ * a prefix are one range.
+ * <p>
+ * Reads take no locks. Changes are serialized and mostly appends: a new question has the highest slot, so it is
+ * written into spare capacity at the end of the postings and published by a volatile size. Removals and changed
+ * titles replace the postings with a copy. Titles are loaded outside the lock, a refresh only applies the titles
+ * no refresh started after it has loaded again.
+ * <p>
+ * Built on startup by streaming all titles, then refreshed by ID after every committed change of a question on
+ * any replica, see {@link QuestionCacheInvalidator}. Questions bulk loaded by another process appear after a restart.
+ * Exposes {@code questions.suggest.titles} (indexed questions).
+ */
+@Slf4j
+@Component
+public class QuestionTitleIndex {
+    /**
+     * Shorter words match too many titles to drive a lookup, they only filter the matches of longer ones.
+     */
+    static final int MIN_PREFIX_LENGTH = 2;
+
+    /**
+     * Bounds the work of a suggestion whose words rarely occur together, it returns the matches found so far.
+     */
+    static final int MAX_CANDIDATES = 1_000;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Cursor> NEWEST_FIRST = Comparator.comparingInt(Cursor::current).reversed();
+
+    private final QuestionRepository questionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Index index = new Index();
+    private final Set<Long> changedDuringBuild = new HashSet<>();
+    private final Map<Long, Long> refreshing = new HashMap<>();
+    private long refreshes;
+    private boolean building;
+
+    public QuestionTitleIndex(QuestionRepository questionRepository,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry) {
+        this.questionRepository = questionRepository;
+        this.transactionTemplate = transactionTemplate;
+        meterRegistry.gauge("questions.suggest.titles", this, QuestionTitleIndex::size);
+    }
+
+    /**
+     * Builds a new index from all titles and replaces the current one. Questions refreshed meanwhile are
+     * refreshed again afterwards, the stream may have read them before their change.
+     */
+    public void build() {
+        long started = System.nanoTime();
+        synchronized (this) {
+            building = true;
+            changedDuringBuild.clear();
+        }
+        Index built = new Index();
+        try {
+            transactionTemplate.execute(status -> {
+                try (Stream<QuestionSuggestion> titles = questionRepository.streamTitles()) {
+                    titles.forEach(title -> built.put(title.id(), title.title()));
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                building = false;
+                changedDuringBuild.clear();
+            }
+            throw e;
+        }
+
+        List<Long> stale;
+        synchronized (this) {
+            index = built;
+            building = false;
+            // Refreshes still loading may have read a title before the stream did, they are superseded
+            changedDuringBuild.addAll(refreshing.keySet());
+            stale = List.copyOf(changedDuringBuild);
+            changedDuringBuild.clear();
+        }
+        refresh(stale);
+        log.info("Indexed {} question titles in {} ms", built.size, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Reloads the titles of the questions with one query, removes those that no longer exist.
+     * New questions are indexed in the order they were created.
+     *
+     * @param ids the IDs of the changed questions
+     */
+    public void refresh(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        long refresh;
+        synchronized (this) {
+            refresh = ++refreshes;
+            ids.forEach(id -> refreshing.put(id, refresh));
+            if (building) {
+                changedDuringBuild.addAll(ids);
+            }
+        }
+        Map<Long, String> titles = new LinkedHashMap<>();
+        try {
+            questionRepository.findTitlesByIdIn(ids).forEach(title -> titles.put(title.id(), title.title()));
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh titles of questionIds: {}, kept until the next build", ids, e);
+            synchronized (this) {
+                ids.forEach(id -> refreshing.remove(id, refresh));
+            }
+            return;
+        }
+
+        synchronized (this) {
+            // Otherwise a later refresh owns the question, it loaded the title again
+            titles.forEach((id, title) -> {
+                if (refreshing.remove(id, refresh)) {
+                    index.put(id, title);
+                }
+            });
+            for (Long id : ids) {
+                if (!titles.containsKey(id) && refreshing.remove(id, refresh)) {
+                    index.remove(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds questions whose title has a word starting with every word of the prefix, newest first.
+     * The prefix is split into words like titles, so {@code "spring tra"} matches "Spring Boot transactions".
+     * At most {@value #MAX_CANDIDATES} questions with a word starting with the rarest word of the prefix are checked.
+     *
+     * @param prefix what the user typed so far
+     * @param limit maximum number of suggestions
+     * @return the matching questions, empty if no word of the prefix is at least {@value #MIN_PREFIX_LENGTH}
+     * characters long
+     */
+    public List<QuestionSuggestion> suggest(String prefix, int limit) {
+        Set<String> prefixWords = words(prefix);
+        Index current = index;
+
+        List<Cursor> driver = null;
+        long driverSize = Long.MAX_VALUE;
+        for (String word : prefixWords) {
+            if (word.length() < MIN_PREFIX_LENGTH) {
+                continue;
+            }
+            List<Cursor> cursors = current.cursorsStartingWith(word);
+            long size = cursors.stream().mapToLong(cursor -> cursor.position + 1).sum();
+            if (size < driverSize) {
+                driver = cursors;
+                driverSize = size;
+            }
+        }
+        if (driver == null || driver.isEmpty()) {
+            return List.of();
+        }
+
+        // Merges the postings of all words of the driving prefix from their ends, the same slot appears once per word
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(driver.size(), NEWEST_FIRST);
+        queue.addAll(driver);
+        List<QuestionSuggestion> suggestions = new ArrayList<>(limit);
+        int previous = -1;
+        int candidates = 0;
+        while (!queue.isEmpty() && suggestions.size() < limit && candidates < MAX_CANDIDATES) {
+            Cursor cursor = queue.poll();
+            int slot = cursor.current();
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+            if (slot == previous) {
+                continue;
+            }
+            previous = slot;
+            candidates++;
+            QuestionSuggestion suggestion = current.suggestion(slot);
+            // The title may have changed since the postings were read
+            if (suggestion != null && startsWords(suggestion.title().toLowerCase(Locale.ROOT), prefixWords)) {
+                suggestions.add(suggestion);
+            }
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return index.size;
+    }
+
+    static Set<String> words(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static boolean startsWords(String title, Set<String> prefixWords) {
+        for (String prefix : prefixWords) {
+            if (!hasWordStartingWith(title, prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same as splitting the title into {@link #words}, without a regular expression per candidate.
+     */
+    private static boolean hasWordStartingWith(String title, String prefix) {
+        for (int at = title.indexOf(prefix); at >= 0; at = title.indexOf(prefix, at + 1)) {
+            if (at == 0 || !isWordCharacter(title.codePointBefore(at))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWordCharacter(int codePoint) {
+        int type = Character.getType(codePoint);
+        return Character.isLetter(codePoint) || type == Character.DECIMAL_DIGIT_NUMBER
+                || type == Character.LETTER_NUMBER || type == Character.OTHER_NUMBER;
+    }
+
+    /**
+     * Slots and postings by word. Only the thread holding the lock of {@link QuestionTitleIndex}
+     * or building a new index writes to it, readers only follow postings into the slots.
+     */
+    private static final class Index {
+        private final Map<Long, Integer> slotsById = new HashMap<>();
+        private final NavigableMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+        private volatile Slots slots = new Slots(new long[16], new AtomicReferenceArray<>(16));
+        private int used;
+        private volatile int size;
+
+        void put(long id, String title) {
+            byte[] bytes = title.getBytes(StandardCharsets.UTF_8);
+            Integer slot = slotsById.get(id);
+            Set<String> previousWords = Set.of();
+            if (slot == null) {
+                slot = append(id, bytes);
+                slotsById.put(id, slot);
+                size = slotsById.size();
+            } else {
+                previousWords = words(new String(slots.titles.getAndSet(slot, bytes), StandardCharsets.UTF_8));
+            }
+            Set<String> words = words(title);
+            for (String word : previousWords) {
+                if (!words.contains(word)) {
+                    removePosting(word, slot);
+                }
+            }
+            for (String word : words) {
+                if (!previousWords.contains(word)) {
+                    addPosting(word, slot);
+                }
+            }
+        }
+
+        void remove(long id) {
+            Integer slot = slotsById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            size = slotsById.size();
+            byte[] previous = slots.titles.getAndSet(slot, null);
+            words(new String(previous, StandardCharsets.UTF_8)).forEach(word -> removePosting(word, slot));
+        }
+
+        QuestionSuggestion suggestion(int slot) {
+            Slots current = slots;
+            byte[] title = current.titles.get(slot);
+            return title == null
+                    ? null
+                    : new QuestionSuggestion(current.ids[slot], new String(title, StandardCharsets.UTF_8));
+        }
+
+        List<Cursor> cursorsStartingWith(String prefix) {
+            List<Cursor> cursors = new ArrayList<>();
+            for (Map.Entry<String, Postings> entry : postings.tailMap(prefix).entrySet()) {
+                if (!entry.getKey().startsWith(prefix)) {
+                    break;
+                }
+                Postings word = entry.getValue();
+                int size = word.size;
+                if (size > 0) {
+                    cursors.add(new Cursor(word.slots, size - 1));
+                }
+            }
+            return cursors;
+        }
+
+        /**
+         * Grows the slots before the new one is written, so a reader following a posting always finds it.
+         */
+        private int append(long id, byte[] title) {
+            Slots current = slots;
+            if (used == current.ids.length) {
+                current = current.grow(used + (used >> 1));
+                slots = current;
+            }
+            current.ids[used] = id;
+            current.titles.set(used, title);
+            return used++;
+        }
+
+        private void addPosting(String word, int slot) {
+            Postings current = postings.get(word);
+            if (current == null) {
+                postings.put(word, new Postings(new int[]{slot}, 1));
+            } else if (current.size < current.slots.length && current.slots[current.size - 1] < slot) {
+                current.slots[current.size] = slot;
+                current.size = current.size + 1;
+            } else {
+                postings.put(word, current.with(slot));
+            }
+        }
+
+        private void removePosting(String word, int slot) {
+            Postings current = postings.get(word);
+            if (current == null) {
+                return;
+            }
+            int position = Arrays.binarySearch(current.slots, 0, current.size, slot);
+            if (position < 0) {
+                return;
+            }
+            if (current.size == 1) {
+                postings.remove(word);
+            } else {
+                postings.put(word, current.without(position));
+            }
+        }
+    }
+
+    /**
+     * IDs and UTF-8 titles by slot, the slot of a deleted question has no title.
+     */
+    private record Slots(long[] ids, AtomicReferenceArray<byte[]> titles) {
+
+        Slots grow(int capacity) {
+            AtomicReferenceArray<byte[]> grown = new AtomicReferenceArray<>(capacity);
+            for (int slot = 0; slot < titles.length(); slot++) {
+                grown.set(slot, titles.get(slot));
+            }
+            return new Slots(Arrays.copyOf(ids, capacity), grown);
+        }
+    }
+
+    /**
+     * Ascending slots of the questions containing a word. Elements below {@code size} never change,
+     * readers take the size first and see every element written before it.
+     */
+    private static final class Postings {
+        private final int[] slots;
+        private volatile int size;
+
+        Postings(int[] slots, int size) {
+            this.slots = slots;
+            this.size = size;
+        }
+
+        Postings with(int slot) {
+            int position = Arrays.binarySearch(slots, 0, size, slot);
+            if (position >= 0) {
+                return this;
+            }
+            int insertAt = -position - 1;
+            int[] copy = new int[size + (size >> 1) + 1];
+            System.arraycopy(slots, 0, copy, 0, insertAt);
+            copy[insertAt] = slot;
+            System.arraycopy(slots, insertAt, copy, insertAt + 1, size - insertAt);
+            return new Postings(copy, size + 1);
+        }
+
+        Postings without(int position) {
+            int[] copy = new int[size - 1];
+            System.arraycopy(slots, 0, copy, 0, position);
+            System.arraycopy(slots, position + 1, copy, position, size - position - 1);
+            return new Postings(copy, size - 1);
+        }
+    }
+
+    /**
+     * Walks a snapshot of postings from the newest slot down.
+     */
+    private static final class Cursor {
+        private final int[] slots;
+        private int position;
+
+        Cursor(int[] slots, int position) {
+            this.slots = slots;
+            this.position = position;
+        }
+
+        int current() {
+            return slots[position];
+        }
+
+        boolean advance() {
+            return --position >= 0;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.events.AnswerChangedEvent;
+import com.questionanswer.questions.events.ChangeType;
+import com.questionanswer.questions.events.QuestionChangedEvent;
+import com.questionanswer.questions.repository.QuestionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Increments the version of a question whenever the question or its answers change.
+ * Runs synchronously inside the transaction that made the change, so a reader never sees
+ * new content with an old version.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionVersionUpdater {
+    private final QuestionRepository questionRepository;
+
+    @EventListener
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        if (event.changeType() == ChangeType.UPDATED) {
+            questionRepository.incrementVersion(event.questionId());
+        }
+    }
+
+    @EventListener
+    public void onAnswerChanged(AnswerChangedEvent event) {
+        // Creating an answer increments the version in its insert statement
+        if (event.changeType() != ChangeType.CREATED) {
+            questionRepository.incrementVersion(event.questionId());
+        }
+    }
+}
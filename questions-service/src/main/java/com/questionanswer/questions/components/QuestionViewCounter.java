@@ -0,0 +1,57 @@
+package com.questionanswer.questions.components;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Write-behind view counters of questions, flushed to {@code questions.views}.
+ * <p>
+ * Readers add {@link #pending(Long)} to the persisted count. Flushed questions are evicted from the
+ * {@link QuestionCache}, so the next read loads the new persisted count instead of the cached one,
+ * and flushed views count towards the {@link HotQuestionFeed}.
+ * Metrics are prefixed with {@code questions.views}.
+ */
+@Component
+public class QuestionViewCounter extends WriteBehindCounter {
+    private static final String FLUSH = """
+            update questions q set views = q.views + v.views
+            from unnest(?::bigint[], ?::bigint[]) as v(id, views)
+            where q.id = v.id
+            """;
+
+    private final QuestionCache questionCache;
+    private final HotQuestionFeed hotQuestionFeed;
+
+    public QuestionViewCounter(JdbcClient jdbcClient, QuestionCache questionCache, HotQuestionFeed hotQuestionFeed,
+                               MeterRegistry meterRegistry) {
+        super(jdbcClient, FLUSH, meterRegistry, "questions.views");
+        this.questionCache = questionCache;
+        this.hotQuestionFeed = hotQuestionFeed;
+    }
+
+    public void record(Long questionId) {
+        add(questionId, 1);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${questions.views.flush-interval:5s}")
+    public void flush() {
+        super.flush();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Override
+    protected void onFlushed(List<Long> ids, List<Long> deltas) {
+        ids.forEach(questionCache::evict);
+        hotQuestionFeed.recordViews(ids, deltas);
+    }
+}
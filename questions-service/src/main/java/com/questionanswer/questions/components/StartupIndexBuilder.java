@@ -0,0 +1,28 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.bulk.BulkLoadRunner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the in-memory indexes once the application is ready to serve. Not active for a bulk load, which exits
+ * right after loading and would only pay for a full scan of the freshly loaded tables.
+ */
+@Component
+@Profile("!" + BulkLoadRunner.PROFILE)
+@RequiredArgsConstructor
+public class StartupIndexBuilder {
+    private final QuestionTitleIndex questionTitleIndex;
+    private final QuestionDuplicateIndex questionDuplicateIndex;
+    private final HotQuestionFeed hotQuestionFeed;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        questionTitleIndex.build();
+        questionDuplicateIndex.build();
+        hotQuestionFeed.rescore();
+    }
+}
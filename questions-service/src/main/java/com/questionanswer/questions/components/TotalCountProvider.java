@@ -0,0 +1,17 @@
+package com.questionanswer.questions.components;
+
+import java.util.UUID;
+
+/**
+ * Supplies total counts for paginated listings.
+ * The implementation is selected with the {@code questions.pagination.count-mode} property.
+ */
+public interface TotalCountProvider {
+    long countQuestions();
+
+    long countQuestionsByAuthor(UUID author);
+
+    long countUnansweredQuestions();
+
+    long countAnswersByAuthor(UUID author);
+}
@@ -0,0 +1,106 @@
+package com.questionanswer.questions.components;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Striped in-memory deltas keyed by row ID, added to a column in batches.
+ * Every row has its own {@link LongAdder}, added to under the lock of its map entry, so a flush dropping an idle
+ * counter never drops an update. A flush adds the deltas of all rows with one statement taking two {@code bigint[]}
+ * parameters, the IDs and the deltas.
+ * Deltas not yet flushed are lost on a crash, at most one flush interval; subclasses flush on shutdown.
+ * <p>
+ * Exposes {@code <prefix>.pending} (rows with deltas in memory), {@code <prefix>.flushed} (flushed rows)
+ * and {@code <prefix>.flush} (duration of a flush).
+ */
+@Slf4j
+public abstract class WriteBehindCounter {
+    private final JdbcClient jdbcClient;
+    private final String flushSql;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private final Counter flushed;
+    private final Timer flushTimer;
+
+    protected WriteBehindCounter(JdbcClient jdbcClient, String flushSql, MeterRegistry meterRegistry, String prefix) {
+        this.jdbcClient = jdbcClient;
+        this.flushSql = flushSql;
+        this.flushed = meterRegistry.counter(prefix + ".flushed");
+        this.flushTimer = meterRegistry.timer(prefix + ".flush");
+        meterRegistry.gaugeMapSize(prefix + ".pending", List.of(), pending);
+    }
+
+    protected void add(Long id, long delta) {
+        pending.compute(id, (key, adder) -> {
+            LongAdder counter = adder == null ? new LongAdder() : adder;
+            counter.add(delta);
+            return counter;
+        });
+    }
+
+    /**
+     * @param id the ID of the row
+     * @return the delta counted by this replica and not flushed yet
+     */
+    public long pending(Long id) {
+        LongAdder adder = pending.get(id);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Adds the pending deltas to the database. Counters stay in place and are reset, so updates racing with the
+     * flush go to the next one; counters that stayed at zero for a whole interval are dropped under the same entry
+     * lock as updates, so an update either lands before the check or recreates the counter. If the statement fails
+     * the deltas are put back and retried with the next flush.
+     */
+    public void flush() {
+        List<Long> ids = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        pending.forEach((id, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                ids.add(id);
+                deltas.add(delta);
+            } else {
+                pending.computeIfPresent(id, (key, current) -> current.sum() == 0 ? null : current);
+            }
+        });
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        try {
+            flushTimer.record(() -> jdbcClient.sql(flushSql)
+                    .param(ids.stream().mapToLong(Long::longValue).toArray())
+                    .param(deltas.stream().mapToLong(Long::longValue).toArray())
+                    .update());
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} counters, retrying with the next flush", ids.size(), e);
+            for (int i = 0; i < ids.size(); i++) {
+                add(ids.get(i), deltas.get(i));
+            }
+            return;
+        }
+        onFlushed(ids, deltas);
+        flushed.increment(ids.size());
+        log.debug("Flushed {} counters", ids.size());
+    }
+
+    /**
+     * Called after the deltas of the rows have been written.
+     *
+     * @param ids the IDs of the flushed rows
+     * @param deltas the delta written for each row
+     */
+    protected void onFlushed(List<Long> ids, List<Long> deltas) {
+    }
+}
@@ -1,25 +0,0 @@
-package com.questionanswer.questions.config;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.core.task.TaskExecutor;
-import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-
-@Configuration
-@EnableAsync
-public class AsyncEventConfig {
-
-    @Bean
-    TaskExecutor eventTaskExecutor() {
-        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
-        taskExecutor.setCorePoolSize(2);
-        taskExecutor.setMaxPoolSize(6);
-        taskExecutor.setQueueCapacity(100);
-        taskExecutor.setThreadNamePrefix("event-publisher-");
-        taskExecutor.initialize();
-        return taskExecutor;
-    }
-
-
-}
\ No newline at end of file
@@ -1,5 +1,10 @@
 package com.questionanswer.questions.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,9 +12,29 @@ import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class RabbitMQConfig {
+    public static final String QUESTION_CACHE_EXCHANGE = "questions-cache-invalidation";
 
     @Bean
     public Jackson2JsonMessageConverter messageConverter() {
         return new Jackson2JsonMessageConverter();
     }
+
+    @Bean
+    public FanoutExchange questionCacheExchange() {
+        return new FanoutExchange(QUESTION_CACHE_EXCHANGE);
+    }
+
+    /**
+     * Exclusive auto-delete queue per replica, so every replica receives every invalidation.
+     */
+    @Bean
+    public Queue questionCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding questionCacheInvalidationBinding(Queue questionCacheInvalidationQueue,
+                                                    FanoutExchange questionCacheExchange) {
+        return BindingBuilder.bind(questionCacheInvalidationQueue).to(questionCacheExchange);
+    }
 }
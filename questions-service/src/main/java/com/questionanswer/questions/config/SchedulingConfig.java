@@ -0,0 +1,12 @@
+package com.questionanswer.questions.config;
+
+import com.questionanswer.questions.bulk.BulkLoadRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@Profile("!" + BulkLoadRunner.PROFILE)
+public class SchedulingConfig {
+}
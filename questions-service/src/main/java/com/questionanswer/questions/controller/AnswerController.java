@@ -2,13 +2,19 @@ package com.questionanswer.questions.controller;
 
 import com.questionanswer.questions.dto.AnswerResponse;
 import com.questionanswer.questions.dto.CreateAnswerRequest;
+import com.questionanswer.questions.dto.CursorPagedResponse;
+import com.questionanswer.questions.dto.PageCursor;
 import com.questionanswer.questions.dto.PagedResponse;
+import com.questionanswer.questions.dto.VoteRequest;
 import com.questionanswer.questions.entity.Answer;
+import com.questionanswer.questions.mapper.PageMapper;
 import com.questionanswer.questions.service.AnswerService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -31,10 +37,21 @@ public class AnswerController {
     @Operation(summary = "Get answers by author")
     @ApiResponse(useReturnTypeSchema = true)
     public PagedResponse<AnswerResponse> getAnswersByAuthor(@RequestParam UUID author,
-                                                            @RequestParam(defaultValue = "0") int page,
-                                                            @RequestParam(defaultValue = "20") int size) {
+                                                            @RequestParam(defaultValue = "0") @Min(0) int page,
+                                                            @RequestParam(defaultValue = "20") @Min(1) @Max(PageMapper.MAX_PAGE_SIZE) int size,
+                                                            @RequestParam(defaultValue = "true") boolean withTotal) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return answerService.getAnswersByAuthor(author, pageable);
+        return answerService.getAnswersByAuthor(author, pageable, withTotal);
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get answers by author using keyset pagination",
+            description = "Pass an empty cursor for the first page and nextCursor of the previous response afterwards")
+    @ApiResponse(useReturnTypeSchema = true)
+    public CursorPagedResponse<AnswerResponse> getAnswersByAuthorByCursor(@RequestParam UUID author,
+                                                                          @RequestParam String cursor,
+                                                                          @RequestParam(defaultValue = "20") @Min(1) @Max(PageMapper.MAX_PAGE_SIZE) int size) {
+        return answerService.getAnswersByAuthor(author, PageCursor.decode(cursor), size);
     }
 
     @PostMapping
@@ -50,6 +67,17 @@ public class AnswerController {
     }
 
 
+    @PutMapping("/{id}/vote")
+    @Operation(summary = "Vote on an answer",
+            description = "1 votes up, -1 votes down and 0 retracts the vote. The score of the answer is updated within seconds")
+    @ApiResponse(responseCode = "204", useReturnTypeSchema = true)
+    public ResponseEntity<Void> vote(@PathVariable Long id,
+                                     @Valid @RequestBody VoteRequest dto,
+                                     JwtAuthenticationToken accessToken) {
+        answerService.vote(id, dto.value(), accessToken);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete an answer by id")
     @ApiResponse(responseCode = "204", useReturnTypeSchema = true)
@@ -1,47 +1,272 @@
 package com.questionanswer.questions.controller;
 
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.questionanswer.questions.components.FrontPageSnapshots;
+import com.questionanswer.questions.components.HotQuestionFeed;
+import com.questionanswer.questions.components.QuestionTitleIndex;
 import com.questionanswer.questions.dto.*;
 import com.questionanswer.questions.entity.Question;
+import com.questionanswer.questions.mapper.PageMapper;
 import com.questionanswer.questions.service.QuestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @SecurityRequirement(name = "keycloak")
 @RequestMapping("/api/questions")
-@RequiredArgsConstructor
 public class QuestionController {
+    public static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_SEARCH_LENGTH = 200;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final String ANSWER_SORT = "createdAt|score";
+    private static final String QUESTION_SORT = "createdAt|answerCount|hot";
+
+    private static final int EXPORT_BUFFER_SIZE = 8192;
+
     private final QuestionService questionService;
+    private final FrontPageSnapshots frontPageSnapshots;
+    private final QuestionTitleIndex questionTitleIndex;
+    private final HotQuestionFeed hotQuestionFeed;
+    private final ObjectWriter exportWriter;
+
+    public QuestionController(QuestionService questionService,
+                              FrontPageSnapshots frontPageSnapshots,
+                              QuestionTitleIndex questionTitleIndex,
+                              HotQuestionFeed hotQuestionFeed,
+                              ObjectMapper objectMapper) {
+        this.questionService = questionService;
+        this.frontPageSnapshots = frontPageSnapshots;
+        this.questionTitleIndex = questionTitleIndex;
+        this.hotQuestionFeed = hotQuestionFeed;
+        this.exportWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
 
 
     @GetMapping
-    public PagedResponse<QuestionHeader> getQuestions(@RequestParam(required = false) UUID author,
-                                                      @RequestParam(defaultValue = "0") int page,
-                                                      @RequestParam(defaultValue = "20") int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+    @Operation(summary = "Get a page of questions",
+            description = "Newest first, most answered first with sort=answerCount or trending first with sort=hot. "
+                    + "The trending feed only lists the hottest questions")
+    public ResponseEntity<PagedResponse<QuestionHeader>> getQuestions(@RequestParam(required = false) UUID author,
+                                                                      @RequestParam(defaultValue = "0") @Min(0) int page,
+                                                                      @RequestParam(defaultValue = "20") @Min(1) @Max(PageMapper.MAX_PAGE_SIZE) int size,
+                                                                      @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                      @RequestParam(defaultValue = "createdAt") @Pattern(regexp = QUESTION_SORT) String sort,
+                                                                      WebRequest webRequest,
+                                                                      HttpServletResponse response) throws IOException {
+        boolean hot = sort.equals("hot");
+        String eTag = hot ? hotETag() : listingETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        if (hot) {
+            return withETag(eTag, questionService.getHotQuestions(author, PageRequest.of(page, size)));
+        }
+        boolean byAnswerCount = sort.equals("answerCount");
+        if (author == null && withTotal && !byAnswerCount && size == FrontPageSnapshots.PAGE_SIZE) {
+            Optional<FrontPageSnapshots.RenderedPage> snapshot = frontPageSnapshots.find(page);
+            if (snapshot.isPresent()) {
+                writeSnapshot(snapshot.get(), response);
+                return null;
+            }
+        }
+
+        Sort order = byAnswerCount
+                ? Sort.by(Sort.Order.desc("answerCount"), Sort.Order.desc("id"))
+                : Sort.by("createdAt").descending();
+        Pageable pageable = PageRequest.of(page, size, order);
+        if (author == null) {
+            return withETag(eTag, questionService.getQuestions(pageable, withTotal));
+        }
+        return withETag(eTag, questionService.getQuestionsByAuthor(author, pageable, withTotal));
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get questions using keyset pagination",
+            description = "Pass an empty cursor for the first page and nextCursor of the previous response afterwards")
+    public ResponseEntity<CursorPagedResponse<QuestionHeader>> getQuestionsByCursor(@RequestParam(required = false) UUID author,
+                                                                                    @RequestParam String cursor,
+                                                                                    @RequestParam(defaultValue = "20") @Min(1) @Max(PageMapper.MAX_PAGE_SIZE) int size,
+                                                                                    WebRequest webRequest) {
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        String eTag = listingETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
         if (author == null) {
-            return questionService.getQuestions(pageable);
+            return withETag(eTag, questionService.getQuestions(pageCursor, size));
+        }
+        return withETag(eTag, questionService.getQuestionsByAuthor(author, pageCursor, size));
+    }
+
+    @GetMapping(params = {"filter=unanswered", "!cursor"})
+    @Operation(summary = "Get a page of questions without answers", description = "Newest first")
+    public ResponseEntity<PagedResponse<QuestionHeader>> getUnansweredQuestions(@RequestParam(defaultValue = "0") @Min(0) int page,
+                                                                                @RequestParam(defaultValue = "20") @Min(1) @Max(PageMapper.MAX_PAGE_SIZE) int size,
+                                                                                @RequestParam(defaultValue = "true") boolean withTotal,
+                                                                                WebRequest webRequest) {
+        String eTag = listingETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        return withETag(eTag, questionService.getUnansweredQuestions(pageable, withTotal));
+    }
+
+    @GetMapping(params = {"filter=unanswered", "cursor"})
+    @Operation(summary = "Get questions without answers using keyset pagination",
+            description = "Newest first. Pass an empty cursor for the first page and nextCursor of the previous response afterwards")
+    public ResponseEntity<CursorPagedResponse<QuestionHeader>> getUnansweredQuestionsByCursor(@RequestParam String cursor,
+                                                                                              @RequestParam(defaultValue = "20") @Min(1) @Max(PageMapper.MAX_PAGE_SIZE) int size,
+                                                                                              WebRequest webRequest) {
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        String eTag = listingETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return withETag(eTag, questionService.getUnansweredQuestions(pageCursor, size));
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get several questions by id",
+            description = "Questions are returned in the order of the ids, ids without a question are listed in missingIds")
+    public QuestionBatchResponse getQuestionsByIds(@RequestParam @NotEmpty @Size(max = PageMapper.MAX_PAGE_SIZE) List<Long> ids) {
+        return questionService.getQuestionsByIds(ids);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search questions and their answers",
+            description = "Best matches first. Supports quoted phrases, or and -word. "
+                    + "Pass nextCursor of the previous response for the next page")
+    public CursorPagedResponse<QuestionSearchHit> searchQuestions(@RequestParam @NotBlank @Size(max = MAX_SEARCH_LENGTH) String q,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "20") @Min(1) @Max(PageMapper.MAX_PAGE_SIZE) int size) {
+        return questionService.searchQuestions(q, RankCursor.decode(cursor), size);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest existing questions while a title is typed",
+            description = "Every word of the prefix starts a word of the title, newest questions first. "
+                    + "Answered from memory, words shorter than 2 characters only narrow the matches")
+    public List<QuestionSuggestion> suggestQuestions(@RequestParam @NotBlank @Size(max = MAX_SEARCH_LENGTH) String prefix,
+                                                     @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_SUGGESTIONS) int limit) {
+        return questionTitleIndex.suggest(prefix, limit);
+    }
+
+    @PostMapping("/duplicates")
+    @Operation(summary = "Find possible duplicates of a question before creating it",
+            description = "Takes the same body as creating a question, most similar questions first")
+    public List<DuplicateCandidate> findPossibleDuplicates(@Valid @RequestBody CreateQuestionRequest dto,
+                                                           @RequestParam(defaultValue = "5") @Min(1) @Max(MAX_SUGGESTIONS) int limit) {
+        return questionService.getPossibleDuplicates(dto, limit);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export questions with all of their answers as NDJSON",
+            description = "Administrators can export all questions, users their own. "
+                    + "The response is gzip-compressed if the client accepts it")
+    public ResponseEntity<StreamingResponseBody> exportQuestions(@RequestParam(required = false) UUID author,
+                                                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                                 JwtAuthenticationToken accessToken) {
+        questionService.checkExportAccess(author, accessToken);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, EXPORT_BUFFER_SIZE) : out;
+            try (JsonGenerator generator = exportWriter.createGenerator(target)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+                questionService.exportQuestions(author, question -> writeLine(generator, question));
+            }
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("questions.ndjson").build().toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
         }
-        return questionService.getQuestionsByAuthor(author, pageable);
+        return response.body(body);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get question by id")
-    public QuestionResponse getQuestion(@PathVariable Long id) {
-        return questionService.getQuestionWithAnswers(id);
+    @Operation(summary = "Get question by id",
+            description = "Counts a view, also when the client revalidates with If-None-Match. "
+                    + "The first answers are the oldest ones, or those with the highest score with sort=score")
+    public ResponseEntity<QuestionResponse> getQuestion(@PathVariable Long id,
+                                                        @RequestParam(defaultValue = "createdAt") @Pattern(regexp = ANSWER_SORT) String sort,
+                                                        WebRequest webRequest) {
+        // The version is read before the body, so the ETag never claims newer content than it was sent with.
+        // Weak, since the view count in the body moves on without changing the version
+        String eTag = "W/\"q%d-%d-%s\"".formatted(id, questionService.getQuestionVersion(id), sort);
+        questionService.recordView(id);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return withETag(eTag, sort.equals("score")
+                ? questionService.getQuestionWithTopAnswers(id)
+                : questionService.getQuestionWithAnswers(id));
+    }
+
+    @GetMapping("/{id}/answers")
+    @Operation(summary = "Get answers to the question using keyset pagination",
+            description = "Omit the cursor for the first page and pass nextCursor of the previous response afterwards. "
+                    + "Answers are ordered oldest first, or by score with sort=score")
+    public CursorPagedResponse<AnswerItem> getAnswers(@PathVariable Long id,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "20") @Min(1) @Max(PageMapper.MAX_PAGE_SIZE) int size,
+                                                      @RequestParam(defaultValue = "createdAt") @Pattern(regexp = ANSWER_SORT) String sort) {
+        if (sort.equals("score")) {
+            return questionService.getAnswersByScore(id, ScoreCursor.decode(cursor), size);
+        }
+        return questionService.getAnswers(id, PageCursor.decode(cursor), size);
+    }
+
+    @GetMapping("/{id}/duplicates")
+    @Operation(summary = "Get possible duplicates of the question", description = "Most similar questions first")
+    public List<DuplicateCandidate> getPossibleDuplicates(@PathVariable Long id,
+                                                          @RequestParam(defaultValue = "5") @Min(1) @Max(MAX_SUGGESTIONS) int limit) {
+        return questionService.getPossibleDuplicates(id, limit);
     }
 
     @PostMapping
@@ -55,6 +280,17 @@ public class QuestionController {
                 .body(question);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create several questions at once",
+            description = "Questions are created in one transaction and returned in the order of the request")
+    @ApiResponse(responseCode = "201", useReturnTypeSchema = true)
+    public ResponseEntity<List<Question>> createQuestions(@RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid CreateQuestionRequest> dtos,
+                                                          JwtAuthenticationToken accessToken) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(questionService.createQuestions(dtos, accessToken));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Get a question by id")
     @ApiResponse(responseCode = "200", useReturnTypeSchema = true)
@@ -71,4 +307,50 @@ public class QuestionController {
         questionService.deleteQuestion(id, accessToken);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Lines are not flushed one by one, the servlet container sends the buffered output in chunks.
+     */
+    private void writeLine(JsonGenerator generator, QuestionExport question) {
+        try {
+            exportWriter.writeValue(generator, question);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String listingETag() {
+        return "l-" + questionService.getListingVersion();
+    }
+
+    /**
+     * Views reorder the trending feed without changing the listings, so its ETag also carries the feed version.
+     */
+    private String hotETag() {
+        return listingETag() + "-h" + Long.toHexString(hotQuestionFeed.version());
+    }
+
+    /**
+     * Writes the pre-serialized page as is, tagged with the stamp it was rendered at rather than the current one.
+     */
+    private static void writeSnapshot(FrontPageSnapshots.RenderedPage snapshot,
+                                      HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(snapshot.body().remaining());
+        response.setHeader(HttpHeaders.ETAG, "\"l-" + snapshot.stamp() + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        Channels.newChannel(response.getOutputStream()).write(snapshot.body());
+    }
+
+    /**
+     * Clients must revalidate instead of the default {@code no-store}, otherwise they never send If-None-Match.
+     */
+    private static <T> ResponseEntity<T> withETag(String eTag, T body) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
 }
@@ -0,0 +1,11 @@
+package com.questionanswer.questions.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record AnswerItem(Long id, String text, UUID author, Instant createdAt, long score) {
+
+    public AnswerItem withScore(long score) {
+        return new AnswerItem(id, text, author, createdAt, score);
+    }
+}
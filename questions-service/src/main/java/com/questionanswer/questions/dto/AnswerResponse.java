@@ -5,5 +5,16 @@ import java.util.UUID;
 
 public record AnswerResponse(Long id, String text, UUID author, QuestionHeader question, Instant createdAt) {
 
+    /**
+     * Flat constructor for JPQL constructor expressions, which can not nest {@code new} clauses.
+     */
+    public AnswerResponse(Long id, String text, UUID author, Instant createdAt,
+                          Long questionId, String questionTitle, String questionText,
+                          UUID questionAuthor, Instant questionCreatedAt, long questionViews,
+                          int questionAnswerCount) {
+        this(id, text, author,
+                new QuestionHeader(questionId, questionTitle, questionText, questionAuthor, questionCreatedAt,
+                        questionViews, questionAnswerCount),
+                createdAt);
+    }
 }
-
@@ -0,0 +1,10 @@
+package com.questionanswer.questions.dto;
+
+import java.util.List;
+
+public record CursorPagedResponse<T>(
+        List<T> data,
+        String nextCursor,
+        boolean hasNext
+) {
+}
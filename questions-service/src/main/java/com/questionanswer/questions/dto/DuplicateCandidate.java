@@ -0,0 +1,9 @@
+package com.questionanswer.questions.dto;
+
+/**
+ * An existing question that may duplicate another one.
+ *
+ * @param similarity estimated Jaccard similarity of the word pairs of both questions, from {@code 0} to {@code 1}
+ */
+public record DuplicateCandidate(QuestionHeader question, double similarity) {
+}
@@ -0,0 +1,15 @@
+package com.questionanswer.questions.dto;
+
+import java.util.UUID;
+
+/**
+ * Outcome of the single-statement answer insert.
+ * The id is {@code null} when nothing was inserted, the question author tells apart why.
+ */
+public interface InsertedAnswer {
+    Long getId();
+
+    UUID getQuestionAuthor();
+
+    String getQuestionTitle();
+}
@@ -0,0 +1,9 @@
+package com.questionanswer.questions.dto;
+
+/**
+ * Position of the last row of a keyset page, sent to clients as an opaque token.
+ */
+public interface KeysetCursor {
+
+    String encode();
+}
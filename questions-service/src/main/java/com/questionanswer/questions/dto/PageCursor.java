@@ -0,0 +1,45 @@
+package com.questionanswer.questions.dto;
+
+import com.questionanswer.questions.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page, ordered by {@code (createdAt, id)} descending.
+ * Clients receive it as an opaque URL-safe token and send it back unchanged to fetch the next page.
+ */
+public record PageCursor(Instant createdAt, Long id) implements KeysetCursor {
+
+    @Override
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the opaque cursor, blank for the first page
+     * @return the decoded cursor or {@code null} if the token is blank
+     * @throws InvalidCursorException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3) {
+                throw InvalidCursorException.withToken(token);
+            }
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new PageCursor(createdAt, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw InvalidCursorException.withToken(token);
+        }
+    }
+}
@@ -5,8 +5,8 @@ import java.util.List;
 public record PagedResponse<T>(
         List<T> data,
         int currentPage,
-        int totalPages,
-        long totalItems,
+        Integer totalPages,
+        Long totalItems,
         boolean hasNext,
         boolean hasPrevious
 ) {
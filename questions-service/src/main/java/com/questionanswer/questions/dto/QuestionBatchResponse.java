@@ -0,0 +1,9 @@
+package com.questionanswer.questions.dto;
+
+import java.util.List;
+
+/**
+ * Questions requested by ID, in request order. IDs without a question are listed in {@code missingIds}.
+ */
+public record QuestionBatchResponse(List<QuestionHeader> data, List<Long> missingIds) {
+}
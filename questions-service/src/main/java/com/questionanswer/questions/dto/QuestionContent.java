@@ -0,0 +1,7 @@
+package com.questionanswer.questions.dto;
+
+/**
+ * Title and text of a question at the version they were read at.
+ */
+public record QuestionContent(Long id, String title, String text, long version) {
+}
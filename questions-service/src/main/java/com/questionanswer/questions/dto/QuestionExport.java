@@ -0,0 +1,12 @@
+package com.questionanswer.questions.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A line of the NDJSON export: the full question with all of its answers.
+ */
+public record QuestionExport(Long id, String title, String text, UUID author, Instant createdAt,
+                             List<AnswerItem> answers) {
+}
@@ -0,0 +1,12 @@
+package com.questionanswer.questions.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A question joined with one of its answers, the answer columns are {@code null} for questions without answers.
+ */
+public record QuestionExportRow(Long id, String title, String text, UUID author, Instant createdAt,
+                                Long answerId, String answerText, UUID answerAuthor, Instant answerCreatedAt,
+                                Long answerScore) {
+}
@@ -3,6 +3,10 @@ package com.questionanswer.questions.dto;
 import java.time.Instant;
 import java.util.UUID;
 
-public record QuestionHeader(Long id, String title, String text, UUID author, Instant createdAt) {
+public record QuestionHeader(Long id, String title, String text, UUID author, Instant createdAt, long views,
+                             int answerCount) {
 
+    public QuestionHeader withViews(long views) {
+        return new QuestionHeader(id, title, text, author, createdAt, views, answerCount);
+    }
 }
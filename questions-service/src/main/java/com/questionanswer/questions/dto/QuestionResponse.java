@@ -1,11 +1,13 @@
 package com.questionanswer.questions.dto;
 
-import com.questionanswer.questions.entity.Answer;
-
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
-public record QuestionResponse(Long id, String title, String text, UUID author, List<Answer> answers,
-                               Instant createdAt) {
+/**
+ * Question details with the first page of its answers.
+ * The remaining answers are available from {@code GET /api/questions/{id}/answers} starting at {@code answersCursor}.
+ */
+public record QuestionResponse(Long id, String title, String text, UUID author, List<AnswerItem> answers,
+                               long answerCount, String answersCursor, Instant createdAt, long views) {
 }
@@ -0,0 +1,8 @@
+package com.questionanswer.questions.dto;
+
+/**
+ * A search result. Matched words of {@code title} and {@code snippet} are wrapped in {@code <mark>} tags,
+ * the rest is the question text as written, so clients escape it before rendering.
+ */
+public record QuestionSearchHit(QuestionHeader question, String title, String snippet, float rank) {
+}
@@ -0,0 +1,14 @@
+package com.questionanswer.questions.dto;
+
+/**
+ * A question matching a search, with its rank and the highlighted fragments of its title and text.
+ */
+public interface QuestionSearchMatch {
+    Long getId();
+
+    Float getRank();
+
+    String getTitle();
+
+    String getSnippet();
+}
@@ -0,0 +1,7 @@
+package com.questionanswer.questions.dto;
+
+/**
+ * Stored MinHash signature of a question, encoded by {@link com.questionanswer.questions.components.MinHash}.
+ */
+public record QuestionSignature(Long id, byte[] minhash) {
+}
@@ -0,0 +1,7 @@
+package com.questionanswer.questions.dto;
+
+/**
+ * An existing question suggested while a title is typed.
+ */
+public record QuestionSuggestion(Long id, String title) {
+}
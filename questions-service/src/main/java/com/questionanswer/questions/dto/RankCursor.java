@@ -0,0 +1,46 @@
+package com.questionanswer.questions.dto;
+
+import com.questionanswer.questions.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a search page, ordered by {@code (rank, id)} descending.
+ * The rank is kept as the {@code real} returned by the database, so the next page compares it exactly.
+ */
+public record RankCursor(float rank, Long id) implements KeysetCursor {
+
+    @Override
+    public String encode() {
+        String raw = "r:" + rank + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the opaque cursor, blank for the first page
+     * @return the decoded cursor or {@code null} if the token is blank
+     * @throws InvalidCursorException if the token is malformed
+     */
+    public static RankCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3 || !parts[0].equals("r")) {
+                throw InvalidCursorException.withToken(token);
+            }
+            float rank = Float.parseFloat(parts[1]);
+            if (!Float.isFinite(rank)) {
+                throw InvalidCursorException.withToken(token);
+            }
+            return new RankCursor(rank, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw InvalidCursorException.withToken(token);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.questionanswer.questions.dto;
+
+import com.questionanswer.questions.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page, ordered by {@code (score, id)} descending.
+ * Scores change while a client pages, so an answer whose score changed may be skipped or repeated.
+ */
+public record ScoreCursor(long score, Long id) implements KeysetCursor {
+
+    @Override
+    public String encode() {
+        String raw = "s:" + score + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the opaque cursor, blank for the first page
+     * @return the decoded cursor or {@code null} if the token is blank
+     * @throws InvalidCursorException if the token is malformed
+     */
+    public static ScoreCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 3 || !parts[0].equals("s")) {
+                throw InvalidCursorException.withToken(token);
+            }
+            return new ScoreCursor(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw InvalidCursorException.withToken(token);
+        }
+    }
+}
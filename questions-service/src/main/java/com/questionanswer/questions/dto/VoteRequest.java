@@ -0,0 +1,11 @@
+package com.questionanswer.questions.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * @param value {@code 1} to vote up, {@code -1} to vote down, {@code 0} to retract the vote
+ */
+public record VoteRequest(@NotNull @Min(-1) @Max(1) Integer value) {
+}
@@ -1,6 +1,7 @@
 package com.questionanswer.questions.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,7 +21,8 @@ import java.util.UUID;
 @AllArgsConstructor
 public class Answer implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "answers_seq")
+    @SequenceGenerator(name = "answers_seq", sequenceName = "answers_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -37,4 +39,11 @@ public class Answer implements Serializable {
     @CreationTimestamp
     @Column(nullable = false)
     private Instant createdAt;
+
+    /**
+     * Persisted sum of the votes, written only by {@link com.questionanswer.questions.components.AnswerScoreCounter}.
+     */
+    @JsonIgnore
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long score;
 }
@@ -1,6 +1,7 @@
 package com.questionanswer.questions.entity;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -23,7 +24,8 @@ import java.util.UUID;
 @NoArgsConstructor
 public class Question implements Serializable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "questions_seq")
+    @SequenceGenerator(name = "questions_seq", sequenceName = "questions_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -44,4 +46,36 @@ public class Question implements Serializable {
     @CreationTimestamp
     @Column(nullable = false)
     private Instant createdAt;
+
+    /**
+     * Incremented on every change of the question or its answers, including their scores, backs the ETag of the
+     * question. Written only by update statements, such as
+     * {@link com.questionanswer.questions.repository.QuestionRepository#incrementVersion},
+     * so that saving the entity never writes back the version it was loaded with.
+     */
+    @JsonIgnore
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long version;
+
+    /**
+     * Persisted view count, written only by {@link com.questionanswer.questions.components.QuestionViewCounter}
+     * so that saving the entity never overwrites increments flushed in the meantime.
+     */
+    @JsonIgnore
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long views;
+
+    /**
+     * Number of answers, maintained by the statements of {@link com.questionanswer.questions.repository.AnswerRepository}
+     * that create and delete answers, in the same transaction.
+     */
+    @JsonIgnore
+    @Column(nullable = false, insertable = false, updatable = false)
+    private int answerCount;
+
+    /**
+     * MinHash signature of the title and text, see {@link com.questionanswer.questions.components.MinHash}.
+     */
+    @JsonIgnore
+    private byte[] minhash;
 }
@@ -0,0 +1,45 @@
+package com.questionanswer.questions.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Vote of a user on an answer, {@code 1} for an up vote and {@code -1} for a down vote.
+ */
+@Entity
+@Data
+@Builder
+@Table(name = "votes")
+@IdClass(Vote.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+public class Vote implements Serializable {
+    @Id
+    private Long answerId;
+
+    @Id
+    private UUID voter;
+
+    @Column(nullable = false)
+    private short value;
+
+    @CreationTimestamp
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long answerId;
+        private UUID voter;
+    }
+}
@@ -0,0 +1,10 @@
+package com.questionanswer.questions.events;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that created or deleted an answer.
+ * Listeners that maintain derived state should react after commit.
+ */
+public record AnswerChangedEvent(Long answerId, Long questionId, UUID author, ChangeType changeType) {
+}
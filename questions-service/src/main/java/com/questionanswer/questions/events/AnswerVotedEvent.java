@@ -0,0 +1,9 @@
+package com.questionanswer.questions.events;
+
+/**
+ * Published inside the transaction that cast, changed or retracted a vote.
+ *
+ * @param delta change of the score of the answer
+ */
+public record AnswerVotedEvent(Long answerId, int delta) {
+}
@@ -0,0 +1,7 @@
+package com.questionanswer.questions.events;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+}
@@ -0,0 +1,16 @@
+package com.questionanswer.questions.events;
+
+import java.util.List;
+
+/**
+ * Broadcast to all replicas to evict the questions from their local caches.
+ *
+ * @param origin instance ID of the replica that sent it, which already applied it before sending
+ * @param listingChanged whether the change is visible in question listings
+ * @param titleChanged whether the questions themselves were created, updated or deleted, so their titles and texts
+ *                     may have changed
+ * @param membershipChanged whether the questions were created or deleted rather than changed in place
+ */
+public record QuestionCacheInvalidation(String origin, List<Long> questionIds, boolean listingChanged,
+                                        boolean titleChanged, boolean membershipChanged) {
+}
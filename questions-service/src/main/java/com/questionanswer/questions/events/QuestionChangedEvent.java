@@ -0,0 +1,10 @@
+package com.questionanswer.questions.events;
+
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that created, updated or deleted a question.
+ * Listeners that maintain derived state should react after commit.
+ */
+public record QuestionChangedEvent(Long questionId, UUID author, ChangeType changeType) {
+}
@@ -0,0 +1,13 @@
+package com.questionanswer.questions.events;
+
+import java.util.List;
+
+/**
+ * Published on every replica right before the listing version moves on, so listeners holding rendered listings
+ * can tell which questions to render again.
+ *
+ * @param membershipChanged whether questions were created or deleted, which shifts the positions of the questions
+ *                          after them and changes the totals of every page
+ */
+public record QuestionListingChangedEvent(List<Long> questionIds, boolean membershipChanged) {
+}
@@ -0,0 +1,11 @@
+package com.questionanswer.questions.events;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that created several questions at once, in place of a
+ * {@link QuestionChangedEvent} per question, so listeners can handle the batch with one query or message.
+ */
+public record QuestionsCreatedEvent(List<Long> questionIds, UUID author) {
+}
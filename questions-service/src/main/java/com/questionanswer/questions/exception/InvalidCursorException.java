@@ -0,0 +1,12 @@
+package com.questionanswer.questions.exception;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public static InvalidCursorException withToken(String token) {
+        return new InvalidCursorException("Invalid page cursor: " + token);
+    }
+}
@@ -1,25 +1,20 @@
 package com.questionanswer.questions.mapper;
 
+import com.questionanswer.questions.dto.AnswerItem;
 import com.questionanswer.questions.dto.AnswerResponse;
-import com.questionanswer.questions.dto.QuestionHeader;
-import com.questionanswer.questions.entity.Answer;
-import com.questionanswer.questions.entity.Question;
+import com.questionanswer.questions.dto.PageCursor;
+import com.questionanswer.questions.dto.ScoreCursor;
 
 public class AnswerMapper {
-    public static AnswerResponse toResponse(Answer answer) {
-        Question question = answer.getQuestion();
-        return new AnswerResponse(
-                answer.getId(),
-                answer.getText(),
-                answer.getAuthor(),
-                new QuestionHeader(
-                        question.getId(),
-                        question.getTitle(),
-                        question.getText(),
-                        question.getAuthor(),
-                        question.getCreatedAt()
-                ),
-                answer.getCreatedAt()
-        );
+    public static PageCursor toCursor(AnswerResponse response) {
+        return new PageCursor(response.createdAt(), response.id());
+    }
+
+    public static PageCursor toCursor(AnswerItem item) {
+        return new PageCursor(item.createdAt(), item.id());
+    }
+
+    public static ScoreCursor toScoreCursor(AnswerItem item) {
+        return new ScoreCursor(item.score(), item.id());
     }
 }
@@ -1,11 +1,19 @@
 package com.questionanswer.questions.mapper;
 
+import com.questionanswer.questions.dto.CursorPagedResponse;
+import com.questionanswer.questions.dto.KeysetCursor;
 import com.questionanswer.questions.dto.PagedResponse;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 
+import java.util.List;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 public class PageMapper {
+    public static final int MAX_PAGE_SIZE = 100;
+
     public static <T, R> PagedResponse<R> toPagedResponse(Page<T> page, Function<T, R> mapper) {
         return new PagedResponse<>(
                 page.stream().map(mapper).toList(),
@@ -16,4 +24,52 @@ public class PageMapper {
                 page.hasPrevious()
         );
     }
+
+    /**
+     * Builds a page whose totals come from the given supplier instead of a count query per request.
+     * The supplier is not called when the totals follow from the slice itself, e.g. on the last page.
+     */
+    public static <T, R> PagedResponse<R> toPagedResponse(Slice<T> slice, LongSupplier totalSupplier,
+                                                          Function<T, R> mapper) {
+        Page<T> page = PageableExecutionUtils.getPage(slice.getContent(), slice.getPageable(), totalSupplier);
+        return new PagedResponse<>(
+                slice.stream().map(mapper).toList(),
+                slice.getNumber(),
+                page.getTotalPages(),
+                page.getTotalElements(),
+                slice.hasNext(),
+                slice.hasPrevious()
+        );
+    }
+
+    /**
+     * Builds a page without totals, only {@code hasNext} and {@code hasPrevious} are known.
+     */
+    public static <T, R> PagedResponse<R> toSlicedResponse(Slice<T> slice, Function<T, R> mapper) {
+        return new PagedResponse<>(
+                slice.stream().map(mapper).toList(),
+                slice.getNumber(),
+                null,
+                null,
+                slice.hasNext(),
+                slice.hasPrevious()
+        );
+    }
+
+    /**
+     * Builds a keyset page from rows fetched with a limit of {@code size + 1}.
+     * The extra row only signals that a next page exists and is not returned.
+     */
+    public static <T, R> CursorPagedResponse<R> toCursorPagedResponse(List<T> rows, int size,
+                                                                      Function<T, ? extends KeysetCursor> cursorExtractor,
+                                                                      Function<T, R> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorExtractor.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPagedResponse<>(
+                content.stream().map(mapper).toList(),
+                nextCursor,
+                hasNext
+        );
+    }
 }
@@ -1,22 +1,64 @@
 package com.questionanswer.questions.mapper;
 
+import com.questionanswer.questions.dto.AnswerItem;
+import com.questionanswer.questions.dto.CursorPagedResponse;
+import com.questionanswer.questions.dto.PageCursor;
+import com.questionanswer.questions.dto.QuestionExport;
+import com.questionanswer.questions.dto.QuestionExportRow;
 import com.questionanswer.questions.dto.QuestionHeader;
 import com.questionanswer.questions.dto.QuestionResponse;
+import com.questionanswer.questions.dto.QuestionSearchMatch;
+import com.questionanswer.questions.dto.RankCursor;
 import com.questionanswer.questions.entity.Question;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 
 public class QuestionMapper {
-    public static QuestionHeader toHeader(Question question) {
-        return new QuestionHeader(
-                question.getId(),
-                question.getTitle(),
-                question.getText().substring(0, Math.min(question.getText().length(), 120)) + "...",
-                question.getAuthor(),
-                question.getCreatedAt()
-        );
+    public static QuestionResponse toResponse(Question question, CursorPagedResponse<AnswerItem> answers,
+                                              long answerCount, long views) {
+        return new QuestionResponse(question.getId(), question.getTitle(), question.getText(), question.getAuthor(),
+                answers.data(), answerCount, answers.nextCursor(), question.getCreatedAt(), views);
+    }
+
+    public static PageCursor toCursor(QuestionHeader header) {
+        return new PageCursor(header.createdAt(), header.id());
+    }
+
+    public static RankCursor toRankCursor(QuestionSearchMatch match) {
+        return new RankCursor(match.getRank(), match.getId());
+    }
+
+    /**
+     * Folds rows ordered by question into one export per question,
+     * only the answers of the current question are kept in memory.
+     */
+    public static void toExports(Stream<QuestionExportRow> rows, Consumer<QuestionExport> sink) {
+        Iterator<QuestionExportRow> iterator = rows.iterator();
+        QuestionExportRow question = null;
+        List<AnswerItem> answers = new ArrayList<>();
+        while (iterator.hasNext()) {
+            QuestionExportRow row = iterator.next();
+            if (question != null && !question.id().equals(row.id())) {
+                sink.accept(toExport(question, answers));
+                answers = new ArrayList<>();
+            }
+            question = row;
+            if (row.answerId() != null) {
+                answers.add(new AnswerItem(row.answerId(), row.answerText(), row.answerAuthor(), row.answerCreatedAt(),
+                        row.answerScore()));
+            }
+        }
+        if (question != null) {
+            sink.accept(toExport(question, answers));
+        }
     }
 
-    public static QuestionResponse toResponse(Question question) {
-        return new QuestionResponse(question.getId(), question.getTitle(), question.getText(), question.getAuthor(), question.getAnswers(), question.getCreatedAt());
+    private static QuestionExport toExport(QuestionExportRow row, List<AnswerItem> answers) {
+        return new QuestionExport(row.id(), row.title(), row.text(), row.author(), row.createdAt(), answers);
     }
 }
@@ -1,19 +1,117 @@
 package com.questionanswer.questions.repository;
 
+import com.questionanswer.questions.dto.AnswerItem;
+import com.questionanswer.questions.dto.AnswerResponse;
+import com.questionanswer.questions.dto.InsertedAnswer;
 import com.questionanswer.questions.entity.Answer;
-import com.questionanswer.questions.entity.Question;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.ListPagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface AnswerRepository extends JpaRepository<Answer, Long>, ListPagingAndSortingRepository<Answer, Long> {
-    Page<Answer> findAllByAuthorOrderByCreatedAtDesc(UUID author, Pageable pageable);
+    /**
+     * Builds {@link AnswerResponse} rows with a single join that reads only the question header columns.
+     */
+    String SELECT_RESPONSE = """
+            select new com.questionanswer.questions.dto.AnswerResponse(
+                a.id, a.text, a.author, a.createdAt,
+                q.id, q.title, concat(left(q.text, 120), '...'), q.author, q.createdAt, q.views, q.answerCount)
+            from Answer a join a.question q
+            """;
 
-    boolean existsByQuestionIdAndAuthor(Long questionId, UUID author);
+    String SELECT_ITEM = """
+            select new com.questionanswer.questions.dto.AnswerItem(a.id, a.text, a.author, a.createdAt, a.score)
+            from Answer a
+            """;
+
+    long countByAuthor(UUID author);
+
+    @Query(SELECT_RESPONSE + "where a.author = :author")
+    Slice<AnswerResponse> findResponsesByAuthor(UUID author, Pageable pageable);
+
+    @Query(SELECT_RESPONSE + """
+            where a.author = :author
+            order by a.createdAt desc, a.id desc""")
+    List<AnswerResponse> findFirstResponsesByAuthor(UUID author, Pageable pageable);
+
+    @Query(SELECT_RESPONSE + """
+            where a.author = :author
+              and a.createdAt <= :createdAt and (a.createdAt < :createdAt or a.id < :id)
+            order by a.createdAt desc, a.id desc""")
+    List<AnswerResponse> findResponsesByAuthorBeforeCursor(UUID author, Instant createdAt, Long id, Pageable pageable);
+
+    @Query(SELECT_ITEM + """
+            where a.question.id = :questionId
+            order by a.createdAt, a.id""")
+    List<AnswerItem> findFirstItemsByQuestion(Long questionId, Pageable pageable);
+
+    @Query(SELECT_ITEM + """
+            where a.question.id = :questionId
+              and a.createdAt >= :createdAt and (a.createdAt > :createdAt or a.id > :id)
+            order by a.createdAt, a.id""")
+    List<AnswerItem> findItemsByQuestionAfterCursor(Long questionId, Instant createdAt, Long id, Pageable pageable);
+
+    @Query(SELECT_ITEM + """
+            where a.question.id = :questionId
+            order by a.score desc, a.id desc""")
+    List<AnswerItem> findFirstItemsByQuestionByScore(Long questionId, Pageable pageable);
+
+    @Query(SELECT_ITEM + """
+            where a.question.id = :questionId
+              and a.score <= :score and (a.score < :score or a.id < :id)
+            order by a.score desc, a.id desc""")
+    List<AnswerItem> findItemsByQuestionByScoreAfterCursor(Long questionId, long score, Long id, Pageable pageable);
+
+    long countByQuestionId(Long questionId);
+
+    /**
+     * Inserts the answer unless the author owns the question or has already answered it, in one statement.
+     * The ID comes from {@link com.questionanswer.questions.components.IdBlocks}, a {@code nextval} of the column
+     * default would use up a whole block of {@code answers_seq} per answer.
+     * The question is read in the same statement, so nothing is returned only when the question does not exist.
+     * The answer count and the version of the question are incremented by the same statement, together with the insert.
+     */
+    @Query(nativeQuery = true, value = """
+            with question as (
+                select id, author, title from questions where id = :questionId
+            ), inserted as (
+                insert into answers(id, text, question_id, author, created_at)
+                select :id, :text, question.id, :author, :createdAt from question
+                where question.author <> :author
+                on conflict (question_id, author) do nothing
+                returning id, question_id
+            ), counted as (
+                update questions set answer_count = answer_count + 1, version = version + 1
+                from inserted where questions.id = inserted.question_id
+            )
+            select inserted.id as "id", question.author as "questionAuthor", question.title as "questionTitle"
+            from question left join inserted on true""")
+    Optional<InsertedAnswer> insertIfAbsent(Long id, Long questionId, String text, UUID author, Instant createdAt);
+
+    /**
+     * Deletes the answer and decrements the answer count of its question in one statement.
+     * The persistence context is cleared afterwards, so no deleted answer or stale count stays managed.
+     *
+     * @return the number of deleted answers
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(nativeQuery = true, value = """
+            with deleted as (
+                delete from answers where id = :id
+                returning question_id
+            )
+            update questions set answer_count = answer_count - 1
+            from deleted where questions.id = deleted.question_id""")
+    int deleteCounted(Long id);
 
 }
@@ -0,0 +1,19 @@
+package com.questionanswer.questions.repository;
+
+import com.questionanswer.questions.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest events for the current transaction. Rows locked by other replicas are skipped,
+     * so several relays drain the outbox concurrently without publishing an event twice.
+     */
+    @Query(value = "select * from outbox_events order by id limit :limit for update skip locked", nativeQuery = true)
+    List<OutboxEvent> lockBatch(int limit);
+}
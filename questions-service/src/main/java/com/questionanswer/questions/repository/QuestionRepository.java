@@ -1,15 +1,195 @@
 package com.questionanswer.questions.repository;
 
+import com.questionanswer.questions.dto.QuestionContent;
+import com.questionanswer.questions.dto.QuestionExportRow;
+import com.questionanswer.questions.dto.QuestionHeader;
+import com.questionanswer.questions.dto.QuestionSearchMatch;
+import com.questionanswer.questions.dto.QuestionSignature;
+import com.questionanswer.questions.dto.QuestionSuggestion;
 import com.questionanswer.questions.entity.Question;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.ListPagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, Long>, ListPagingAndSortingRepository<Question, Long> {
-    Page<Question> findAllByAuthorOrderByCreatedAtDesc(UUID author, Pageable pageable);
+    /**
+     * Builds {@link QuestionHeader} rows directly in the query, so listings neither load the full text
+     * nor create managed entities.
+     */
+    String SELECT_HEADER = """
+            select new com.questionanswer.questions.dto.QuestionHeader(
+                q.id, q.title, concat(left(q.text, 120), '...'), q.author, q.createdAt, q.views, q.answerCount)
+            from Question q
+            """;
+
+    /**
+     * Questions joined with their answers, ordered so that the rows of a question are adjacent.
+     */
+    String SELECT_EXPORT_ROW = """
+            select new com.questionanswer.questions.dto.QuestionExportRow(
+                q.id, q.title, q.text, q.author, q.createdAt, a.id, a.text, a.author, a.createdAt, a.score)
+            from Question q left join q.answers a
+            """;
+
+    /**
+     * Ranks the questions matching a search, a question matches by its title and text or by the text of any of its
+     * answers and its rank is the sum of these matches. Both sides are found through the GIN indexes of
+     * {@code search_vector}, the query is parsed with {@code websearch_to_tsquery}, so quotes, {@code or} and
+     * {@code -} work as users expect and malformed input never fails.
+     */
+    String SEARCH_RANKED = """
+            with query as (
+                select websearch_to_tsquery('english', :query) as query
+            ), ranked as (
+                select m.id, cast(sum(m.rank) as real) as rank
+                from (
+                    select q.id, ts_rank_cd(q.search_vector, query.query) as rank
+                    from questions q, query
+                    where q.search_vector @@ query.query
+                    union all
+                    select a.question_id, ts_rank_cd(a.search_vector, query.query)
+                    from answers a, query
+                    where a.search_vector @@ query.query
+                ) m
+                group by m.id
+            )
+            select page.id as "id", page.rank as "rank",
+                ts_headline('english', q.title, query.query,
+                    'StartSel=<mark>, StopSel=</mark>, HighlightAll=true') as "title",
+                ts_headline('english', q.text, query.query,
+                    'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MinWords=5, MaxWords=20') as "snippet"
+            from (
+                select id, rank from ranked
+            """;
+
+    /**
+     * Highlights only the rows of the page, {@code ts_headline} parses the whole text and is the expensive part.
+     */
+    String SEARCH_PAGE = """
+                order by rank desc, id desc
+                limit :limit
+            ) page
+            join questions q on q.id = page.id
+            cross join query
+            order by page.rank desc, page.id desc""";
+
+    /**
+     * Read through a server-side cursor, PostgreSQL only uses one inside a transaction and with a fetch size.
+     */
+    String EXPORT_FETCH_SIZE = "500";
+
+    /**
+     * Compares to the literal 0, with a bound parameter a generic plan could not use the partial index
+     * {@code questions_unanswered_created_at_id_idx}.
+     */
+    String UNANSWERED = "where q.answerCount = 0 ";
+
+    long countByAuthor(UUID author);
+
+    /**
+     * Increments the version in the database, so concurrent changes of the same question never produce
+     * equal versions. Pending changes are flushed first. The persistence context is kept, a managed question
+     * still holds the version it was loaded with, which is never written back.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Question q set q.version = q.version + 1 where q.id = :id")
+    int incrementVersion(Long id);
+
+    @Query(SELECT_HEADER)
+    Slice<QuestionHeader> findHeaders(Pageable pageable);
+
+    @Query(SELECT_HEADER + "where q.author = :author")
+    Slice<QuestionHeader> findHeadersByAuthor(UUID author, Pageable pageable);
+
+    @Query(SELECT_HEADER + UNANSWERED)
+    Slice<QuestionHeader> findUnansweredHeaders(Pageable pageable);
+
+    @Query(SELECT_HEADER + UNANSWERED + "order by q.createdAt desc, q.id desc")
+    List<QuestionHeader> findFirstUnansweredHeaders(Pageable pageable);
+
+    @Query(SELECT_HEADER + UNANSWERED + """
+              and q.createdAt <= :createdAt and (q.createdAt < :createdAt or q.id < :id)
+            order by q.createdAt desc, q.id desc""")
+    List<QuestionHeader> findUnansweredHeadersBeforeCursor(Instant createdAt, Long id, Pageable pageable);
+
+    @Query("select count(q) from Question q " + UNANSWERED)
+    long countUnanswered();
+
+    @Query(SELECT_HEADER + "where q.id in :ids")
+    List<QuestionHeader> findHeadersByIdIn(Collection<Long> ids);
+
+    @Query(SELECT_HEADER + "order by q.createdAt desc, q.id desc")
+    List<QuestionHeader> findFirstHeaders(Pageable pageable);
+
+    @Query(SELECT_HEADER + """
+            where q.createdAt <= :createdAt and (q.createdAt < :createdAt or q.id < :id)
+            order by q.createdAt desc, q.id desc""")
+    List<QuestionHeader> findHeadersBeforeCursor(Instant createdAt, Long id, Pageable pageable);
+
+    @Query(SELECT_HEADER + """
+            where q.author = :author
+            order by q.createdAt desc, q.id desc""")
+    List<QuestionHeader> findFirstHeadersByAuthor(UUID author, Pageable pageable);
+
+    @Query(SELECT_HEADER + """
+            where q.author = :author
+              and q.createdAt <= :createdAt and (q.createdAt < :createdAt or q.id < :id)
+            order by q.createdAt desc, q.id desc""")
+    List<QuestionHeader> findHeadersByAuthorBeforeCursor(UUID author, Instant createdAt, Long id, Pageable pageable);
+
+    @Query(nativeQuery = true, value = SEARCH_RANKED + SEARCH_PAGE)
+    List<QuestionSearchMatch> findFirstSearchMatches(String query, int limit);
+
+    @Query(nativeQuery = true, value = SEARCH_RANKED + """
+                where rank <= :rank and (rank < :rank or id < :id)
+            """ + SEARCH_PAGE)
+    List<QuestionSearchMatch> findSearchMatchesAfterCursor(String query, float rank, Long id, int limit);
+
+    /**
+     * Reads the questions without a signature after the given ID through the partial index
+     * {@code questions_minhash_missing_id_idx}, without loading entities.
+     */
+    @Query("""
+            select new com.questionanswer.questions.dto.QuestionContent(q.id, q.title, q.text, q.version)
+            from Question q where q.minhash is null and q.id > :afterId order by q.id
+            """)
+    List<QuestionContent> findUnsignedContents(long afterId, Pageable pageable);
+
+    @Query("select new com.questionanswer.questions.dto.QuestionSignature(q.id, q.minhash) from Question q where q.id in :ids")
+    List<QuestionSignature> findSignaturesByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("select new com.questionanswer.questions.dto.QuestionSignature(q.id, q.minhash) from Question q where q.minhash is not null")
+    Stream<QuestionSignature> streamSignatures();
+
+    @Query("select new com.questionanswer.questions.dto.QuestionSuggestion(q.id, q.title) from Question q where q.id in :ids order by q.createdAt, q.id")
+    List<QuestionSuggestion> findTitlesByIdIn(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("select new com.questionanswer.questions.dto.QuestionSuggestion(q.id, q.title) from Question q order by q.createdAt, q.id")
+    Stream<QuestionSuggestion> streamTitles();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SELECT_EXPORT_ROW + "order by q.id, a.id")
+    Stream<QuestionExportRow> streamExportRows();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SELECT_EXPORT_ROW + """
+            where q.author = :author
+            order by q.id, a.id""")
+    Stream<QuestionExportRow> streamExportRowsByAuthor(UUID author);
 }
@@ -0,0 +1,55 @@
+package com.questionanswer.questions.repository;
+
+import com.questionanswer.questions.entity.Vote;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface VoteRepository extends JpaRepository<Vote, Vote.Key> {
+
+    /**
+     * Reads the current vote and locks its row, so concurrent votes of the same user are applied one by one.
+     */
+    @Query(nativeQuery = true, value = """
+            select cast(value as integer) from votes
+            where answer_id = :answerId and voter = :voter
+            for update""")
+    Optional<Integer> findValueForUpdate(Long answerId, UUID voter);
+
+    /**
+     * Inserts the vote unless the user has already voted or the answer does not exist.
+     *
+     * @return {@code 1} if the vote was inserted, {@code 0} otherwise
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into votes(answer_id, voter, value)
+            select :answerId, :voter, :value
+            where exists (select 1 from answers where id = :answerId)
+            on conflict (answer_id, voter) do nothing""")
+    int insertIfAbsent(Long answerId, UUID voter, int value);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            update votes set value = :value, created_at = current_timestamp
+            where answer_id = :answerId and voter = :voter""")
+    int updateValue(Long answerId, UUID voter, int value);
+
+    /**
+     * Deletes the vote in one statement.
+     *
+     * @return the value of the deleted vote or empty if the user has not voted
+     */
+    @Query(nativeQuery = true, value = """
+            with deleted as (
+                delete from votes where answer_id = :answerId and voter = :voter
+                returning value
+            )
+            select cast(value as integer) from deleted""")
+    Optional<Integer> deleteReturningValue(Long answerId, UUID voter);
+}
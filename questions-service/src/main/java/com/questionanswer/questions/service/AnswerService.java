@@ -2,6 +2,8 @@ package com.questionanswer.questions.service;
 
 
 import com.questionanswer.questions.dto.AnswerResponse;
+import com.questionanswer.questions.dto.CursorPagedResponse;
+import com.questionanswer.questions.dto.PageCursor;
 import com.questionanswer.questions.dto.PagedResponse;
 import com.questionanswer.questions.entity.Answer;
 import org.springframework.data.domain.Pageable;
@@ -12,11 +14,15 @@ import java.util.UUID;
 
 @Service
 public interface AnswerService {
-    PagedResponse<AnswerResponse> getAnswersByAuthor(UUID authorId, Pageable pageable);
+    PagedResponse<AnswerResponse> getAnswersByAuthor(UUID authorId, Pageable pageable, boolean withTotal);
+
+    CursorPagedResponse<AnswerResponse> getAnswersByAuthor(UUID authorId, PageCursor cursor, int size);
 
     Answer createAnswer(Long questionId, String answerText, JwtAuthenticationToken accessToken);
 
     Answer createAnswerWithEvent(Long questionId, String answerText, JwtAuthenticationToken accessToken);
 
     void deleteAnswer(Long id, JwtAuthenticationToken accessToken);
+
+    int vote(Long answerId, int value, JwtAuthenticationToken accessToken);
 }
@@ -7,7 +7,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public interface QuestionService {
@@ -16,12 +18,48 @@ public interface QuestionService {
 
     QuestionResponse getQuestionWithAnswers(Long id);
 
-    PagedResponse<QuestionHeader> getQuestions(Pageable pageable);
+    QuestionResponse getQuestionWithTopAnswers(Long id);
 
-    PagedResponse<QuestionHeader> getQuestionsByAuthor(UUID authorId, Pageable pageable);
+    long getQuestionVersion(Long id);
+
+    String getListingVersion();
+
+    void recordView(Long id);
+
+    CursorPagedResponse<AnswerItem> getAnswers(Long questionId, PageCursor cursor, int size);
+
+    CursorPagedResponse<AnswerItem> getAnswersByScore(Long questionId, ScoreCursor cursor, int size);
+
+    PagedResponse<QuestionHeader> getQuestions(Pageable pageable, boolean withTotal);
+
+    PagedResponse<QuestionHeader> getQuestionsByAuthor(UUID authorId, Pageable pageable, boolean withTotal);
+
+    PagedResponse<QuestionHeader> getHotQuestions(UUID authorId, Pageable pageable);
+
+    PagedResponse<QuestionHeader> getUnansweredQuestions(Pageable pageable, boolean withTotal);
+
+    CursorPagedResponse<QuestionHeader> getUnansweredQuestions(PageCursor cursor, int size);
+
+    CursorPagedResponse<QuestionHeader> getQuestions(PageCursor cursor, int size);
+
+    QuestionBatchResponse getQuestionsByIds(List<Long> ids);
+
+    CursorPagedResponse<QuestionSearchHit> searchQuestions(String query, RankCursor cursor, int size);
+
+    List<DuplicateCandidate> getPossibleDuplicates(CreateQuestionRequest request, int limit);
+
+    List<DuplicateCandidate> getPossibleDuplicates(Long id, int limit);
+
+    CursorPagedResponse<QuestionHeader> getQuestionsByAuthor(UUID authorId, PageCursor cursor, int size);
+
+    void checkExportAccess(UUID authorId, JwtAuthenticationToken accessToken);
+
+    void exportQuestions(UUID authorId, Consumer<QuestionExport> sink);
 
     Question createQuestion(CreateQuestionRequest request, JwtAuthenticationToken accessToken);
 
+    List<Question> createQuestions(List<CreateQuestionRequest> requests, JwtAuthenticationToken accessToken);
+
     Question updateQuestion(Long id, UpdateQuestionRequest request, JwtAuthenticationToken accessToken);
 
     void deleteQuestion(Long id, JwtAuthenticationToken accessToken);
@@ -1,13 +1,21 @@
 package com.questionanswer.questions.service.impl;
 
 import com.questionanswer.questions.components.EventPublisher;
+import com.questionanswer.questions.components.IdBlocks;
 import com.questionanswer.questions.components.SecurityUtils;
+import com.questionanswer.questions.components.TotalCountProvider;
 import com.questionanswer.questions.dto.AnswerResponse;
+import com.questionanswer.questions.dto.CursorPagedResponse;
+import com.questionanswer.questions.dto.InsertedAnswer;
+import com.questionanswer.questions.dto.PageCursor;
 import com.questionanswer.questions.dto.PagedResponse;
 import com.questionanswer.questions.entity.Answer;
 import com.questionanswer.questions.entity.NotificationEventType;
 import com.questionanswer.questions.entity.Question;
+import com.questionanswer.questions.events.AnswerChangedEvent;
 import com.questionanswer.questions.events.AnswerCreatedEvent;
+import com.questionanswer.questions.events.AnswerVotedEvent;
+import com.questionanswer.questions.events.ChangeType;
 import com.questionanswer.questions.exception.AnswerAlreadyExistsException;
 import com.questionanswer.questions.exception.AnswerNotFoundException;
 import com.questionanswer.questions.exception.AnswerOwnQuestionException;
@@ -15,20 +23,25 @@ import com.questionanswer.questions.exception.QuestionNotFoundException;
 import com.questionanswer.questions.mapper.AnswerMapper;
 import com.questionanswer.questions.mapper.PageMapper;
 import com.questionanswer.questions.repository.AnswerRepository;
+import com.questionanswer.questions.repository.VoteRepository;
 import com.questionanswer.questions.service.AnswerService;
-import com.questionanswer.questions.service.QuestionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Service implementation for managing answers to questions.
@@ -41,10 +54,15 @@ import java.util.UUID;
 @Service
 @RequiredArgsConstructor
 public class AnswerServiceImpl implements AnswerService {
+    private static final String ANSWERS_SEQUENCE = "answers_seq";
+
     private final AnswerRepository answerRepository;
-    private final QuestionService questionService;
+    private final VoteRepository voteRepository;
     private final EventPublisher eventPublisher;
     private final SecurityUtils securityUtils;
+    private final TotalCountProvider totalCountProvider;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final IdBlocks idBlocks;
 
     /**
      * Retrieves a paginated list of answers authored by a specific user.
@@ -52,19 +70,43 @@ public class AnswerServiceImpl implements AnswerService {
      *
      * @param authorId the UUID of the author whose answers to retrieve
      * @param pageable pagination information (page number, size, sorting)
+     * @param withTotal whether to compute total pages and items
      * @return {@link PagedResponse} containing {@link AnswerResponse} objects
      */
     @Transactional(readOnly = true)
     @Override
-    public PagedResponse<AnswerResponse> getAnswersByAuthor(UUID authorId, Pageable pageable) {
-        Page<Answer> page = answerRepository.findAllByAuthorOrderByCreatedAtDesc(authorId, pageable);
-        return PageMapper.toPagedResponse(page, AnswerMapper::toResponse);
+    public PagedResponse<AnswerResponse> getAnswersByAuthor(UUID authorId, Pageable pageable, boolean withTotal) {
+        Slice<AnswerResponse> slice = answerRepository.findResponsesByAuthor(authorId, pageable);
+        if (!withTotal) {
+            return PageMapper.toSlicedResponse(slice, Function.identity());
+        }
+        return PageMapper.toPagedResponse(slice, () -> totalCountProvider.countAnswersByAuthor(authorId),
+                Function.identity());
+    }
+
+    /**
+     * Retrieves a keyset page of answers authored by a specific user.
+     * Answers are ordered by creation date and ID in descending order.
+     *
+     * @param authorId the UUID of the author whose answers to retrieve
+     * @param cursor position of the last answer of the previous page, {@code null} for the first page
+     * @param size maximum number of answers to return
+     * @return {@link CursorPagedResponse} containing {@link AnswerResponse} objects
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPagedResponse<AnswerResponse> getAnswersByAuthor(UUID authorId, PageCursor cursor, int size) {
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<AnswerResponse> rows = cursor == null
+                ? answerRepository.findFirstResponsesByAuthor(authorId, limit)
+                : answerRepository.findResponsesByAuthorBeforeCursor(authorId, cursor.createdAt(), cursor.id(), limit);
+        return PageMapper.toCursorPagedResponse(rows, size, AnswerMapper::toCursor, Function.identity());
     }
 
     /**
      * Creates a new answer for the specified question.
-     * Validates that the user is not answering their own question and
-     * that the user hasn't already answered this question.
+     * The user must not answer their own question or answer the same question twice.
+     * Both rules are checked by the insert itself, so concurrent requests can not create duplicates.
      *
      * @param questionId the ID of the question to answer
      * @param answerText the content of the answer
@@ -77,34 +119,60 @@ public class AnswerServiceImpl implements AnswerService {
     @Transactional
     @Override
     public Answer createAnswer(Long questionId, String answerText, JwtAuthenticationToken accessToken) {
-        Question question = questionService.getQuestion(questionId);
         UUID userId = securityUtils.getCurrentUserId(accessToken);
+        Instant createdAt = Instant.now();
 
-        if (question.getAuthor().equals(userId)) {
-            log.warn("User {} attempted to answer their own question {}", userId, questionId);
-            throw new AnswerOwnQuestionException("You can not answer to your own question");
-        }
+        Long id = idBlocks.next(ANSWERS_SEQUENCE);
+        InsertedAnswer inserted = answerRepository.insertIfAbsent(id, questionId, answerText, userId, createdAt)
+                .orElseThrow(() -> {
+                    log.warn("Question with ID: {} not found", questionId);
+                    return QuestionNotFoundException.withId(questionId);
+                });
 
-        if (answerRepository.existsByQuestionIdAndAuthor(questionId, userId)) {
+        if (inserted.getId() == null) {
+            if (inserted.getQuestionAuthor().equals(userId)) {
+                log.warn("User {} attempted to answer their own question {}", userId, questionId);
+                throw new AnswerOwnQuestionException("You can not answer to your own question");
+            }
             log.warn("User {} attempted to answer question {} multiple times", userId, questionId);
             throw AnswerAlreadyExistsException.withId(questionId);
         }
 
+        Question question = Question.builder()
+                .id(questionId)
+                .title(inserted.getQuestionTitle())
+                .author(inserted.getQuestionAuthor())
+                .build();
         Answer answer = Answer.builder()
+                .id(inserted.getId())
                 .text(answerText)
                 .question(question)
-                .author(UUID.fromString(accessToken.getName()))
-                .createdAt(Instant.now())
+                .author(userId)
+                .createdAt(createdAt)
                 .build();
 
-        return answerRepository.save(answer);
+        applicationEventPublisher.publishEvent(
+                new AnswerChangedEvent(answer.getId(), questionId, answer.getAuthor(), ChangeType.CREATED));
+        return answer;
     }
 
+    /**
+     * Creates a new answer and notifies the question author.
+     * The notification is written to the outbox in the same transaction as the answer.
+     *
+     * @param questionId the ID of the question to answer
+     * @param answerText the content of the answer
+     * @param accessToken JWT authentication token containing user information
+     * @return the created {@link Answer} entity
+     * @throws AnswerOwnQuestionException if user attempts to answer their own question
+     * @throws AnswerAlreadyExistsException if user has already answered this question
+     * @throws QuestionNotFoundException if the specified question doesn't exist
+     */
+    @Transactional
     @Override
     public Answer createAnswerWithEvent(Long questionId, String answerText, JwtAuthenticationToken accessToken) {
         Answer answer = createAnswer(questionId, answerText, accessToken);
         eventPublisher.publishAnswerCreated(answer);
-        // TODO Транзакция
         return answer;
     }
 
@@ -133,6 +201,65 @@ public class AnswerServiceImpl implements AnswerService {
             throw new AccessDeniedException("You do not have access to this answer");
         }
 
-        answerRepository.delete(answer);
+        answerRepository.deleteCounted(id);
+        applicationEventPublisher.publishEvent(new AnswerChangedEvent(
+                answer.getId(), answer.getQuestion().getId(), answer.getAuthor(), ChangeType.DELETED));
+    }
+
+    /**
+     * Casts, changes or retracts the vote of the user on an answer.
+     * Only the row of the vote is written, the score of the answer is updated in batches by
+     * {@link com.questionanswer.questions.components.AnswerScoreCounter} after commit.
+     *
+     * @param answerId the ID of the answer to vote on
+     * @param value {@code 1} to vote up, {@code -1} to vote down, {@code 0} to retract the vote
+     * @param accessToken JWT authentication token containing user information
+     * @return the change of the score caused by the vote
+     * @throws AnswerNotFoundException if no answer exists with the specified ID
+     */
+    @Override
+    @Transactional
+    public int vote(Long answerId, int value, JwtAuthenticationToken accessToken) {
+        UUID voter = securityUtils.getCurrentUserId(accessToken);
+
+        int previous = value == 0 ? retractVote(answerId, voter) : castVote(answerId, voter, value);
+        int delta = value - previous;
+        if (delta != 0) {
+            applicationEventPublisher.publishEvent(new AnswerVotedEvent(answerId, delta));
+        }
+        return delta;
+    }
+
+    /**
+     * @return the previous value of the vote, {@code 0} if the user has not voted
+     */
+    private int castVote(Long answerId, UUID voter, int value) {
+        // A second attempt only happens when a concurrent request of the same user inserted the vote first
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Optional<Integer> previous = voteRepository.findValueForUpdate(answerId, voter);
+            if (previous.isPresent()) {
+                if (previous.get() != value) {
+                    voteRepository.updateValue(answerId, voter, value);
+                }
+                return previous.get();
+            }
+            if (voteRepository.insertIfAbsent(answerId, voter, value) == 1) {
+                return 0;
+            }
+            if (attempt == 0 && !answerRepository.existsById(answerId)) {
+                break;
+            }
+        }
+        log.warn("Answer with ID: {} not found for voting", answerId);
+        throw AnswerNotFoundException.withId(answerId);
+    }
+
+    private int retractVote(Long answerId, UUID voter) {
+        Optional<Integer> previous = voteRepository.deleteReturningValue(answerId, voter);
+        if (previous.isEmpty() && !answerRepository.existsById(answerId)) {
+            log.warn("Answer with ID: {} not found for voting", answerId);
+            throw AnswerNotFoundException.withId(answerId);
+        }
+        return previous.orElse(0);
     }
-}
\ No newline at end of file
+}
@@ -1,25 +1,50 @@
 package com.questionanswer.questions.service.impl;
 
+import com.questionanswer.questions.components.AnswerScoreCounter;
+import com.questionanswer.questions.components.HotQuestionFeed;
+import com.questionanswer.questions.components.MinHash;
+import com.questionanswer.questions.components.QuestionDuplicateIndex;
+import com.questionanswer.questions.components.QuestionCache;
+import com.questionanswer.questions.components.QuestionListingVersion;
+import com.questionanswer.questions.components.QuestionViewCounter;
 import com.questionanswer.questions.components.SecurityUtils;
+import com.questionanswer.questions.components.TotalCountProvider;
 import com.questionanswer.questions.dto.*;
 import com.questionanswer.questions.entity.Question;
+import com.questionanswer.questions.events.ChangeType;
+import com.questionanswer.questions.events.QuestionChangedEvent;
+import com.questionanswer.questions.events.QuestionsCreatedEvent;
 import com.questionanswer.questions.exception.QuestionNotFoundException;
+import com.questionanswer.questions.mapper.AnswerMapper;
 import com.questionanswer.questions.mapper.PageMapper;
 import com.questionanswer.questions.mapper.QuestionMapper;
+import com.questionanswer.questions.repository.AnswerRepository;
 import com.questionanswer.questions.repository.QuestionRepository;
 import com.questionanswer.questions.service.QuestionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for managing questions.
@@ -33,27 +58,38 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class QuestionServiceImpl implements QuestionService {
+    private static final int DETAIL_ANSWERS_LIMIT = 20;
+
     private final QuestionRepository questionRepository;
+    private final AnswerRepository answerRepository;
+    private final QuestionCache questionCache;
+    private final QuestionListingVersion questionListingVersion;
+    private final QuestionViewCounter questionViewCounter;
+    private final QuestionDuplicateIndex questionDuplicateIndex;
+    private final HotQuestionFeed hotQuestionFeed;
+    private final AnswerScoreCounter answerScoreCounter;
     private final SecurityUtils securityUtils;
+    private final TotalCountProvider totalCountProvider;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
 
     /**
-     * Retrieves a question by its ID without initialize LazyCollection of answer.
+     * Retrieves a question by its ID through the {@link QuestionCache}.
+     * The returned entity is detached and its answers are not loaded.
      *
      * @param id the ID of the question to retrieve
-     * @return the {@link Question} entity
+     * @return the detached {@link Question} entity
      * @throws QuestionNotFoundException if no question exists with the specified ID
      */
     @Override
     public Question getQuestion(Long id) {
-        return questionRepository.findById(id).orElseThrow(() -> {
-            log.warn("Question with ID: {} not found", id);
-            return QuestionNotFoundException.withId(id);
-        });
+        return questionCache.get(id, questionRepository::findById).orElseThrow(() -> notFound(id));
     }
 
     /**
-     * Retrieves a question by its ID with all answers.
+     * Retrieves a question by its ID with the first {@value #DETAIL_ANSWERS_LIMIT} answers and the total answer count,
+     * so the response size does not grow with the popularity of the question.
+     * The view count includes the views not flushed to the database yet.
      *
      * @param id the ID of the question to retrieve
      * @return the {@link QuestionResponse} response
@@ -62,20 +98,114 @@ public class QuestionServiceImpl implements QuestionService {
     @Override
     public QuestionResponse getQuestionWithAnswers(Long id) {
         Question question = getQuestion(id);
-        return QuestionMapper.toResponse(question);
+        return toResponse(question,
+                answerRepository.findFirstItemsByQuestion(id, PageRequest.ofSize(DETAIL_ANSWERS_LIMIT + 1)),
+                AnswerMapper::toCursor);
+    }
+
+    /**
+     * Retrieves a question by its ID with the {@value #DETAIL_ANSWERS_LIMIT} answers of the highest score,
+     * the remaining answers continue from {@code answersCursor} in {@link #getAnswersByScore}.
+     *
+     * @param id the ID of the question to retrieve
+     * @return the {@link QuestionResponse} response
+     * @throws QuestionNotFoundException if no question exists with the specified ID
+     */
+    @Override
+    public QuestionResponse getQuestionWithTopAnswers(Long id) {
+        Question question = getQuestion(id);
+        return toResponse(question,
+                answerRepository.findFirstItemsByQuestionByScore(id, PageRequest.ofSize(DETAIL_ANSWERS_LIMIT + 1)),
+                AnswerMapper::toScoreCursor);
+    }
+
+    /**
+     * Returns the current version of the question, answered from the {@link QuestionCache} when possible.
+     * The version changes whenever the question is edited or its answers change.
+     *
+     * @param id the ID of the question
+     * @return the version of the question
+     * @throws QuestionNotFoundException if no question exists with the specified ID
+     */
+    @Override
+    public long getQuestionVersion(Long id) {
+        return getQuestion(id).getVersion();
+    }
+
+    /**
+     * Returns the version stamp of the question listings without touching the database.
+     *
+     * @return the current {@link QuestionListingVersion} stamp
+     */
+    @Override
+    public String getListingVersion() {
+        return questionListingVersion.current();
+    }
+
+    /**
+     * Counts a view of the question in memory, see {@link QuestionViewCounter}.
+     * Views do not change the version of the question, so they never invalidate its ETag.
+     *
+     * @param id the ID of the viewed question
+     */
+    @Override
+    public void recordView(Long id) {
+        questionViewCounter.record(id);
+    }
+
+    /**
+     * Retrieves a keyset page of answers to the question ordered by creation date and ID.
+     *
+     * @param questionId the ID of the question whose answers to retrieve
+     * @param cursor position of the last answer of the previous page, {@code null} for the first page
+     * @param size maximum number of answers to return
+     * @return {@link CursorPagedResponse} containing {@link AnswerItem} objects
+     * @throws QuestionNotFoundException if no question exists with the specified ID
+     */
+    @Override
+    public CursorPagedResponse<AnswerItem> getAnswers(Long questionId, PageCursor cursor, int size) {
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<AnswerItem> rows = cursor == null
+                ? answerRepository.findFirstItemsByQuestion(questionId, limit)
+                : answerRepository.findItemsByQuestionAfterCursor(questionId, cursor.createdAt(), cursor.id(), limit);
+        return toAnswerPage(questionId, rows, size, AnswerMapper::toCursor);
+    }
+
+    /**
+     * Retrieves a keyset page of answers to the question ordered by score and ID in descending order.
+     * Scores include the votes not flushed to the database yet, the order follows the flushed scores.
+     *
+     * @param questionId the ID of the question whose answers to retrieve
+     * @param cursor position of the last answer of the previous page, {@code null} for the first page
+     * @param size maximum number of answers to return
+     * @return {@link CursorPagedResponse} containing {@link AnswerItem} objects
+     * @throws QuestionNotFoundException if no question exists with the specified ID
+     */
+    @Override
+    public CursorPagedResponse<AnswerItem> getAnswersByScore(Long questionId, ScoreCursor cursor, int size) {
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<AnswerItem> rows = cursor == null
+                ? answerRepository.findFirstItemsByQuestionByScore(questionId, limit)
+                : answerRepository.findItemsByQuestionByScoreAfterCursor(questionId, cursor.score(), cursor.id(), limit);
+        return toAnswerPage(questionId, rows, size, AnswerMapper::toScoreCursor);
     }
 
 
     /**
      * Retrieves a paginated list of all questions.
+     * Totals come from the configured {@link TotalCountProvider} rather than a count query per request.
      *
      * @param pageable pagination information (page number, size, sorting)
+     * @param withTotal whether to compute total pages and items
      * @return {@link PagedResponse} containing {@link QuestionHeader} objects
      */
     @Override
-    public PagedResponse<QuestionHeader> getQuestions(Pageable pageable) {
-        Page<Question> page = questionRepository.findAll(pageable);
-        return PageMapper.toPagedResponse(page, QuestionMapper::toHeader);
+    public PagedResponse<QuestionHeader> getQuestions(Pageable pageable, boolean withTotal) {
+        Slice<QuestionHeader> slice = questionRepository.findHeaders(pageable);
+        if (!withTotal) {
+            return PageMapper.toSlicedResponse(slice, this::withPendingViews);
+        }
+        return PageMapper.toPagedResponse(slice, totalCountProvider::countQuestions, this::withPendingViews);
     }
 
     /**
@@ -84,13 +214,234 @@ public class QuestionServiceImpl implements QuestionService {
      *
      * @param authorId the UUID of the author whose questions to retrieve
      * @param pageable pagination information (page number, size, sorting)
+     * @param withTotal whether to compute total pages and items
+     * @return {@link PagedResponse} containing {@link QuestionHeader} objects
+     */
+    @Override
+    public PagedResponse<QuestionHeader> getQuestionsByAuthor(UUID authorId, Pageable pageable, boolean withTotal) {
+        Slice<QuestionHeader> slice = questionRepository.findHeadersByAuthor(authorId, pageable);
+        if (!withTotal) {
+            return PageMapper.toSlicedResponse(slice, this::withPendingViews);
+        }
+        return PageMapper.toPagedResponse(slice, () -> totalCountProvider.countQuestionsByAuthor(authorId),
+                this::withPendingViews);
+    }
+
+    /**
+     * Retrieves a page of the trending questions from the {@link HotQuestionFeed}, hottest first.
+     * Only the {@code questions.hot.top-size} hottest questions are listed, the feed is held in memory,
+     * so no transaction is started.
+     *
+     * @param authorId the UUID of the author whose questions to list, {@code null} for all authors
+     * @param pageable pagination information (page number and size)
+     * @return {@link PagedResponse} containing {@link QuestionHeader} objects
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PagedResponse<QuestionHeader> getHotQuestions(UUID authorId, Pageable pageable) {
+        List<QuestionHeader> hottest = hotQuestionFeed.hottest();
+        if (authorId != null) {
+            hottest = hottest.stream().filter(header -> header.author().equals(authorId)).toList();
+        }
+        int from = (int) Math.min(pageable.getOffset(), hottest.size());
+        int to = Math.min(from + pageable.getPageSize(), hottest.size());
+        return PageMapper.toPagedResponse(new PageImpl<>(hottest.subList(from, to), pageable, hottest.size()),
+                this::withPendingViews);
+    }
+
+    /**
+     * Retrieves a paginated list of questions without answers.
+     * The listing walks a partial index that only holds unanswered questions, totals come from the configured
+     * {@link TotalCountProvider}.
+     *
+     * @param pageable pagination information (page number, size, sorting)
+     * @param withTotal whether to compute total pages and items
      * @return {@link PagedResponse} containing {@link QuestionHeader} objects
      */
     @Override
-    public PagedResponse<QuestionHeader> getQuestionsByAuthor(UUID authorId, Pageable pageable) {
+    public PagedResponse<QuestionHeader> getUnansweredQuestions(Pageable pageable, boolean withTotal) {
+        Slice<QuestionHeader> slice = questionRepository.findUnansweredHeaders(pageable);
+        if (!withTotal) {
+            return PageMapper.toSlicedResponse(slice, this::withPendingViews);
+        }
+        return PageMapper.toPagedResponse(slice, totalCountProvider::countUnansweredQuestions, this::withPendingViews);
+    }
+
+    /**
+     * Retrieves a keyset page of questions without answers ordered by creation date and ID in descending order.
+     *
+     * @param cursor position of the last question of the previous page, {@code null} for the first page
+     * @param size maximum number of questions to return
+     * @return {@link CursorPagedResponse} containing {@link QuestionHeader} objects
+     */
+    @Override
+    public CursorPagedResponse<QuestionHeader> getUnansweredQuestions(PageCursor cursor, int size) {
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<QuestionHeader> rows = cursor == null
+                ? questionRepository.findFirstUnansweredHeaders(limit)
+                : questionRepository.findUnansweredHeadersBeforeCursor(cursor.createdAt(), cursor.id(), limit);
+        return PageMapper.toCursorPagedResponse(rows, size, QuestionMapper::toCursor, this::withPendingViews);
+    }
+
+    /**
+     * Retrieves a keyset page of all questions ordered by creation date and ID in descending order.
+     * Unlike offset pagination the cost of a page does not depend on how deep it is.
+     *
+     * @param cursor position of the last question of the previous page, {@code null} for the first page
+     * @param size maximum number of questions to return
+     * @return {@link CursorPagedResponse} containing {@link QuestionHeader} objects
+     */
+    @Override
+    public CursorPagedResponse<QuestionHeader> getQuestions(PageCursor cursor, int size) {
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<QuestionHeader> rows = cursor == null
+                ? questionRepository.findFirstHeaders(limit)
+                : questionRepository.findHeadersBeforeCursor(cursor.createdAt(), cursor.id(), limit);
+        return PageMapper.toCursorPagedResponse(rows, size, QuestionMapper::toCursor, this::withPendingViews);
+    }
+
+    /**
+     * Retrieves headers of several questions with a single query.
+     * Duplicate IDs are returned once, at the position of their first occurrence.
+     *
+     * @param ids the IDs of the questions to retrieve
+     * @return {@link QuestionBatchResponse} with the found questions in request order and the missing IDs
+     */
+    @Override
+    public QuestionBatchResponse getQuestionsByIds(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, QuestionHeader> found = questionRepository.findHeadersByIdIn(requested).stream()
+                .collect(Collectors.toMap(QuestionHeader::id, Function.identity()));
 
-        Page<Question> page = questionRepository.findAllByAuthorOrderByCreatedAtDesc(authorId, pageable);
-        return PageMapper.toPagedResponse(page, QuestionMapper::toHeader);
+        List<QuestionHeader> data = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            QuestionHeader header = found.get(id);
+            if (header != null) {
+                data.add(withPendingViews(header));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new QuestionBatchResponse(data, missingIds);
+    }
+
+    /**
+     * Searches questions by their title and text and by the text of their answers, best matches first.
+     * Matches are ranked by the database, the headers of the page are then read by ID like
+     * {@link #getQuestionsByIds(List)}. Questions deleted in between are left out of the page, which may leave it
+     * short, the next cursor still points past the last match ranked.
+     *
+     * @param query the search in web search syntax, e.g. {@code "connection pool" -hikari}
+     * @param cursor rank and ID of the last hit of the previous page, {@code null} for the first page
+     * @param size maximum number of hits to return
+     * @return {@link CursorPagedResponse} containing {@link QuestionSearchHit} objects
+     */
+    @Override
+    public CursorPagedResponse<QuestionSearchHit> searchQuestions(String query, RankCursor cursor, int size) {
+        List<QuestionSearchMatch> matches = cursor == null
+                ? questionRepository.findFirstSearchMatches(query, size + 1)
+                : questionRepository.findSearchMatchesAfterCursor(query, cursor.rank(), cursor.id(), size + 1);
+        if (matches.isEmpty()) {
+            return new CursorPagedResponse<>(List.of(), null, false);
+        }
+
+        CursorPagedResponse<QuestionSearchMatch> page =
+                PageMapper.toCursorPagedResponse(matches, size, QuestionMapper::toRankCursor, Function.identity());
+        Map<Long, QuestionHeader> headers = questionRepository.findHeadersByIdIn(
+                        page.data().stream().map(QuestionSearchMatch::getId).toList()).stream()
+                .collect(Collectors.toMap(QuestionHeader::id, Function.identity()));
+        List<QuestionSearchHit> hits = page.data().stream()
+                .filter(match -> headers.containsKey(match.getId()))
+                .map(match -> new QuestionSearchHit(
+                        withPendingViews(headers.get(match.getId())), match.getTitle(), match.getSnippet(),
+                        match.getRank()))
+                .toList();
+        return new CursorPagedResponse<>(hits, page.nextCursor(), page.hasNext());
+    }
+
+    /**
+     * Finds existing questions that may duplicate a question about to be created.
+     *
+     * @param request the title and text of the new question
+     * @param limit maximum number of candidates
+     * @return {@link DuplicateCandidate} objects, most similar first
+     */
+    @Override
+    public List<DuplicateCandidate> getPossibleDuplicates(CreateQuestionRequest request, int limit) {
+        int[] signature = MinHash.signature(request.title(), request.text());
+        return toDuplicates(questionDuplicateIndex.findSimilar(signature, null, limit));
+    }
+
+    /**
+     * Finds other questions that may duplicate an existing question.
+     *
+     * @param id the ID of the question
+     * @param limit maximum number of candidates
+     * @return {@link DuplicateCandidate} objects, most similar first
+     * @throws QuestionNotFoundException if no question exists with the specified ID
+     */
+    @Override
+    public List<DuplicateCandidate> getPossibleDuplicates(Long id, int limit) {
+        Question question = getQuestion(id);
+        int[] signature = MinHash.signature(question.getTitle(), question.getText());
+        return toDuplicates(questionDuplicateIndex.findSimilar(signature, id, limit));
+    }
+
+    /**
+     * Retrieves a keyset page of questions authored by a specific user.
+     * Questions are ordered by creation date and ID in descending order.
+     *
+     * @param authorId the UUID of the author whose questions to retrieve
+     * @param cursor position of the last question of the previous page, {@code null} for the first page
+     * @param size maximum number of questions to return
+     * @return {@link CursorPagedResponse} containing {@link QuestionHeader} objects
+     */
+    @Override
+    public CursorPagedResponse<QuestionHeader> getQuestionsByAuthor(UUID authorId, PageCursor cursor, int size) {
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<QuestionHeader> rows = cursor == null
+                ? questionRepository.findFirstHeadersByAuthor(authorId, limit)
+                : questionRepository.findHeadersByAuthorBeforeCursor(authorId, cursor.createdAt(), cursor.id(), limit);
+        return PageMapper.toCursorPagedResponse(rows, size, QuestionMapper::toCursor, this::withPendingViews);
+    }
+
+    /**
+     * Checks that the user may export the questions of an author, or all questions if no author is given.
+     * Only administrators can export all questions, users can export their own.
+     *
+     * @param authorId the UUID of the author whose questions to export, {@code null} for all questions
+     * @param accessToken JWT authentication token containing user information
+     * @throws AccessDeniedException if user lacks permission to export the questions
+     */
+    @Override
+    public void checkExportAccess(UUID authorId, JwtAuthenticationToken accessToken) {
+        boolean allowed = authorId == null
+                ? securityUtils.isAdmin(accessToken)
+                : securityUtils.isOwnerOrAdmin(accessToken, authorId);
+        if (!allowed) {
+            log.warn("Access denied for user {} attempting to export questions of {}", accessToken.getName(),
+                    authorId == null ? "all authors" : authorId);
+            throw new AccessDeniedException("You can not export these questions");
+        }
+    }
+
+    /**
+     * Streams questions with all of their answers, ordered by question ID.
+     * Rows are read through a database cursor and no entities are managed, so memory use does not grow
+     * with the number of questions. The sink is called inside the read transaction.
+     *
+     * @param authorId the UUID of the author whose questions to export, {@code null} for all questions
+     * @param sink receives the questions one by one
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public void exportQuestions(UUID authorId, Consumer<QuestionExport> sink) {
+        try (Stream<QuestionExportRow> rows = authorId == null
+                ? questionRepository.streamExportRows()
+                : questionRepository.streamExportRowsByAuthor(authorId)) {
+            QuestionMapper.toExports(rows, sink);
+        }
     }
 
     /**
@@ -105,14 +456,32 @@ public class QuestionServiceImpl implements QuestionService {
     public Question createQuestion(CreateQuestionRequest request, JwtAuthenticationToken accessToken) {
         UUID userId = securityUtils.getCurrentUserId(accessToken);
 
-        Question question = new Question();
-        question.setTitle(request.title());
-        question.setText(request.text());
-        question.setAuthor(userId);
-        question.setAnswers(new ArrayList<>());
-        question.setCreatedAt(Instant.now());
+        Question saved = questionRepository.save(newQuestion(request, userId, Instant.now()));
+        applicationEventPublisher.publishEvent(
+                new QuestionChangedEvent(saved.getId(), saved.getAuthor(), ChangeType.CREATED));
+        return saved;
+    }
+
+    /**
+     * Creates several questions in one transaction.
+     * Ids come from the pooled sequence, so the inserts are flushed as JDBC batches.
+     *
+     * @param requests the question creation data, in the order the questions are returned
+     * @param accessToken JWT authentication token containing user information
+     * @return the created {@link Question} entities
+     */
+    @Transactional
+    @Override
+    public List<Question> createQuestions(List<CreateQuestionRequest> requests, JwtAuthenticationToken accessToken) {
+        UUID userId = securityUtils.getCurrentUserId(accessToken);
+        Instant now = Instant.now();
 
-        return questionRepository.save(question);
+        List<Question> saved = questionRepository.saveAll(requests.stream()
+                .map(request -> newQuestion(request, userId, now))
+                .toList());
+        applicationEventPublisher.publishEvent(
+                new QuestionsCreatedEvent(saved.stream().map(Question::getId).toList(), userId));
+        return saved;
     }
 
     /**
@@ -129,7 +498,7 @@ public class QuestionServiceImpl implements QuestionService {
     @Transactional
     @Override
     public Question updateQuestion(Long id, UpdateQuestionRequest request, JwtAuthenticationToken accessToken) {
-        Question question = getQuestion(id);
+        Question question = questionRepository.findById(id).orElseThrow(() -> notFound(id));
 
         if (!securityUtils.isOwnerOrAdmin(accessToken, question.getAuthor())) {
             log.warn("Access denied for user {} attempting to update question {}", accessToken.getName(), id);
@@ -138,7 +507,10 @@ public class QuestionServiceImpl implements QuestionService {
 
         question.setTitle(request.title());
         question.setText(request.text());
+        question.setMinhash(MinHash.encode(MinHash.signature(request.title(), request.text())));
 
+        applicationEventPublisher.publishEvent(
+                new QuestionChangedEvent(question.getId(), question.getAuthor(), ChangeType.UPDATED));
         return question;
     }
 
@@ -154,7 +526,7 @@ public class QuestionServiceImpl implements QuestionService {
     @Transactional
     @Override
     public void deleteQuestion(Long id, JwtAuthenticationToken accessToken) {
-        Question question = getQuestion(id);
+        Question question = questionRepository.findById(id).orElseThrow(() -> notFound(id));
 
         if (!securityUtils.isOwnerOrAdmin(accessToken, question.getAuthor())) {
             log.warn("Access denied for user {} attempting to delete question {}", accessToken.getName(), id);
@@ -162,5 +534,63 @@ public class QuestionServiceImpl implements QuestionService {
         }
 
         questionRepository.delete(question);
+        applicationEventPublisher.publishEvent(
+                new QuestionChangedEvent(question.getId(), question.getAuthor(), ChangeType.DELETED));
+    }
+
+    private QuestionResponse toResponse(Question question, List<AnswerItem> rows,
+                                        Function<AnswerItem, ? extends KeysetCursor> cursorExtractor) {
+        CursorPagedResponse<AnswerItem> answers = PageMapper.toCursorPagedResponse(
+                rows, DETAIL_ANSWERS_LIMIT, cursorExtractor, this::withPendingScore);
+        long views = question.getViews() + questionViewCounter.pending(question.getId());
+        return QuestionMapper.toResponse(question, answers, question.getAnswerCount(), views);
+    }
+
+    private List<DuplicateCandidate> toDuplicates(List<QuestionDuplicateIndex.Match> matches) {
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, QuestionHeader> headers = questionRepository.findHeadersByIdIn(
+                        matches.stream().map(QuestionDuplicateIndex.Match::id).toList()).stream()
+                .collect(Collectors.toMap(QuestionHeader::id, Function.identity()));
+        return matches.stream()
+                .filter(match -> headers.containsKey(match.id()))
+                .map(match -> new DuplicateCandidate(withPendingViews(headers.get(match.id())), match.similarity()))
+                .toList();
+    }
+
+    private CursorPagedResponse<AnswerItem> toAnswerPage(Long questionId, List<AnswerItem> rows, int size,
+                                                         Function<AnswerItem, ? extends KeysetCursor> cursorExtractor) {
+        if (rows.isEmpty() && !questionRepository.existsById(questionId)) {
+            log.warn("Question with ID: {} not found", questionId);
+            throw QuestionNotFoundException.withId(questionId);
+        }
+        return PageMapper.toCursorPagedResponse(rows, size, cursorExtractor, this::withPendingScore);
+    }
+
+    private AnswerItem withPendingScore(AnswerItem answer) {
+        long pending = answerScoreCounter.pending(answer.id());
+        return pending == 0 ? answer : answer.withScore(answer.score() + pending);
+    }
+
+    private QuestionHeader withPendingViews(QuestionHeader header) {
+        long pending = questionViewCounter.pending(header.id());
+        return pending == 0 ? header : header.withViews(header.views() + pending);
+    }
+
+    private QuestionNotFoundException notFound(Long id) {
+        log.warn("Question with ID: {} not found", id);
+        return QuestionNotFoundException.withId(id);
+    }
+
+    private static Question newQuestion(CreateQuestionRequest request, UUID author, Instant createdAt) {
+        Question question = new Question();
+        question.setTitle(request.title());
+        question.setText(request.text());
+        question.setAuthor(author);
+        question.setAnswers(new ArrayList<>());
+        question.setCreatedAt(createdAt);
+        question.setMinhash(MinHash.encode(MinHash.signature(request.title(), request.text())));
+        return question;
     }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.questionanswer.questions.bulk;
+
+import com.questionanswer.questions.TestConstants;
+import com.questionanswer.questions.controller.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkLoaderIT extends BaseIntegrationTest {
+
+    @Autowired
+    private BulkLoader bulkLoader;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void load_NdjsonFiles_LoadsQuestionsAndSkipsRejectedAnswers() throws IOException {
+        Path questions = Files.writeString(directory.resolve("questions.ndjson"), """
+                {"id": 10, "title": "Imported question", "text": "Imported, with \\"quotes\\"", "author": "%s", "createdAt": "2024-01-01T00:00:00Z"}
+                {"id": 20, "title": "Second question", "text": "Imported text", "author": "%s"}
+                """.formatted(TestConstants.USER_ID_1, TestConstants.USER_ID_2));
+        Path answers = Files.writeString(directory.resolve("answers.ndjson"), """
+                {"questionId": 10, "text": "Answer", "author": "%1$s"}
+                {"questionId": 10, "text": "Same author again", "author": "%1$s"}
+                {"questionId": 10, "text": "Own question", "author": "%2$s"}
+                {"questionId": 20, "text": "Answer", "author": "%2$s"}
+                {"questionId": 99, "text": "Unknown question", "author": "%1$s"}
+                """.formatted(TestConstants.USER_ID_2, TestConstants.USER_ID_1));
+
+        BulkLoader.Result result = bulkLoader.load(questions, answers);
+
+        assertThat(result.questions()).isEqualTo(2);
+        assertThat(result.answers()).isEqualTo(1);
+        assertThat(result.skippedAnswers()).isEqualTo(4);
+        String text = jdbcClient.sql("select text from questions where title = 'Imported question'")
+                .query(String.class)
+                .single();
+        assertThat(text).isEqualTo("Imported, with \"quotes\"");
+        long answersToImported = jdbcClient.sql("""
+                        select count(*) from answers a join questions q on q.id = a.question_id
+                        where q.title = 'Imported question'""")
+                .query(Long.class)
+                .single();
+        assertThat(answersToImported).isEqualTo(1);
+    }
+
+    @Test
+    void load_CsvFileWithHeader_StreamsFileAsIs() throws IOException {
+        Path questions = Files.writeString(directory.resolve("questions.csv"), """
+                id,title,text,author,created_at
+                1,Csv question,"Text, with comma",%s,2024-01-01T00:00:00Z
+                """.formatted(TestConstants.USER_ID_1));
+
+        BulkLoader.Result result = bulkLoader.load(questions, null);
+
+        assertThat(result.questions()).isEqualTo(1);
+        assertThat(jdbcClient.sql("select text from questions where title = 'Csv question'")
+                .query(String.class)
+                .single()).isEqualTo("Text, with comma");
+    }
+
+    @Test
+    void load_CsvFileWithWrongHeader_Fails() throws IOException {
+        Path questions = Files.writeString(directory.resolve("questions.csv"), """
+                title,id,text,author,created_at
+                Csv question,1,Text,%s,2024-01-01T00:00:00Z
+                """.formatted(TestConstants.USER_ID_1));
+
+        assertThatThrownBy(() -> bulkLoader.load(questions, null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void load_SyntheticDataset_LoadsAllGeneratedRows() {
+        SyntheticDataset dataset = new SyntheticDataset(
+                new SyntheticDataset.Settings(500, 50, 1.1, 2, Duration.ofDays(30), 1), Instant.now());
+        long before = jdbcClient.sql("select count(*) from answers").query(Long.class).single();
+        long questionIdsBefore = nextval("questions_seq");
+        long answerIdsBefore = nextval("answers_seq");
+
+        BulkLoader.Result result = bulkLoader.load(dataset);
+
+        assertThat(result.questions()).isEqualTo(500);
+        assertThat(result.answers()).isPositive();
+        assertThat(result.skippedAnswers()).isZero();
+        assertThat(jdbcClient.sql("select count(*) from answers").query(Long.class).single())
+                .isEqualTo(before + result.answers());
+        // One nextval per block of 50 rows, a nextval per row would advance the sequences by 50 per row
+        assertThat(nextval("questions_seq") - questionIdsBefore).isEqualTo((500 / 50 + 1) * 50);
+        assertThat(nextval("answers_seq") - answerIdsBefore)
+                .isLessThanOrEqualTo((result.answers() / 50 + 2) * 50);
+    }
+
+    private long nextval(String sequence) {
+        return jdbcClient.sql("select nextval(?::regclass)")
+                .param(sequence)
+                .query(Long.class)
+                .single();
+    }
+}
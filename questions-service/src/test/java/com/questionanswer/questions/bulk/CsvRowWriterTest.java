@@ -0,0 +1,53 @@
+package com.questionanswer.questions.bulk;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CsvRowWriter}
+ */
+class CsvRowWriterTest {
+    private static final UUID AUTHOR = UUID.fromString("9bce5101-38d7-462d-a891-047f6c1b6129");
+
+    @Test
+    void write_PlainValues_WritesUnquotedRow() {
+        // Arrange
+        StringWriter out = new StringWriter();
+
+        // Act
+        new CsvRowWriter(out).write(new ImportedQuestion(1L, "Title", "Text", AUTHOR,
+                Instant.parse("2024-01-01T00:00:00Z")));
+
+        // Assert
+        assertThat(out).hasToString("1,Title,Text," + AUTHOR + ",2024-01-01T00:00:00Z\n");
+    }
+
+    @Test
+    void write_SpecialCharacters_QuotesAndEscapes() {
+        // Arrange
+        StringWriter out = new StringWriter();
+
+        // Act
+        new CsvRowWriter(out).write(new ImportedAnswer(1L, "Say \"hi\",\nthen \\.", AUTHOR, null));
+
+        // Assert
+        assertThat(out).hasToString("1,\"Say \"\"hi\"\",\nthen \\.\"," + AUTHOR + ",\n");
+    }
+
+    @Test
+    void write_EmptyString_DistinguishedFromNull() {
+        // Arrange
+        StringWriter out = new StringWriter();
+
+        // Act
+        new CsvRowWriter(out).write(new ImportedAnswer(null, "", AUTHOR, null));
+
+        // Assert
+        assertThat(out).hasToString(",\"\"," + AUTHOR + ",\n");
+    }
+}
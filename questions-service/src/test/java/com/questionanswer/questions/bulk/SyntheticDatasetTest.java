@@ -0,0 +1,87 @@
+package com.questionanswer.questions.bulk;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link SyntheticDataset}
+ */
+class SyntheticDatasetTest {
+    private static final Instant END = Instant.parse("2024-06-01T00:00:00Z");
+
+    @Test
+    void questions_SameSettings_GeneratesSameDataset() {
+        // Arrange
+        SyntheticDataset.Settings settings = settings(50, 1.1);
+
+        // Act
+        List<ImportedQuestion> first = questions(new SyntheticDataset(settings, END));
+        List<ImportedQuestion> second = questions(new SyntheticDataset(settings, END));
+
+        // Assert
+        assertThat(first).hasSize(50).isEqualTo(second);
+        assertThat(first).allSatisfy(question -> {
+            assertThat(question.title()).hasSizeBetween(10, 80);
+            assertThat(question.text()).hasSizeBetween(10, 300);
+            assertThat(question.createdAt()).isBetween(END.minus(Duration.ofDays(30)), END);
+        });
+    }
+
+    @Test
+    void answers_GeneratesOnlyAnswersTheApiWouldAccept() {
+        // Arrange
+        SyntheticDataset dataset = new SyntheticDataset(settings(20, 1.1), END);
+        Map<Long, ImportedQuestion> questions = new HashMap<>();
+        dataset.questions(question -> questions.put(question.id(), question));
+
+        // Act
+        List<ImportedAnswer> answers = new ArrayList<>();
+        dataset.answers(answers::add);
+
+        // Assert
+        Set<String> answeredBy = new HashSet<>();
+        assertThat(answers).isNotEmpty().allSatisfy(answer -> {
+            ImportedQuestion question = questions.get(answer.questionId());
+            assertThat(question).isNotNull();
+            assertThat(answer.author()).isNotEqualTo(question.author());
+            assertThat(answer.createdAt()).isBetween(question.createdAt(), END);
+            assertThat(answer.text()).hasSizeBetween(120, 1200);
+            assertThat(answeredBy.add(answer.questionId() + "/" + answer.author())).isTrue();
+        });
+    }
+
+    @Test
+    void questions_HighSkew_FewAuthorsWriteMostQuestions() {
+        // Arrange
+        SyntheticDataset dataset = new SyntheticDataset(settings(2000, 1.5), END);
+        Map<UUID, Integer> questionsByAuthor = new HashMap<>();
+
+        // Act
+        dataset.questions(question -> questionsByAuthor.merge(question.author(), 1, Integer::sum));
+
+        // Assert
+        int topAuthor = questionsByAuthor.values().stream().max(Integer::compare).orElseThrow();
+        assertThat(topAuthor).isGreaterThan(2000 / 10);
+    }
+
+    private static SyntheticDataset.Settings settings(long questions, double skew) {
+        return new SyntheticDataset.Settings(questions, 100, skew, 3, Duration.ofDays(30), 7);
+    }
+
+    private static List<ImportedQuestion> questions(SyntheticDataset dataset) {
+        List<ImportedQuestion> questions = new ArrayList<>();
+        dataset.questions(questions::add);
+        return questions;
+    }
+}
@@ -0,0 +1,100 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.TestConstants;
+import com.questionanswer.questions.events.AnswerChangedEvent;
+import com.questionanswer.questions.events.ChangeType;
+import com.questionanswer.questions.events.QuestionChangedEvent;
+import com.questionanswer.questions.repository.AnswerRepository;
+import com.questionanswer.questions.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link CachedTotalCountProvider}
+ */
+@ExtendWith(MockitoExtension.class)
+class CachedTotalCountProviderTest {
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private AnswerRepository answerRepository;
+
+    private CachedTotalCountProvider countProvider;
+
+    @BeforeEach
+    void setUp() {
+        countProvider = new CachedTotalCountProvider(questionRepository, answerRepository, Duration.ofMinutes(1), 100);
+    }
+
+    @Test
+    void countQuestions_CalledTwice_CountsOnce() {
+        // Arrange
+        when(questionRepository.count()).thenReturn(10L);
+
+        // Act
+        countProvider.countQuestions();
+        long result = countProvider.countQuestions();
+
+        // Assert
+        assertThat(result).isEqualTo(10);
+        verify(questionRepository, times(1)).count();
+    }
+
+    @Test
+    void countQuestions_QuestionCreated_CountsAgain() {
+        // Arrange
+        when(questionRepository.count()).thenReturn(10L, 11L);
+        countProvider.countQuestions();
+
+        // Act
+        countProvider.onQuestionChanged(new QuestionChangedEvent(
+                TestConstants.QUESTION_ID_1, TestConstants.USER_ID_1, ChangeType.CREATED));
+        long result = countProvider.countQuestions();
+
+        // Assert
+        assertThat(result).isEqualTo(11);
+        verify(questionRepository, times(2)).count();
+    }
+
+    @Test
+    void countUnansweredQuestions_QuestionAnswered_CountsAgain() {
+        // Arrange
+        when(questionRepository.countUnanswered()).thenReturn(5L, 4L);
+        countProvider.countUnansweredQuestions();
+
+        // Act
+        countProvider.onAnswerChanged(new AnswerChangedEvent(
+                TestConstants.ANSWER_ID_1, TestConstants.QUESTION_ID_1, TestConstants.USER_ID_2, ChangeType.CREATED));
+        long result = countProvider.countUnansweredQuestions();
+
+        // Assert
+        assertThat(result).isEqualTo(4);
+        verify(questionRepository, times(2)).countUnanswered();
+    }
+
+    @Test
+    void countAnswersByAuthor_OtherAuthorAnswered_KeepsCachedCount() {
+        // Arrange
+        when(answerRepository.countByAuthor(TestConstants.USER_ID_1)).thenReturn(3L);
+        countProvider.countAnswersByAuthor(TestConstants.USER_ID_1);
+
+        // Act
+        countProvider.onAnswerChanged(new AnswerChangedEvent(
+                TestConstants.ANSWER_ID_1, TestConstants.QUESTION_ID_1, TestConstants.USER_ID_2, ChangeType.CREATED));
+        long result = countProvider.countAnswersByAuthor(TestConstants.USER_ID_1);
+
+        // Assert
+        assertThat(result).isEqualTo(3);
+        verify(answerRepository, times(1)).countByAuthor(TestConstants.USER_ID_1);
+    }
+}
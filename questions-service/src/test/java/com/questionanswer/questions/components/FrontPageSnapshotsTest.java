@@ -0,0 +1,222 @@
+package com.questionanswer.questions.components;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.questionanswer.questions.TestConstants;
+import com.questionanswer.questions.dto.PagedResponse;
+import com.questionanswer.questions.dto.QuestionHeader;
+import com.questionanswer.questions.events.QuestionListingChangedEvent;
+import com.questionanswer.questions.service.QuestionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link FrontPageSnapshots}
+ */
+@ExtendWith(MockitoExtension.class)
+class FrontPageSnapshotsTest {
+    private static final Sort SORT = Sort.by("createdAt").descending();
+
+    @Mock
+    private QuestionService questionService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private QuestionListingVersion listingVersion;
+    private PagedResponse<QuestionHeader> firstPage;
+    private PagedResponse<QuestionHeader> lastPage;
+
+    @BeforeEach
+    void setUp() {
+        listingVersion = new QuestionListingVersion(Duration.ofMinutes(1));
+        QuestionHeader header = new QuestionHeader(TestConstants.QUESTION_ID_1, TestConstants.TEST_QUESTION_TITLE,
+                TestConstants.TEST_QUESTION_TEXT, TestConstants.USER_ID_1, Instant.now(), 0, 0);
+        QuestionHeader oldest = new QuestionHeader(TestConstants.QUESTION_ID_2, TestConstants.TEST_QUESTION_TITLE,
+                TestConstants.TEST_QUESTION_TEXT, TestConstants.USER_ID_1, Instant.now(), 0, 0);
+        firstPage = new PagedResponse<>(List.of(header), 0, 2, 21L, true, false);
+        lastPage = new PagedResponse<>(List.of(oldest), 1, 2, 21L, false, true);
+    }
+
+    @Test
+    void refresh_RendersPagesUntilLast() throws Exception {
+        // Arrange
+        FrontPageSnapshots snapshots = snapshots(Duration.ofSeconds(5), 4096);
+        byte[] expected = writeJson(firstPage);
+        when(questionService.getQuestions(page(0), true)).thenReturn(firstPage);
+        when(questionService.getQuestions(page(1), true)).thenReturn(lastPage);
+
+        // Act
+        snapshots.refresh();
+
+        // Assert
+        assertThat(snapshots.find(0)).hasValueSatisfying(rendered -> {
+            assertThat(rendered.body().isDirect()).isTrue();
+            assertThat(bytes(rendered.body())).isEqualTo(expected);
+            assertThat(rendered.stamp()).isEqualTo(listingVersion.current());
+        });
+        assertThat(snapshots.find(1)).isPresent();
+        assertThat(snapshots.find(2)).isEmpty();
+        verify(questionService, times(2)).getQuestions(any(Pageable.class), eq(true));
+    }
+
+    @Test
+    void refresh_ListingUnchanged_DoesNotRenderAgain() {
+        // Arrange
+        FrontPageSnapshots snapshots = snapshots(Duration.ofSeconds(5), 4096);
+        when(questionService.getQuestions(page(0), true)).thenReturn(lastPage);
+        snapshots.refresh();
+
+        // Act
+        snapshots.refresh();
+
+        // Assert
+        verify(questionService, times(1)).getQuestions(any(Pageable.class), eq(true));
+    }
+
+    @Test
+    void refresh_QuestionAnswered_RendersOnlyItsPage() {
+        // Arrange
+        FrontPageSnapshots snapshots = snapshots(Duration.ofSeconds(5), 4096);
+        when(questionService.getQuestions(page(0), true)).thenReturn(firstPage);
+        when(questionService.getQuestions(page(1), true)).thenReturn(lastPage);
+        snapshots.refresh();
+
+        // Act
+        snapshots.onListingChanged(new QuestionListingChangedEvent(List.of(TestConstants.QUESTION_ID_2), false));
+        listingVersion.bump();
+        snapshots.refresh();
+
+        // Assert
+        verify(questionService, times(1)).getQuestions(page(0), true);
+        verify(questionService, times(2)).getQuestions(page(1), true);
+        assertThat(snapshots.find(0)).hasValueSatisfying(
+                rendered -> assertThat(rendered.stamp()).isEqualTo(listingVersion.current()));
+        assertThat(snapshots.find(1)).isPresent();
+    }
+
+    @Test
+    void refresh_QuestionCreated_RendersAllPages() {
+        // Arrange
+        FrontPageSnapshots snapshots = snapshots(Duration.ofSeconds(5), 4096);
+        when(questionService.getQuestions(page(0), true)).thenReturn(firstPage);
+        when(questionService.getQuestions(page(1), true)).thenReturn(lastPage);
+        snapshots.refresh();
+
+        // Act
+        snapshots.onListingChanged(new QuestionListingChangedEvent(List.of(TestConstants.QUESTION_ID_3), true));
+        listingVersion.bump();
+        snapshots.refresh();
+
+        // Assert
+        verify(questionService, times(2)).getQuestions(page(0), true);
+        verify(questionService, times(2)).getQuestions(page(1), true);
+    }
+
+    @Test
+    void refresh_StampChangedWithoutRecordedChange_RendersAllPages() {
+        // Arrange
+        FrontPageSnapshots snapshots = snapshots(Duration.ofSeconds(5), 4096);
+        when(questionService.getQuestions(page(0), true)).thenReturn(firstPage);
+        when(questionService.getQuestions(page(1), true)).thenReturn(lastPage);
+        snapshots.refresh();
+
+        // Act
+        listingVersion.bump();
+        snapshots.refresh();
+
+        // Assert
+        verify(questionService, times(2)).getQuestions(page(0), true);
+        verify(questionService, times(2)).getQuestions(page(1), true);
+    }
+
+    @Test
+    void refresh_MemoryCapReached_StopsRendering() throws Exception {
+        // Arrange
+        FrontPageSnapshots snapshots = snapshots(Duration.ofSeconds(5), writeJson(firstPage).length);
+        when(questionService.getQuestions(page(0), true)).thenReturn(firstPage);
+        when(questionService.getQuestions(page(1), true)).thenReturn(lastPage);
+
+        // Act
+        snapshots.refresh();
+
+        // Assert
+        assertThat(snapshots.find(0)).isPresent();
+        assertThat(snapshots.find(1)).isEmpty();
+    }
+
+    @Test
+    void find_ListingChangedAndStalenessExceeded_ReturnsEmpty() {
+        // Arrange
+        FrontPageSnapshots snapshots = snapshots(Duration.ZERO, 4096);
+        when(questionService.getQuestions(page(0), true)).thenReturn(lastPage);
+        snapshots.refresh();
+
+        // Act
+        listingVersion.bump();
+        Optional<FrontPageSnapshots.RenderedPage> result = snapshots.find(0);
+
+        // Assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void find_ListingChangedWithinStaleness_ReturnsOldPage() {
+        // Arrange
+        FrontPageSnapshots snapshots = snapshots(Duration.ofMinutes(1), 4096);
+        when(questionService.getQuestions(page(0), true)).thenReturn(lastPage);
+        snapshots.refresh();
+        String stamp = listingVersion.current();
+
+        // Act
+        listingVersion.bump();
+        Optional<FrontPageSnapshots.RenderedPage> result = snapshots.find(0);
+
+        // Assert
+        assertThat(result).hasValueSatisfying(rendered -> assertThat(rendered.stamp()).isEqualTo(stamp));
+    }
+
+    @Test
+    void refresh_Disabled_RendersNothing() {
+        // Arrange
+        FrontPageSnapshots snapshots = new FrontPageSnapshots(questionService, listingVersion, objectMapper,
+                false, 5, 4096, Duration.ofSeconds(5));
+
+        // Act
+        snapshots.refresh();
+
+        // Assert
+        assertThat(snapshots.find(0)).isEmpty();
+        verifyNoInteractions(questionService);
+    }
+
+    private FrontPageSnapshots snapshots(Duration maxStaleness, long maxBytes) {
+        return new FrontPageSnapshots(questionService, listingVersion, objectMapper, true, 5, maxBytes, maxStaleness);
+    }
+
+    private static Pageable page(int page) {
+        return PageRequest.of(page, FrontPageSnapshots.PAGE_SIZE, SORT);
+    }
+
+    private byte[] writeJson(Object value) throws Exception {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,196 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.TestConstants;
+import com.questionanswer.questions.dto.QuestionHeader;
+import com.questionanswer.questions.repository.QuestionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link HotQuestionFeed}
+ */
+@ExtendWith(MockitoExtension.class)
+class HotQuestionFeedTest {
+    private static final Duration HALF_LIFE = Duration.ofHours(1);
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private JdbcClient jdbcClient;
+
+    private final Set<Long> deleted = new HashSet<>();
+    private long now;
+    private HotQuestionFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new HotQuestionFeed(questionRepository, jdbcClient, new SimpleMeterRegistry(),
+                HALF_LIFE, Duration.ofDays(1), 3);
+        now = System.currentTimeMillis();
+        lenient().when(questionRepository.findHeadersByIdIn(any())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream()
+                        .filter(id -> !deleted.contains(id))
+                        .map(HotQuestionFeedTest::header)
+                        .toList());
+    }
+
+    @Test
+    void record_AnswersAndQuestions_RanksHottestFirst() {
+        // Act
+        feed.record(1L, HotQuestionFeed.QUESTION_WEIGHT, now);
+        feed.record(2L, HotQuestionFeed.QUESTION_WEIGHT, now);
+        feed.record(2L, HotQuestionFeed.ANSWER_WEIGHT, now);
+
+        // Assert
+        assertThat(feed.hottest()).extracting(QuestionHeader::id).containsExactly(2L, 1L);
+        assertThat(feed.hottest().get(0).title()).isEqualTo("Question 2");
+    }
+
+    @Test
+    void record_QuestionsCreatedTogether_LoadsHeadersOnce() {
+        // Act
+        feed.record(List.of(1L, 2L), HotQuestionFeed.QUESTION_WEIGHT, now);
+
+        // Assert
+        assertThat(feed.hottest()).extracting(QuestionHeader::id).containsExactly(2L, 1L);
+        verify(questionRepository, times(1)).findHeadersByIdIn(any());
+    }
+
+    @Test
+    void record_OlderActivity_CountsHalfPerHalfLife() {
+        // Arrange
+        long twoHalfLivesAgo = now - 2 * HALF_LIFE.toMillis();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            feed.record(1L, HotQuestionFeed.ANSWER_WEIGHT, twoHalfLivesAgo);
+        }
+        feed.record(2L, HotQuestionFeed.ANSWER_WEIGHT, now);
+        for (int i = 0; i < 5; i++) {
+            feed.record(3L, HotQuestionFeed.ANSWER_WEIGHT, twoHalfLivesAgo);
+        }
+
+        // Assert
+        assertThat(feed.hottest()).extracting(QuestionHeader::id).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void record_TopFull_KeepsOnlyHottest() {
+        // Arrange
+        feed.record(1L, HotQuestionFeed.ANSWER_WEIGHT, now);
+        feed.record(2L, HotQuestionFeed.ANSWER_WEIGHT, now);
+        feed.record(3L, HotQuestionFeed.ANSWER_WEIGHT, now);
+        long version = feed.version();
+
+        // Act
+        feed.record(4L, HotQuestionFeed.ANSWER_WEIGHT, now - HALF_LIFE.toMillis());
+        feed.record(5L, 2 * HotQuestionFeed.ANSWER_WEIGHT, now);
+
+        // Assert
+        assertThat(feed.hottest()).extracting(QuestionHeader::id).containsExactly(5L, 3L, 2L);
+        assertThat(feed.tracked()).isEqualTo(5);
+        assertThat(feed.version()).isNotEqualTo(version);
+    }
+
+    @Test
+    void record_QuestionDroppedOut_ReloadsHeaderOnReentry() {
+        // Arrange
+        feed.record(1L, HotQuestionFeed.ANSWER_WEIGHT, now - HALF_LIFE.toMillis());
+        feed.record(2L, HotQuestionFeed.ANSWER_WEIGHT, now);
+        feed.record(3L, HotQuestionFeed.ANSWER_WEIGHT, now);
+        feed.record(4L, HotQuestionFeed.ANSWER_WEIGHT, now);
+
+        // Act
+        feed.record(1L, 2 * HotQuestionFeed.ANSWER_WEIGHT, now);
+
+        // Assert
+        assertThat(feed.hottest()).extracting(QuestionHeader::id).containsExactly(1L, 4L, 3L);
+        verify(questionRepository, times(2)).findHeadersByIdIn(List.of(1L));
+    }
+
+    @Test
+    void recordViews_ManyViews_OvertakeAnswer() {
+        // Arrange
+        feed.record(1L, HotQuestionFeed.ANSWER_WEIGHT, now);
+
+        // Act
+        feed.recordViews(List.of(2L, 3L), List.of(30L, 1L));
+
+        // Assert
+        assertThat(feed.hottest()).extracting(QuestionHeader::id).containsExactly(2L, 1L, 3L);
+    }
+
+    @Test
+    void refresh_QuestionDeleted_RemovesIt() {
+        // Arrange
+        feed.record(1L, HotQuestionFeed.ANSWER_WEIGHT, now);
+        feed.record(2L, HotQuestionFeed.QUESTION_WEIGHT, now);
+        deleted.add(1L);
+
+        // Act
+        feed.refresh(List.of(1L));
+        feed.record(1L, HotQuestionFeed.ANSWER_WEIGHT, now);
+
+        // Assert
+        assertThat(feed.hottest()).extracting(QuestionHeader::id).containsExactly(2L);
+    }
+
+    @Test
+    void rescore_Activity_ReplacesScoresAndKeepsViews() throws Exception {
+        // Arrange
+        feed.record(4L, HotQuestionFeed.ANSWER_WEIGHT, now);
+        feed.recordViews(List.of(3L), List.of(60L));
+        JdbcClient.StatementSpec statement = mock(JdbcClient.StatementSpec.class);
+        when(jdbcClient.sql(anyString())).thenReturn(statement);
+        when(statement.params(any(), any(), any(), any())).thenReturn(statement);
+        ResultSet activity = mock(ResultSet.class);
+        when(activity.getLong(1)).thenReturn(1L, 1L, 2L);
+        when(activity.getTimestamp(2)).thenReturn(new Timestamp(now - 1000));
+        when(activity.getBoolean(3)).thenReturn(false, true, false);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(0);
+            for (int row = 0; row < 3; row++) {
+                handler.processRow(activity);
+            }
+            return null;
+        }).when(statement).query(any(RowCallbackHandler.class));
+
+        // Act
+        feed.rescore();
+
+        // Assert
+        assertThat(feed.hottest()).extracting(QuestionHeader::id).containsExactly(3L, 1L, 2L);
+        assertThat(feed.tracked()).isEqualTo(3);
+    }
+
+    private static QuestionHeader header(Long id) {
+        return new QuestionHeader(id, "Question " + id, TestConstants.TEST_QUESTION_TEXT, TestConstants.USER_ID_1,
+                Instant.now(), 0, 0);
+    }
+}
@@ -0,0 +1,74 @@
+package com.questionanswer.questions.components;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link MinHash}
+ */
+class MinHashTest {
+    private static final String TITLE = "How do I reverse a list in Python";
+    private static final String TEXT = "I have a list of numbers and want to reverse the order of its elements in place "
+            + "without creating a copy of the whole list first";
+
+    @Test
+    void signature_SameWordsDifferentCaseAndPunctuation_AreIdentical() {
+        // Act
+        int[] first = MinHash.signature(TITLE, TEXT);
+        int[] second = MinHash.signature(TITLE.toUpperCase() + "?", TEXT.replace(" ", ",  "));
+
+        // Assert
+        assertThat(first).hasSize(MinHash.SIZE).isEqualTo(second);
+        assertThat(MinHash.similarity(first, second)).isEqualTo(1.0);
+        assertThat(MinHash.bandHashes(first)).hasSize(MinHash.BANDS).isEqualTo(MinHash.bandHashes(second));
+    }
+
+    @Test
+    void similarity_NearDuplicate_IsHigh() {
+        // Arrange
+        int[] original = MinHash.signature(TITLE, TEXT);
+        int[] edited = MinHash.signature(TITLE, TEXT.replace("whole list first", "whole list"));
+
+        // Act
+        double similarity = MinHash.similarity(original, edited);
+
+        // Assert
+        assertThat(similarity).isGreaterThan(0.7);
+    }
+
+    @Test
+    void similarity_UnrelatedQuestions_IsLow() {
+        // Arrange
+        int[] first = MinHash.signature(TITLE, TEXT);
+        int[] second = MinHash.signature("Configure Hibernate second level cache",
+                "Which cache provider should be used with Spring Boot 3 and Hibernate 6 in a clustered deployment");
+
+        // Act
+        double similarity = MinHash.similarity(first, second);
+
+        // Assert
+        assertThat(similarity).isLessThan(0.2);
+    }
+
+    @Test
+    void encode_Decode_RoundTrips() {
+        // Arrange
+        int[] signature = MinHash.signature(TITLE, TEXT);
+
+        // Act
+        byte[] encoded = MinHash.encode(signature);
+
+        // Assert
+        assertThat(encoded).hasSize(MinHash.SIZE * Integer.BYTES);
+        assertThat(MinHash.decode(encoded)).isEqualTo(signature);
+    }
+
+    @Test
+    void decode_WrongLength_ThrowsException() {
+        // Act & Assert
+        assertThatThrownBy(() -> MinHash.decode(new byte[10]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,179 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.entity.OutboxEvent;
+import com.questionanswer.questions.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link OutboxRelay}
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 2;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private RabbitOperations rabbitOperations;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(outboxEventRepository, rabbitTemplate, transactionTemplate, meterRegistry,
+                true, BATCH_SIZE, MAX_ATTEMPTS, Duration.ofMillis(100));
+        lenient().doAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        }).when(transactionTemplate).execute(any());
+        lenient().doAnswer(invocation -> {
+            RabbitOperations.OperationsCallback<?> callback = invocation.getArgument(0);
+            return callback.doInRabbit(rabbitOperations);
+        }).when(rabbitTemplate).invoke(any());
+    }
+
+    @Test
+    void relay_EventsConfirmed_PublishesAndDeletesThem() {
+        // Arrange
+        when(outboxEventRepository.lockBatch(BATCH_SIZE)).thenReturn(events(1, 1));
+        confirmAllSends();
+
+        // Act
+        relay.relay();
+
+        // Assert
+        ArgumentCaptor<Message> message = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitOperations).send(eq(OutboxEventPublisher.EXCHANGE), eq("answer.created"), message.capture(),
+                any(CorrelationData.class));
+        assertThat(message.getValue().getMessageProperties().getMessageId()).isEqualTo("1");
+        assertThat(message.getValue().getMessageProperties().<String>getHeader("__TypeId__")).isEqualTo("answer_created");
+        assertThat(new String(message.getValue().getBody())).isEqualTo("{\"answerId\":1}");
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+        assertThat(meterRegistry.get("questions.outbox.published").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("questions.outbox.publish.latency").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("questions.outbox.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void relay_FullBatch_RelaysNextBatch() {
+        // Arrange
+        when(outboxEventRepository.lockBatch(BATCH_SIZE)).thenReturn(events(1, 2), events(3, 3));
+        confirmAllSends();
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(outboxEventRepository, times(2)).lockBatch(BATCH_SIZE);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(3L));
+        assertThat(meterRegistry.get("questions.outbox.published").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void relay_EventNackedOnce_ResendsOnlyThatEvent() {
+        // Arrange
+        when(outboxEventRepository.lockBatch(BATCH_SIZE)).thenReturn(events(1, 2), List.of());
+        AtomicBoolean nacked = new AtomicBoolean();
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            boolean ack = !correlationData.getId().equals("2") || !nacked.compareAndSet(false, true);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+            return null;
+        }).when(rabbitOperations).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(rabbitOperations, times(3)).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertThat(meterRegistry.get("questions.outbox.failures").counter().count()).isZero();
+    }
+
+    @Test
+    void relay_EventNeverConfirmed_KeepsItAndStops() {
+        // Arrange
+        when(outboxEventRepository.lockBatch(BATCH_SIZE)).thenReturn(events(1, 2));
+        doAnswer(invocation -> {
+            CorrelationData correlationData = invocation.getArgument(3);
+            if (correlationData.getId().equals("1")) {
+                correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+            }
+            return null;
+        }).when(rabbitOperations).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(outboxEventRepository, times(1)).lockBatch(BATCH_SIZE);
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+        assertThat(meterRegistry.get("questions.outbox.failures").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("questions.outbox.in-flight").gauge().value()).isEqualTo(MAX_ATTEMPTS);
+    }
+
+    @Test
+    void relay_Disabled_DoesNothing() {
+        // Arrange
+        relay = new OutboxRelay(outboxEventRepository, rabbitTemplate, transactionTemplate, new SimpleMeterRegistry(),
+                false, BATCH_SIZE, MAX_ATTEMPTS, Duration.ofMillis(100));
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verifyNoInteractions(outboxEventRepository, rabbitTemplate);
+    }
+
+    private void confirmAllSends() {
+        doAnswer(invocation -> {
+            invocation.<CorrelationData>getArgument(3).getFuture().complete(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitOperations).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    private static List<OutboxEvent> events(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> OutboxEvent.builder()
+                        .id(id)
+                        .exchange(OutboxEventPublisher.EXCHANGE)
+                        .routingKey("answer.created")
+                        .typeId("answer_created")
+                        .payload("{\"answerId\":" + id + "}")
+                        .createdAt(Instant.now())
+                        .build())
+                .toList();
+    }
+}
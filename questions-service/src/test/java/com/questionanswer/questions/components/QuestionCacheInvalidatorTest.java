@@ -0,0 +1,193 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.TestConstants;
+import com.questionanswer.questions.config.RabbitMQConfig;
+import com.questionanswer.questions.events.AnswerChangedEvent;
+import com.questionanswer.questions.events.ChangeType;
+import com.questionanswer.questions.events.QuestionCacheInvalidation;
+import com.questionanswer.questions.events.QuestionChangedEvent;
+import com.questionanswer.questions.events.QuestionListingChangedEvent;
+import com.questionanswer.questions.events.QuestionsCreatedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link QuestionCacheInvalidator}
+ */
+@ExtendWith(MockitoExtension.class)
+class QuestionCacheInvalidatorTest {
+
+    @Mock
+    private QuestionCache questionCache;
+
+    @Mock
+    private QuestionListingVersion questionListingVersion;
+
+    @Mock
+    private QuestionTitleIndex questionTitleIndex;
+
+    @Mock
+    private QuestionDuplicateIndex questionDuplicateIndex;
+
+    @Mock
+    private HotQuestionFeed hotQuestionFeed;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @InjectMocks
+    private QuestionCacheInvalidator invalidator;
+
+    @Test
+    void onQuestionChanged_Updated_EvictsAndBroadcasts() {
+        // Act
+        invalidator.onQuestionChanged(new QuestionChangedEvent(
+                TestConstants.QUESTION_ID_1, TestConstants.USER_ID_1, ChangeType.UPDATED));
+
+        // Assert
+        verify(questionCache).evict(TestConstants.QUESTION_ID_1);
+        InOrder inOrder = inOrder(applicationEventPublisher, questionListingVersion);
+        inOrder.verify(applicationEventPublisher).publishEvent(
+                new QuestionListingChangedEvent(List.of(TestConstants.QUESTION_ID_1), false));
+        inOrder.verify(questionListingVersion).bump();
+        verify(hotQuestionFeed).refresh(List.of(TestConstants.QUESTION_ID_1));
+        verify(questionTitleIndex).refresh(List.of(TestConstants.QUESTION_ID_1));
+        verify(questionDuplicateIndex).refresh(List.of(TestConstants.QUESTION_ID_1));
+        assertThat(sent()).usingRecursiveComparison().ignoringFields("origin")
+                .isEqualTo(new QuestionCacheInvalidation(null, List.of(TestConstants.QUESTION_ID_1), true, true, false));
+    }
+
+    @Test
+    void onQuestionChanged_Deleted_ChangesMembership() {
+        // Act
+        invalidator.onQuestionChanged(new QuestionChangedEvent(
+                TestConstants.QUESTION_ID_1, TestConstants.USER_ID_1, ChangeType.DELETED));
+
+        // Assert
+        verify(applicationEventPublisher).publishEvent(
+                new QuestionListingChangedEvent(List.of(TestConstants.QUESTION_ID_1), true));
+        assertThat(sent()).usingRecursiveComparison().ignoringFields("origin")
+                .isEqualTo(new QuestionCacheInvalidation(null, List.of(TestConstants.QUESTION_ID_1), true, true, true));
+    }
+
+    @Test
+    void onQuestionsCreated_RefreshesOnceAndBroadcastsOnce() {
+        // Arrange
+        List<Long> ids = List.of(TestConstants.QUESTION_ID_3, TestConstants.QUESTION_ID_4);
+
+        // Act
+        invalidator.onQuestionsCreated(new QuestionsCreatedEvent(ids, TestConstants.USER_ID_1));
+
+        // Assert
+        verify(applicationEventPublisher).publishEvent(new QuestionListingChangedEvent(ids, true));
+        verify(questionListingVersion).bump();
+        verify(hotQuestionFeed).refresh(ids);
+        verify(questionTitleIndex).refresh(ids);
+        verify(questionDuplicateIndex).refresh(ids);
+        assertThat(sent()).usingRecursiveComparison().ignoringFields("origin")
+                .isEqualTo(new QuestionCacheInvalidation(null, ids, true, true, true));
+    }
+
+    @Test
+    void onAnswerChanged_BumpsListingVersion() {
+        // Act
+        invalidator.onAnswerChanged(new AnswerChangedEvent(
+                1L, TestConstants.QUESTION_ID_1, TestConstants.USER_ID_2, ChangeType.CREATED));
+
+        // Assert
+        verify(questionCache).evict(TestConstants.QUESTION_ID_1);
+        verify(applicationEventPublisher).publishEvent(
+                new QuestionListingChangedEvent(List.of(TestConstants.QUESTION_ID_1), false));
+        verify(questionListingVersion).bump();
+        verify(hotQuestionFeed).refresh(List.of(TestConstants.QUESTION_ID_1));
+        verifyNoInteractions(questionTitleIndex, questionDuplicateIndex);
+        assertThat(sent()).usingRecursiveComparison().ignoringFields("origin")
+                .isEqualTo(new QuestionCacheInvalidation(null, List.of(TestConstants.QUESTION_ID_1), true, false, false));
+    }
+
+    @Test
+    void onAnswerScoresChanged_EvictsWithoutTouchingListings() {
+        // Arrange
+        List<Long> ids = List.of(TestConstants.QUESTION_ID_1, TestConstants.QUESTION_ID_2);
+
+        // Act
+        invalidator.onAnswerScoresChanged(ids);
+
+        // Assert
+        verify(questionCache).evict(TestConstants.QUESTION_ID_1);
+        verify(questionCache).evict(TestConstants.QUESTION_ID_2);
+        verifyNoInteractions(questionListingVersion, hotQuestionFeed, questionTitleIndex, questionDuplicateIndex,
+                applicationEventPublisher);
+        assertThat(sent()).usingRecursiveComparison().ignoringFields("origin")
+                .isEqualTo(new QuestionCacheInvalidation(null, ids, false, false, false));
+    }
+
+    @Test
+    void onAnswerChanged_BrokerUnavailable_StillEvictsLocally() {
+        // Arrange
+        doThrow(new AmqpConnectException(new RuntimeException("Connection refused")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+
+        // Act
+        invalidator.onAnswerChanged(new AnswerChangedEvent(
+                1L, TestConstants.QUESTION_ID_1, TestConstants.USER_ID_2, ChangeType.CREATED));
+
+        // Assert
+        verify(questionCache).evict(TestConstants.QUESTION_ID_1);
+    }
+
+    @Test
+    void onInvalidation_EvictsLocally() {
+        // Act
+        invalidator.onInvalidation(new QuestionCacheInvalidation(
+                "other-replica", List.of(TestConstants.QUESTION_ID_1), true, true, false));
+
+        // Assert
+        verify(questionCache).evict(TestConstants.QUESTION_ID_1);
+        verify(questionListingVersion).bump();
+        verify(hotQuestionFeed).refresh(List.of(TestConstants.QUESTION_ID_1));
+        verify(questionTitleIndex).refresh(List.of(TestConstants.QUESTION_ID_1));
+        verify(questionDuplicateIndex).refresh(List.of(TestConstants.QUESTION_ID_1));
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    void onInvalidation_OwnMessage_IsSkipped() {
+        // Arrange
+        invalidator.onAnswerScoresChanged(List.of(TestConstants.QUESTION_ID_1));
+        QuestionCacheInvalidation own = sent();
+        clearInvocations(questionCache);
+
+        // Act
+        invalidator.onInvalidation(own);
+
+        // Assert
+        verifyNoInteractions(questionCache);
+    }
+
+    private QuestionCacheInvalidation sent() {
+        ArgumentCaptor<QuestionCacheInvalidation> invalidation =
+                ArgumentCaptor.forClass(QuestionCacheInvalidation.class);
+        verify(rabbitTemplate)
+                .convertAndSend(eq(RabbitMQConfig.QUESTION_CACHE_EXCHANGE), eq(""), invalidation.capture());
+        return invalidation.getValue();
+    }
+}
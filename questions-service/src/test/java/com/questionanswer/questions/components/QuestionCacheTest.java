@@ -0,0 +1,94 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.TestConstants;
+import com.questionanswer.questions.entity.Question;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link QuestionCache}
+ */
+class QuestionCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private QuestionCache questionCache;
+    private Question testQuestion;
+    private AtomicInteger loads;
+    private Function<Long, Optional<Question>> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        questionCache = new QuestionCache(meterRegistry, 100, Duration.ofMinutes(1));
+        testQuestion = Question.builder()
+                .id(TestConstants.QUESTION_ID_1)
+                .title(TestConstants.TEST_QUESTION_TITLE)
+                .text(TestConstants.TEST_QUESTION_TEXT)
+                .author(TestConstants.USER_ID_1)
+                .createdAt(Instant.now())
+                .build();
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            return id.equals(TestConstants.QUESTION_ID_1) ? Optional.of(testQuestion) : Optional.empty();
+        };
+    }
+
+    @Test
+    void get_CalledTwice_LoadsOnceAndRecordsHit() {
+        // Act
+        questionCache.get(TestConstants.QUESTION_ID_1, loader);
+        Optional<Question> result = questionCache.get(TestConstants.QUESTION_ID_1, loader);
+
+        // Assert
+        assertThat(result).hasValueSatisfying(question ->
+                assertThat(question.getTitle()).isEqualTo(TestConstants.TEST_QUESTION_TITLE));
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void get_ReturnedQuestionModified_CacheUnchanged() {
+        // Arrange
+        questionCache.get(TestConstants.QUESTION_ID_1, loader).orElseThrow().setTitle("Changed");
+
+        // Act
+        Optional<Question> result = questionCache.get(TestConstants.QUESTION_ID_1, loader);
+
+        // Assert
+        assertThat(result.orElseThrow().getTitle()).isEqualTo(TestConstants.TEST_QUESTION_TITLE);
+    }
+
+    @Test
+    void get_QuestionNotFound_NotCached() {
+        // Act
+        questionCache.get(TestConstants.NON_EXISTENT_QUESTION_ID, loader);
+        Optional<Question> result = questionCache.get(TestConstants.NON_EXISTENT_QUESTION_ID, loader);
+
+        // Assert
+        assertThat(result).isEmpty();
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_AfterEvict_LoadsAgain() {
+        // Arrange
+        questionCache.get(TestConstants.QUESTION_ID_1, loader);
+
+        // Act
+        questionCache.evict(TestConstants.QUESTION_ID_1);
+        questionCache.get(TestConstants.QUESTION_ID_1, loader);
+
+        // Assert
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,147 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.dto.QuestionSignature;
+import com.questionanswer.questions.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link QuestionDuplicateIndex}
+ */
+@ExtendWith(MockitoExtension.class)
+class QuestionDuplicateIndexTest {
+    private static final String TITLE = "How do I reverse a list in Python";
+    private static final String TEXT = "I have a list of numbers and want to reverse the order of its elements in place "
+            + "without creating a copy of the whole list first";
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private QuestionSignatureBackfill signatureBackfill;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<Long, byte[]> stored = new HashMap<>();
+    private QuestionDuplicateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new QuestionDuplicateIndex(questionRepository, signatureBackfill, transactionTemplate, 0.5);
+        stored.put(1L, MinHash.encode(MinHash.signature(TITLE, TEXT)));
+        stored.put(2L, MinHash.encode(MinHash.signature(TITLE, TEXT.replace("whole list first", "whole list"))));
+        stored.put(3L, MinHash.encode(MinHash.signature("Configure Hibernate second level cache",
+                "Which cache provider should be used with Spring Boot 3 and Hibernate 6")));
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(questionRepository.streamSignatures()).thenReturn(stored.entrySet().stream()
+                .map(entry -> new QuestionSignature(entry.getKey(), entry.getValue())));
+        lenient().when(questionRepository.findSignaturesByIdIn(any())).thenAnswer(invocation ->
+                invocation.<Collection<Long>>getArgument(0).stream()
+                        .filter(stored::containsKey)
+                        .map(id -> new QuestionSignature(id, stored.get(id)))
+                        .toList());
+        index.build();
+    }
+
+    @Test
+    void build_SignaturesMissing_ComputesThemBeforeStreaming() {
+        // Assert
+        InOrder order = inOrder(signatureBackfill, questionRepository);
+        order.verify(signatureBackfill).run();
+        order.verify(questionRepository).streamSignatures();
+    }
+
+    @Test
+    void findSimilar_NearDuplicate_ReturnsItWithoutTheQuestionItself() {
+        // Act
+        var matches = index.findSimilar(MinHash.decode(stored.get(1L)), 1L, 5);
+
+        // Assert
+        assertThat(matches).extracting(QuestionDuplicateIndex.Match::id).containsExactly(2L);
+        assertThat(matches.get(0).similarity()).isGreaterThan(0.7);
+    }
+
+    @Test
+    void findSimilar_NewQuestion_ReturnsMostSimilarFirst() {
+        // Act
+        var matches = index.findSimilar(MinHash.signature(TITLE, TEXT), null, 5);
+
+        // Assert
+        assertThat(matches).extracting(QuestionDuplicateIndex.Match::id).containsExactly(1L, 2L);
+        assertThat(matches.get(0).similarity()).isEqualTo(1.0);
+    }
+
+    @Test
+    void findSimilar_UnrelatedText_ReturnsNothing() {
+        // Act
+        var matches = index.findSimilar(MinHash.signature("Kafka consumer lag keeps growing",
+                "Our consumers fall behind after every rebalance of the topic partitions"), null, 5);
+
+        // Assert
+        assertThat(matches).isEmpty();
+    }
+
+    @Test
+    void refresh_QuestionAdded_FoundBeforeNextBuild() {
+        // Arrange
+        stored.put(4L, MinHash.encode(MinHash.signature(TITLE, TEXT + " again")));
+
+        // Act
+        index.refresh(List.of(4L));
+
+        // Assert
+        assertThat(index.findSimilar(MinHash.decode(stored.get(1L)), 1L, 5))
+                .extracting(QuestionDuplicateIndex.Match::id).containsExactlyInAnyOrder(2L, 4L);
+    }
+
+    @Test
+    void refresh_QuestionDeleted_NoLongerFound() {
+        // Arrange
+        stored.remove(2L);
+
+        // Act
+        index.refresh(List.of(2L));
+
+        // Assert
+        assertThat(index.findSimilar(MinHash.decode(stored.get(1L)), 1L, 5)).isEmpty();
+    }
+
+    @Test
+    void refresh_LaterRefreshAppliedFirst_KeepsItsResult() {
+        // Arrange
+        when(questionRepository.findSignaturesByIdIn(List.of(2L)))
+                .thenAnswer(invocation -> {
+                    List<QuestionSignature> loaded = List.of(new QuestionSignature(2L, stored.remove(2L)));
+                    // The question is deleted and refreshed while this refresh is loading
+                    index.refresh(List.of(2L));
+                    return loaded;
+                })
+                .thenReturn(List.of());
+
+        // Act
+        index.refresh(List.of(2L));
+
+        // Assert
+        assertThat(index.findSimilar(MinHash.decode(stored.get(1L)), 1L, 5)).isEmpty();
+    }
+}
@@ -0,0 +1,52 @@
+package com.questionanswer.questions.components;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link QuestionListingVersion}
+ */
+class QuestionListingVersionTest {
+
+    @Test
+    void current_NoChanges_ReturnsSameStamp() {
+        // Arrange
+        QuestionListingVersion listingVersion = new QuestionListingVersion(Duration.ofMinutes(1));
+
+        // Act
+        String first = listingVersion.current();
+        String second = listingVersion.current();
+
+        // Assert
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void current_AfterBump_ReturnsNewStamp() {
+        // Arrange
+        QuestionListingVersion listingVersion = new QuestionListingVersion(Duration.ofMinutes(1));
+        String before = listingVersion.current();
+
+        // Act
+        listingVersion.bump();
+
+        // Assert
+        assertThat(listingVersion.current()).isNotEqualTo(before);
+    }
+
+    @Test
+    void current_StampExpired_ReturnsNewStamp() {
+        // Arrange
+        QuestionListingVersion listingVersion = new QuestionListingVersion(Duration.ZERO);
+        String before = listingVersion.current();
+
+        // Act
+        String result = listingVersion.current();
+
+        // Assert
+        assertThat(result).isNotEqualTo(before);
+    }
+}
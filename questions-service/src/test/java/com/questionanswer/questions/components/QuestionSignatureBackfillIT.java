@@ -0,0 +1,34 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.TestConstants;
+import com.questionanswer.questions.controller.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestionSignatureBackfillIT extends BaseIntegrationTest {
+
+    @Autowired
+    private QuestionSignatureBackfill signatureBackfill;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void run_SignaturesMissing_WritesOnlySignatures() {
+        long computed = signatureBackfill.run();
+
+        assertThat(computed).isPositive();
+        assertThat(jdbcClient.sql("select count(*) from questions where minhash is null")
+                .query(Long.class).single()).isZero();
+        assertThat(jdbcClient.sql("select minhash from questions where id = ?")
+                .param(TestConstants.QUESTION_ID_1)
+                .query(byte[].class)
+                .single()).isEqualTo(MinHash.encode(MinHash.signature("Question title", "Far far away, behind")));
+        assertThat(signatureBackfill.run()).isZero();
+    }
+}
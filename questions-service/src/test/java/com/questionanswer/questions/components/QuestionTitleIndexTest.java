@@ -0,0 +1,183 @@
+package com.questionanswer.questions.components;
+
+import com.questionanswer.questions.dto.QuestionSuggestion;
+import com.questionanswer.questions.repository.QuestionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link QuestionTitleIndex}
+ */
+@ExtendWith(MockitoExtension.class)
+class QuestionTitleIndexTest {
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private QuestionTitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new QuestionTitleIndex(questionRepository, transactionTemplate, meterRegistry);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(questionRepository.streamTitles()).thenReturn(Stream.of(
+                new QuestionSuggestion(1L, "How to configure Spring Boot?"),
+                new QuestionSuggestion(2L, "Spring transactions, explained"),
+                new QuestionSuggestion(3L, "Python decorators")));
+        index.build();
+    }
+
+    @Test
+    void suggest_WordPrefix_ReturnsNewestMatchesFirst() {
+        // Act
+        var suggestions = index.suggest("SPR", 10);
+
+        // Assert
+        assertThat(suggestions).containsExactly(
+                new QuestionSuggestion(2L, "Spring transactions, explained"),
+                new QuestionSuggestion(1L, "How to configure Spring Boot?"));
+        assertThat(meterRegistry.get("questions.suggest.titles").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void suggest_SeveralWords_ReturnsTitlesStartingEveryWord() {
+        // Act
+        var suggestions = index.suggest("spring tr", 10);
+
+        // Assert
+        assertThat(suggestions).extracting(QuestionSuggestion::id).containsExactly(2L);
+    }
+
+    @Test
+    void suggest_LimitReached_StopsAtLimit() {
+        // Act
+        var suggestions = index.suggest("spring", 1);
+
+        // Assert
+        assertThat(suggestions).extracting(QuestionSuggestion::id).containsExactly(2L);
+    }
+
+    @Test
+    void suggest_OnlyShortWords_ReturnsNothing() {
+        // Act
+        var suggestions = index.suggest("h", 10);
+
+        // Assert
+        assertThat(suggestions).isEmpty();
+    }
+
+    @Test
+    void refresh_TitleChanged_ReplacesWords() {
+        // Arrange
+        when(questionRepository.findTitlesByIdIn(List.of(1L)))
+                .thenReturn(List.of(new QuestionSuggestion(1L, "Hibernate second level cache")));
+
+        // Act
+        index.refresh(List.of(1L));
+
+        // Assert
+        assertThat(index.suggest("spring", 10)).extracting(QuestionSuggestion::id).containsExactly(2L);
+        assertThat(index.suggest("hib cache", 10)).extracting(QuestionSuggestion::id).containsExactly(1L);
+    }
+
+    @Test
+    void refresh_QuestionCreatedWithLowerId_SuggestsItFirst() {
+        // Arrange
+        when(questionRepository.findTitlesByIdIn(List.of(0L)))
+                .thenReturn(List.of(new QuestionSuggestion(0L, "Spring Data projections")));
+
+        // Act
+        index.refresh(List.of(0L));
+
+        // Assert
+        assertThat(index.suggest("spring", 10)).extracting(QuestionSuggestion::id).containsExactly(0L, 2L, 1L);
+    }
+
+    @Test
+    void suggest_WordsRarelyTogether_StopsAfterMaxCandidates() {
+        // Arrange
+        List<QuestionSuggestion> titles = new ArrayList<>();
+        titles.add(new QuestionSuggestion(0L, "Spring with Kotlin"));
+        for (long id = 1; id <= QuestionTitleIndex.MAX_CANDIDATES; id++) {
+            titles.add(new QuestionSuggestion(id, "Spring Boot"));
+            titles.add(new QuestionSuggestion(-id, "Kotlin Boot"));
+        }
+        when(questionRepository.streamTitles()).thenReturn(titles.stream());
+        index.build();
+
+        // Act
+        var suggestions = index.suggest("spring kotlin", 10);
+
+        // Assert
+        assertThat(suggestions).isEmpty();
+        assertThat(index.suggest("with kotlin", 10)).extracting(QuestionSuggestion::id).containsExactly(0L);
+    }
+
+    @Test
+    void refresh_QuestionDeleted_RemovesIt() {
+        // Arrange
+        when(questionRepository.findTitlesByIdIn(List.of(2L))).thenReturn(List.of());
+
+        // Act
+        index.refresh(List.of(2L));
+
+        // Assert
+        assertThat(index.suggest("spring", 10)).extracting(QuestionSuggestion::id).containsExactly(1L);
+        assertThat(index.suggest("transactions", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void refresh_LoadingTitles_DoesNotHoldLock() {
+        // Arrange
+        when(questionRepository.findTitlesByIdIn(List.of(1L))).thenAnswer(invocation -> {
+            assertThat(Thread.holdsLock(index)).isFalse();
+            return List.of(new QuestionSuggestion(1L, "Hibernate second level cache"));
+        });
+
+        // Act
+        index.refresh(List.of(1L));
+
+        // Assert
+        assertThat(index.suggest("hibernate", 10)).extracting(QuestionSuggestion::id).containsExactly(1L);
+    }
+
+    @Test
+    void refresh_LaterRefreshAppliedFirst_KeepsItsTitle() {
+        // Arrange
+        when(questionRepository.findTitlesByIdIn(List.of(1L)))
+                .thenAnswer(invocation -> {
+                    // The title changes again and is refreshed while this refresh is loading
+                    index.refresh(List.of(1L));
+                    return List.of(new QuestionSuggestion(1L, "Hibernate second level cache"));
+                })
+                .thenReturn(List.of(new QuestionSuggestion(1L, "Kotlin coroutines")));
+
+        // Act
+        index.refresh(List.of(1L));
+
+        // Assert
+        assertThat(index.suggest("kotlin", 10)).extracting(QuestionSuggestion::id).containsExactly(1L);
+        assertThat(index.suggest("hibernate", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,101 @@
+package com.questionanswer.questions.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records every prepared statement together with its bound parameters, so tests can replay
+ * the exact SQL generated by Hibernate, e.g. under {@code EXPLAIN}.
+ */
+public class RecordingDataSource extends DelegatingDataSource {
+    private final List<RecordedStatement> statements = Collections.synchronizedList(new ArrayList<>());
+
+    public RecordingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recording(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recording(super.getConnection(username, password));
+    }
+
+    public List<RecordedStatement> getStatements() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    private Connection recording(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) -> {
+            if (method.getName().equals("prepareStatement") && args[0] instanceof String sql) {
+                RecordedStatement statement = new RecordedStatement(sql, new ArrayList<>());
+                statements.add(statement);
+                return proxy(PreparedStatement.class, result, (setter, setterArgs, setterResult) -> {
+                    if (setter.getName().startsWith("set") && setterArgs != null && setterArgs.length >= 2
+                            && setter.getParameterTypes()[0] == int.class) {
+                        statement.parameters().add(new Parameter(setter, setterArgs));
+                    }
+                    return setterResult;
+                });
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, Interceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return interceptor.afterInvocation(method, args, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private interface Interceptor {
+        Object afterInvocation(Method method, Object[] args, Object result) throws Throwable;
+    }
+
+    public record Parameter(Method setter, Object[] args) {
+    }
+
+    public record RecordedStatement(String sql, List<Parameter> parameters) {
+
+        /**
+         * Prepares {@code prefix + sql} on the given connection and binds the recorded parameters to it.
+         */
+        public PreparedStatement prepare(Connection connection, String prefix) throws SQLException {
+            PreparedStatement preparedStatement = connection.prepareStatement(prefix + sql);
+            for (Parameter parameter : parameters) {
+                try {
+                    parameter.setter().invoke(preparedStatement, parameter.args());
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException("Failed to bind " + parameter.setter().getName(), e);
+                }
+            }
+            return preparedStatement;
+        }
+    }
+}
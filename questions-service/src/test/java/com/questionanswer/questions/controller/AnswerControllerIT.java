@@ -1,13 +1,24 @@
 package com.questionanswer.questions.controller;
 
 import com.questionanswer.questions.TestConstants;
+import com.questionanswer.questions.components.AnswerScoreCounter;
+import com.questionanswer.questions.events.AnswerVotedEvent;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -16,6 +27,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class AnswerControllerIT extends BaseIntegrationTest {
     private static final String PATH_PREFIX = "/api/answers";
 
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private AnswerScoreCounter answerScoreCounter;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     @Sql("/sql/answers.sql")
     void getAnswersByAuthor_AuthorHasAnswers_ReturnsAnswers() throws Exception {
@@ -33,6 +53,80 @@ class AnswerControllerIT extends BaseIntegrationTest {
                 );
     }
 
+    @Test
+    @Sql("/sql/answers.sql")
+    void getAnswersByAuthorByCursor_AuthorHasAnswers_ReturnsLastPage() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX)
+                .queryParam("author", String.valueOf(TestConstants.USER_ID_1))
+                .queryParam("cursor", "")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.data[0].id").value(TestConstants.ANSWER_ID_1),
+                        jsonPath("$.hasNext").value(false)
+                );
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void createAnswer_ValidData_WritesOutboxEventInSameTransaction() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .post(PATH_PREFIX)
+                .with(jwt()
+                        .jwt(jwt -> jwt.subject(String.valueOf(TestConstants.USER_ID_1)))
+                        .authorities(new SimpleGrantedAuthority(TestConstants.ROLE_USER))
+                )
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"questionId": 3, "text": "%s"}""".formatted("Answer text ".repeat(12)));
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpect(status().isCreated());
+
+        String payload = jdbcClient.sql("select payload from outbox_events where routing_key = 'answer.created'")
+                .query(String.class)
+                .single();
+        assertThat(payload).contains("\"questionId\":3", "\"eventType\":\"ANSWER_CREATED\"");
+        assertThat(answerCount(3)).isEqualTo(1);
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void createAnswer_UserAlreadyAnswered_ReturnsConflict() throws Exception {
+        this.mockMvc.perform(createAnswerRequest(TestConstants.ADMIN_USER_ID, 1))
+                .andExpectAll(
+                        status().isConflict(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                );
+
+        long answers = jdbcClient.sql("select count(*) from answers where question_id = 1 and author = :author")
+                .param("author", TestConstants.ADMIN_USER_ID)
+                .query(Long.class)
+                .single();
+        assertThat(answers).isEqualTo(1);
+        assertThat(answerCount(1)).isEqualTo(1);
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void createAnswer_UserAnswersOwnQuestion_ReturnsConflict() throws Exception {
+        this.mockMvc.perform(createAnswerRequest(TestConstants.USER_ID_1, 1))
+                .andExpectAll(
+                        status().isConflict(),
+                        jsonPath("$.detail").value("You can not answer to your own question")
+                );
+    }
+
+    @Test
+    void createAnswer_QuestionNotFound_ReturnsNotFound() throws Exception {
+        this.mockMvc.perform(createAnswerRequest(TestConstants.USER_ID_1, 999))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @Sql("/sql/answers.sql")
     void deleteAnswer_UserIsAnswerAuthor_DeletesAnswer() throws Exception {
@@ -45,6 +139,8 @@ class AnswerControllerIT extends BaseIntegrationTest {
 
         this.mockMvc.perform(requestBuilder)
                 .andExpect(status().isNoContent());
+
+        assertThat(answerCount(1)).isEqualTo(1);
     }
 
     @Test
@@ -77,4 +173,135 @@ class AnswerControllerIT extends BaseIntegrationTest {
         this.mockMvc.perform(requestBuilder)
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    @Sql("/sql/answers.sql")
+    void vote_ChangedAndRetracted_KeepsOneVoteRow() throws Exception {
+        this.mockMvc.perform(voteRequest(TestConstants.USER_ID_2, TestConstants.ANSWER_ID_1, 1))
+                .andExpect(status().isNoContent());
+        this.mockMvc.perform(voteRequest(TestConstants.USER_ID_2, TestConstants.ANSWER_ID_1, -1))
+                .andExpect(status().isNoContent());
+
+        Integer value = jdbcClient.sql("select value from votes where answer_id = ? and voter = ?")
+                .param(TestConstants.ANSWER_ID_1)
+                .param(TestConstants.USER_ID_2)
+                .query(Integer.class)
+                .single();
+        assertThat(value).isEqualTo(-1);
+
+        this.mockMvc.perform(voteRequest(TestConstants.USER_ID_2, TestConstants.ANSWER_ID_1, 0))
+                .andExpect(status().isNoContent());
+        assertThat(jdbcClient.sql("select count(*) from votes").query(Long.class).single()).isZero();
+    }
+
+    @Test
+    @Sql("/sql/answers.sql")
+    void reconcile_VoteNeverCounted_CorrectsScoreOnSecondRun() throws Exception {
+        // Votes are counted after commit, which never happens in a test transaction, like a delta lost on a crash
+        this.mockMvc.perform(voteRequest(TestConstants.USER_ID_2, TestConstants.ANSWER_ID_1, 1))
+                .andExpect(status().isNoContent());
+
+        answerScoreCounter.reconcile();
+        assertThat(score(TestConstants.ANSWER_ID_1)).isZero();
+
+        answerScoreCounter.reconcile();
+        assertThat(score(TestConstants.ANSWER_ID_1)).isEqualTo(1);
+    }
+
+    @Test
+    @Sql("/sql/answers.sql")
+    void vote_InvalidValue_ReturnsBadRequest() throws Exception {
+        this.mockMvc.perform(voteRequest(TestConstants.USER_ID_2, TestConstants.ANSWER_ID_1, 2))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void vote_AnswerNotFound_ReturnsNotFound() throws Exception {
+        this.mockMvc.perform(voteRequest(TestConstants.USER_ID_2, TestConstants.NON_EXISTENT_ANSWER_ID, 1))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @Sql("/sql/answers.sql")
+    void getAnswersByScore_ScoresFlushed_ReturnsHighestScoreFirst() throws Exception {
+        // Votes are counted after commit, which never happens in a test transaction
+        answerScoreCounter.onAnswerVoted(new AnswerVotedEvent(2L, 3));
+        answerScoreCounter.onAnswerVoted(new AnswerVotedEvent(TestConstants.ANSWER_ID_1, -1));
+        answerScoreCounter.flush();
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/api/questions/" + TestConstants.QUESTION_ID_1 + "/answers")
+                        .param("sort", "score")
+                        .param("size", "1")
+                        .with(jwt()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.data[0].id").value(2),
+                        jsonPath("$.data[0].score").value(3),
+                        jsonPath("$.hasNext").value(true)
+                );
+    }
+
+    @Test
+    @Sql("/sql/answers.sql")
+    void getQuestionByScore_ScoresFlushedSinceETag_ReturnsQuestion() throws Exception {
+        var questionRequest = MockMvcRequestBuilders
+                .get("/api/questions/" + TestConstants.QUESTION_ID_1)
+                .param("sort", "score")
+                .with(jwt());
+        String eTag = this.mockMvc.perform(questionRequest)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        answerScoreCounter.onAnswerVoted(new AnswerVotedEvent(2L, 3));
+        answerScoreCounter.flush();
+        // Requests share the persistence context of the test transaction, a new request starts with an empty one
+        entityManager.clear();
+
+        this.mockMvc.perform(questionRequest.header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string(HttpHeaders.ETAG, not(eTag)),
+                        jsonPath("$.answers[0].id").value(2),
+                        jsonPath("$.answers[0].score").value(3)
+                );
+    }
+
+    private MockHttpServletRequestBuilder voteRequest(UUID voter, long answerId, int value) {
+        return MockMvcRequestBuilders
+                .put(PATH_PREFIX + "/" + answerId + "/vote")
+                .with(jwt()
+                        .jwt(jwt -> jwt.subject(String.valueOf(voter)))
+                        .authorities(new SimpleGrantedAuthority(TestConstants.ROLE_USER))
+                )
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"value": %d}""".formatted(value));
+    }
+
+    private MockHttpServletRequestBuilder createAnswerRequest(UUID author, long questionId) {
+        return MockMvcRequestBuilders
+                .post(PATH_PREFIX)
+                .with(jwt()
+                        .jwt(jwt -> jwt.subject(String.valueOf(author)))
+                        .authorities(new SimpleGrantedAuthority(TestConstants.ROLE_USER))
+                )
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"questionId": %d, "text": "%s"}""".formatted(questionId, "Answer text ".repeat(12)));
+    }
+
+    private int answerCount(long questionId) {
+        return jdbcClient.sql("select answer_count from questions where id = :id")
+                .param("id", questionId)
+                .query(Integer.class)
+                .single();
+    }
+
+    private long score(long answerId) {
+        return jdbcClient.sql("select score from answers where id = :id")
+                .param("id", answerId)
+                .query(Long.class)
+                .single();
+    }
+}
@@ -1,13 +1,31 @@
 package com.questionanswer.questions.controller;
 
+import com.jayway.jsonpath.JsonPath;
 import com.questionanswer.questions.TestConstants;
+import com.questionanswer.questions.components.HotQuestionFeed;
+import com.questionanswer.questions.components.QuestionDuplicateIndex;
+import com.questionanswer.questions.components.QuestionTitleIndex;
+import com.questionanswer.questions.components.QuestionViewCounter;
+import com.questionanswer.questions.entity.Question;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.util.Collections;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -15,6 +33,24 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class QuestionControllerIT extends BaseIntegrationTest {
     private static final String PATH_PREFIX = "/api/questions";
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private QuestionViewCounter questionViewCounter;
+
+    @Autowired
+    private QuestionTitleIndex questionTitleIndex;
+
+    @Autowired
+    private QuestionDuplicateIndex questionDuplicateIndex;
+
+    @Autowired
+    private HotQuestionFeed hotQuestionFeed;
+
     @Test
     @Sql("/sql/questions.sql")
     void getAllQuestions_ReturnsAllQuestions() throws Exception {
@@ -30,6 +66,370 @@ class QuestionControllerIT extends BaseIntegrationTest {
                 );
     }
 
+    @Test
+    @Sql("/sql/questions.sql")
+    void getAllQuestions_ReturnsHeadersWithShortenedText() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX)
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.data[?(@.id == 1)].title").value("Question title"),
+                        jsonPath("$.data[?(@.id == 1)].text").value("Far far away, behind...")
+                );
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void getAllQuestions_SortedByAnswerCount_ReturnsMostAnsweredFirst() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX)
+                .queryParam("sort", "answerCount")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.data[0].id").value(1),
+                        jsonPath("$.data[0].answerCount").value(1),
+                        jsonPath("$.data[1].id").value(4),
+                        jsonPath("$.data[1].answerCount").value(0)
+                );
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void getAllQuestions_SortedByHot_ReturnsMostActiveFirst() throws Exception {
+        hotQuestionFeed.rescore();
+
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX)
+                .queryParam("sort", "hot")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isOk(),
+                        header().exists(HttpHeaders.ETAG),
+                        jsonPath("$.data[0].id").value(1),
+                        jsonPath("$.data[0].answerCount").value(1),
+                        jsonPath("$.totalItems").value(4)
+                );
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void searchQuestions_TitleMatches_ReturnsHighlightedHit() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX + "/search")
+                .queryParam("q", "mother")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.data.length()").value(1),
+                        jsonPath("$.data[0].question.id").value(2),
+                        jsonPath("$.data[0].title").value("How i met your <mark>mother</mark>?"),
+                        jsonPath("$.hasNext").value(false)
+                );
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void searchQuestions_AnswerMatches_ReturnsQuestionOfAnswer() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX + "/search")
+                .queryParam("q", "mountains")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.data.length()").value(1),
+                        jsonPath("$.data[0].question.id").value(1)
+                );
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void searchQuestions_FollowingNextCursor_ReturnsEveryMatchOnce() throws Exception {
+        var firstPage = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH_PREFIX + "/search")
+                        .queryParam("q", "question title")
+                        .queryParam("size", "2")
+                        .with(jwt()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.data.length()").value(2),
+                        jsonPath("$.hasNext").value(true)
+                )
+                .andReturn();
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH_PREFIX + "/search")
+                        .queryParam("q", "question title")
+                        .queryParam("cursor", nextCursor)
+                        .queryParam("size", "2")
+                        .with(jwt()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.data.length()").value(1),
+                        jsonPath("$.hasNext").value(false),
+                        jsonPath("$.nextCursor").doesNotExist()
+                );
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void suggestQuestions_PrefixOfTitleWords_ReturnsNewestMatchesFirst() throws Exception {
+        questionTitleIndex.build();
+
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX + "/suggest")
+                .queryParam("prefix", "question ti")
+                .queryParam("limit", "2")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.length()").value(2),
+                        jsonPath("$[0].id").value(TestConstants.QUESTION_ID_4),
+                        jsonPath("$[0].title").value("Question title 3"),
+                        jsonPath("$[1].id").value(TestConstants.QUESTION_ID_3)
+                );
+    }
+
+    @Test
+    void suggestQuestions_LimitAboveMaximum_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX + "/suggest")
+                .queryParam("prefix", "question")
+                .queryParam("limit", "21")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void findPossibleDuplicates_SameTitleAndText_ReturnsExistingQuestion() throws Exception {
+        questionDuplicateIndex.build();
+
+        var requestBuilder = MockMvcRequestBuilders.post(PATH_PREFIX + "/duplicates")
+                .with(jwt())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"title": "Question title 2", "text": "Text text text"}""");
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.length()").value(1),
+                        jsonPath("$[0].question.id").value(TestConstants.QUESTION_ID_3),
+                        jsonPath("$[0].question.title").value("Question title 2"),
+                        jsonPath("$[0].similarity").value(1.0)
+                );
+    }
+
+    @Test
+    void findPossibleDuplicates_InvalidData_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post(PATH_PREFIX + "/duplicates")
+                .with(jwt())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"title": "   ", "text": "Something new"}""");
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void getPossibleDuplicates_NoSimilarQuestion_ReturnsEmptyList() throws Exception {
+        questionDuplicateIndex.build();
+
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX + "/" + TestConstants.QUESTION_ID_3 + "/duplicates")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$").isEmpty()
+                );
+    }
+
+    @Test
+    void getPossibleDuplicates_QuestionNotFound_ReturnsNotFound() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX + "/" + TestConstants.NON_EXISTENT_QUESTION_ID + "/duplicates")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void searchQuestions_BlankQuery_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX + "/search")
+                .queryParam("q", " ")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void getQuestionsByCursor_FollowingNextCursor_ReturnsAllQuestionsOnce() throws Exception {
+        var firstPage = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH_PREFIX)
+                        .queryParam("cursor", "")
+                        .queryParam("size", "3")
+                        .with(jwt()))
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.data.length()").value(3),
+                        jsonPath("$.data[0].id").value(TestConstants.QUESTION_ID_4),
+                        jsonPath("$.hasNext").value(true)
+                )
+                .andReturn();
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH_PREFIX)
+                        .queryParam("cursor", nextCursor)
+                        .queryParam("size", "3")
+                        .with(jwt()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.data.length()").value(1),
+                        jsonPath("$.data[0].id").value(TestConstants.QUESTION_ID_1),
+                        jsonPath("$.hasNext").value(false),
+                        jsonPath("$.nextCursor").doesNotExist()
+                );
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void getUnansweredQuestions_ReturnsQuestionsWithoutAnswers() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX)
+                .queryParam("filter", "unanswered")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isOk(),
+                        header().exists(HttpHeaders.ETAG),
+                        jsonPath("$.data.length()").value(3),
+                        jsonPath("$.data[0].id").value(TestConstants.QUESTION_ID_4),
+                        jsonPath("$.data[1].id").value(TestConstants.QUESTION_ID_3),
+                        jsonPath("$.data[2].id").value(TestConstants.QUESTION_ID_2),
+                        jsonPath("$.data[2].answerCount").value(0),
+                        jsonPath("$.totalItems").value(3)
+                );
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void getUnansweredQuestionsByCursor_FollowingNextCursor_SkipsAnsweredQuestions() throws Exception {
+        var firstPage = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH_PREFIX)
+                        .queryParam("filter", "unanswered")
+                        .queryParam("cursor", "")
+                        .queryParam("size", "2")
+                        .with(jwt()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.data.length()").value(2),
+                        jsonPath("$.data[0].id").value(TestConstants.QUESTION_ID_4),
+                        jsonPath("$.hasNext").value(true)
+                )
+                .andReturn();
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH_PREFIX)
+                        .queryParam("filter", "unanswered")
+                        .queryParam("cursor", nextCursor)
+                        .queryParam("size", "2")
+                        .with(jwt()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.data.length()").value(1),
+                        jsonPath("$.data[0].id").value(TestConstants.QUESTION_ID_2),
+                        jsonPath("$.hasNext").value(false)
+                );
+    }
+
+    @Test
+    void getQuestionsByCursor_MalformedCursor_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX)
+                .queryParam("cursor", "not-a-cursor")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                );
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void getQuestionsByIds_ReturnsQuestionsInRequestOrder() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX)
+                .param("ids", "3", "999", "1")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.data.length()").value(2),
+                        jsonPath("$.data[0].id").value(3),
+                        jsonPath("$.data[1].id").value(1),
+                        jsonPath("$.missingIds.length()").value(1),
+                        jsonPath("$.missingIds[0]").value(999)
+                );
+    }
+
+    @Test
+    void getQuestionsByIds_TooManyIds_ReturnsBadRequest() throws Exception {
+        String[] ids = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).toArray(String[]::new);
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX)
+                .param("ids", ids)
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getQuestions_PageSizeAboveLimit_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX)
+                .queryParam("size", "1000")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                );
+    }
+
     @Test
     @Sql("/sql/questions.sql")
     void getQuestionsByAuthor_UserIsAdmin_ReturnsAllUserQuestions() throws Exception {
@@ -87,6 +487,141 @@ class QuestionControllerIT extends BaseIntegrationTest {
                 );
     }
 
+    @Test
+    @Sql("/sql/questions.sql")
+    void getQuestionById_MatchingETag_ReturnsNotModified() throws Exception {
+        String eTag = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH_PREFIX + "/" + TestConstants.QUESTION_ID_1)
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH_PREFIX + "/" + TestConstants.QUESTION_ID_1)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .with(jwt()))
+                .andExpectAll(
+                        status().isNotModified(),
+                        header().string(HttpHeaders.ETAG, eTag),
+                        content().string("")
+                );
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void getQuestionById_ViewedTwice_CountsViewsBeforeAndAfterFlush() throws Exception {
+        // Views of other tests may still be pending, flush them into this transaction first
+        questionViewCounter.flush();
+        long persisted = persistedViews(TestConstants.QUESTION_ID_1);
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX + "/" + TestConstants.QUESTION_ID_1)
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder).andExpect(status().isOk());
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.views").value(persisted + 2)
+                );
+        this.mockMvc.perform(MockMvcRequestBuilders.get(PATH_PREFIX)
+                        .param("ids", String.valueOf(TestConstants.QUESTION_ID_1))
+                        .with(jwt()))
+                .andExpect(jsonPath("$.data[0].views").value(persisted + 2));
+
+        questionViewCounter.flush();
+        assertThat(persistedViews(TestConstants.QUESTION_ID_1)).isEqualTo(persisted + 2);
+        assertThat(questionViewCounter.pending(TestConstants.QUESTION_ID_1)).isZero();
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void getQuestionById_QuestionUpdatedSinceETag_ReturnsQuestion() throws Exception {
+        String eTag = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH_PREFIX + "/" + TestConstants.QUESTION_ID_1)
+                        .with(jwt()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        this.mockMvc.perform(MockMvcRequestBuilders.put(PATH_PREFIX + "/" + TestConstants.QUESTION_ID_1)
+                        .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(TestConstants.USER_ID_1)))
+                                .authorities(new SimpleGrantedAuthority(TestConstants.ROLE_USER)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "Updated Title", "text": "Updated text"}"""))
+                .andExpect(status().isOk());
+        // Requests share the persistence context of the test transaction, a new request starts with an empty one
+        entityManager.clear();
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH_PREFIX + "/" + TestConstants.QUESTION_ID_1)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .with(jwt()))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string(HttpHeaders.ETAG, not(eTag)),
+                        jsonPath("$.title").value("Updated Title")
+                );
+    }
+
+    @Test
+    @Sql("/sql/questions.sql")
+    void getAllQuestions_MatchingETag_ReturnsNotModified() throws Exception {
+        String eTag = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH_PREFIX)
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH_PREFIX)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .with(jwt()))
+                .andExpectAll(
+                        status().isNotModified(),
+                        content().string("")
+                );
+    }
+
+    @Test
+    @Sql("/sql/answers.sql")
+    void getAnswers_QuestionHasAnswers_ReturnsKeysetPages() throws Exception {
+        var firstPage = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH_PREFIX + "/" + TestConstants.QUESTION_ID_1 + "/answers")
+                        .queryParam("size", "1")
+                        .with(jwt()))
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.data.length()").value(1),
+                        jsonPath("$.data[0].id").value(TestConstants.ANSWER_ID_1),
+                        jsonPath("$.hasNext").value(true)
+                )
+                .andReturn();
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(PATH_PREFIX + "/" + TestConstants.QUESTION_ID_1 + "/answers")
+                        .queryParam("cursor", nextCursor)
+                        .queryParam("size", "1")
+                        .with(jwt()))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.data.length()").value(1),
+                        jsonPath("$.data[0].id").value(2),
+                        jsonPath("$.hasNext").value(false)
+                );
+    }
+
+    @Test
+    void getAnswers_QuestionNotFound_ReturnsNotFound() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH_PREFIX + "/" + TestConstants.NON_EXISTENT_QUESTION_ID + "/answers")
+                .with(jwt());
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @Sql("/sql/questions.sql")
     void getQuestionById_QuestionNotFound_ReturnsNotFound() throws Exception {
@@ -149,6 +684,63 @@ class QuestionControllerIT extends BaseIntegrationTest {
                 );
     }
 
+    @Test
+    void createQuestions_ValidData_InsertsInBatches() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post(PATH_PREFIX + "/batch")
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(TestConstants.ADMIN_USER_ID))))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [{"title": "First question", "text": "Something new"},
+                         {"title": "Second question", "text": "Something new"},
+                         {"title": "Third question", "text": "Something new"}]""");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isCreated(),
+                        jsonPath("$.length()").value(3),
+                        jsonPath("$[0].id").exists(),
+                        jsonPath("$[0].title").value("First question"),
+                        jsonPath("$[2].title").value("Third question"),
+                        jsonPath("$[2].author").value(TestConstants.ADMIN_USER_ID.toString())
+                );
+        entityManager.flush();
+
+        // At most one sequence call and one batched insert instead of an insert per question
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void createQuestions_InvalidQuestion_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post(PATH_PREFIX + "/batch")
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(TestConstants.ADMIN_USER_ID))))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [{"title": "First question", "text": "Something new"},
+                         {"title": "   ", "text": "Something new"}]""");
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                );
+    }
+
+    @Test
+    void createQuestions_TooManyQuestions_ReturnsBadRequest() throws Exception {
+        String question = """
+                {"title": "New question", "text": "Something new"}""";
+        var requestBuilder = MockMvcRequestBuilders.post(PATH_PREFIX + "/batch")
+                .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(TestConstants.ADMIN_USER_ID))))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + String.join(",", Collections.nCopies(QuestionController.MAX_BATCH_SIZE + 1, question)) + "]");
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Sql("/sql/questions.sql")
     void updateQuestion_UserIsAdminAndValidData_ReturnsUpdatedQuestion() throws Exception {
@@ -170,6 +762,26 @@ class QuestionControllerIT extends BaseIntegrationTest {
                 );
     }
 
+    @Test
+    @Sql("/sql/questions.sql")
+    void updateQuestion_VersionBumpedAfterLoad_KeepsBothIncrements() throws Exception {
+        entityManager.find(Question.class, TestConstants.QUESTION_ID_1);
+        entityManager.createNativeQuery("update questions set version = version + 1 where id = :id")
+                .setParameter("id", TestConstants.QUESTION_ID_1)
+                .executeUpdate();
+
+        this.mockMvc.perform(MockMvcRequestBuilders.put(PATH_PREFIX + "/" + TestConstants.QUESTION_ID_1)
+                        .with(jwt().jwt(jwt -> jwt.subject(String.valueOf(TestConstants.USER_ID_1)))
+                                .authorities(new SimpleGrantedAuthority(TestConstants.ROLE_USER)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "Updated Title", "text": "Updated text"}"""))
+                .andExpect(status().isOk());
+        entityManager.flush();
+
+        assertThat(persistedVersion(TestConstants.QUESTION_ID_1)).isEqualTo(2);
+    }
+
     @Test
     @Sql("/sql/questions.sql")
     void updateQuestion_UserIsAuthor_ReturnsUpdatedQuestion() throws Exception {
@@ -185,7 +797,8 @@ class QuestionControllerIT extends BaseIntegrationTest {
                         status().isOk(),
                         content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
                         jsonPath("$.title").value("Updated Title"),
-                        jsonPath("$.text").value("Updated text")
+                        jsonPath("$.text").value("Updated text"),
+                        jsonPath("$.answers.length()").value(1)
                 );
     }
 
@@ -272,4 +885,16 @@ class QuestionControllerIT extends BaseIntegrationTest {
         this.mockMvc.perform(requestBuilder)
                 .andExpect(status().isForbidden());
     }
-}
\ No newline at end of file
+
+    private long persistedVersion(Long questionId) {
+        return ((Number) entityManager.createNativeQuery("select version from questions where id = :id")
+                .setParameter("id", questionId)
+                .getSingleResult()).longValue();
+    }
+
+    private long persistedViews(Long questionId) {
+        return ((Number) entityManager.createNativeQuery("select views from questions where id = :id")
+                .setParameter("id", questionId)
+                .getSingleResult()).longValue();
+    }
+}
@@ -0,0 +1,123 @@
+package com.questionanswer.questions.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.questionanswer.questions.TestConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The export streams from another thread, outside the test transaction,
+ * so the fixtures are committed and removed after each test.
+ */
+@Sql(scripts = "/sql/answers.sql", config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED))
+@Sql(scripts = "/sql/cleanup.sql", config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED),
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class QuestionExportIT extends BaseIntegrationTest {
+    private static final String PATH = "/api/questions/export";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportQuestions_UserIsAdmin_StreamsAllQuestionsWithAnswers() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH)
+                .with(jwt().authorities(new SimpleGrantedAuthority(TestConstants.ROLE_ADMIN)));
+
+        MvcResult result = this.mockMvc.perform(asyncDispatch(startExport(requestBuilder)))
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON),
+                        header().doesNotExist(HttpHeaders.CONTENT_ENCODING)
+                )
+                .andReturn();
+
+        List<JsonNode> lines = readLines(result.getResponse().getContentAsByteArray());
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0).get("id").asLong()).isEqualTo(TestConstants.QUESTION_ID_1);
+        assertThat(lines.get(0).get("answers")).hasSize(2);
+        assertThat(lines.get(1).get("answers")).isEmpty();
+    }
+
+    @Test
+    void exportQuestions_UserIsAuthor_StreamsOwnQuestions() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH)
+                .queryParam("author", String.valueOf(TestConstants.USER_ID_1))
+                .with(jwt()
+                        .jwt(jwt -> jwt.subject(String.valueOf(TestConstants.USER_ID_1)))
+                        .authorities(new SimpleGrantedAuthority(TestConstants.ROLE_USER)));
+
+        MvcResult result = this.mockMvc.perform(asyncDispatch(startExport(requestBuilder)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<JsonNode> lines = readLines(result.getResponse().getContentAsByteArray());
+        assertThat(lines).singleElement()
+                .satisfies(line -> assertThat(line.get("author").asText())
+                        .isEqualTo(TestConstants.USER_ID_1.toString()));
+    }
+
+    @Test
+    void exportQuestions_AcceptsGzip_StreamsCompressedNdjson() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                .with(jwt().authorities(new SimpleGrantedAuthority(TestConstants.ROLE_ADMIN)));
+
+        MvcResult result = this.mockMvc.perform(asyncDispatch(startExport(requestBuilder)))
+                .andExpectAll(
+                        status().isOk(),
+                        header().string(HttpHeaders.CONTENT_ENCODING, "gzip")
+                )
+                .andReturn();
+
+        byte[] body;
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            body = in.readAllBytes();
+        }
+        assertThat(readLines(body)).hasSize(2);
+    }
+
+    @Test
+    void exportQuestions_AllQuestionsAndUserNotAdmin_ReturnsForbidden() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders
+                .get(PATH)
+                .with(jwt()
+                        .jwt(jwt -> jwt.subject(String.valueOf(TestConstants.USER_ID_1)))
+                        .authorities(new SimpleGrantedAuthority(TestConstants.ROLE_USER)));
+
+        this.mockMvc.perform(requestBuilder)
+                .andExpect(status().isForbidden());
+    }
+
+    private MvcResult startExport(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        return this.mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private List<JsonNode> readLines(byte[] body) throws IOException {
+        return objectMapper.readerFor(JsonNode.class).<JsonNode>readValues(body).readAll();
+    }
+}
@@ -0,0 +1,222 @@
+package com.questionanswer.questions.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.questionanswer.questions.TestConstants;
+import com.questionanswer.questions.config.RecordingDataSource;
+import com.questionanswer.questions.config.RecordingDataSource.RecordedStatement;
+import com.questionanswer.questions.controller.BaseIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * Runs every repository query against a realistically sized dataset and fails if PostgreSQL
+ * plans a sequential scan or a sort over the large tables.
+ * The statements are captured exactly as Hibernate sends them and replayed under {@code EXPLAIN (FORMAT JSON)}.
+ */
+@Import(QueryPlanIT.RecordingBeans.class)
+class QueryPlanIT extends BaseIntegrationTest {
+    private static final int QUESTIONS = 20_000;
+    private static final int ANSWERS = 100_000;
+    private static final int AUTHORS = 200;
+    private static final int UNANSWERED_EVERY = 10;
+    private static final Set<String> LARGE_TABLES = Set.of("questions", "answers");
+    private static final Set<String> FORBIDDEN_NODES = Set.of("Seq Scan", "Sort", "Incremental Sort");
+
+    private final Pageable firstPage = PageRequest.of(0, 20, Sort.by("createdAt").descending());
+    private final Pageable limit = PageRequest.ofSize(21);
+    private final Instant cursorCreatedAt = Instant.now().minusSeconds(QUESTIONS / 2);
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private AnswerRepository answerRepository;
+
+    @Autowired
+    private RecordingDataSource recordingDataSource;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void seed() {
+        jdbcClient.sql("""
+                        insert into questions(title, text, author, created_at)
+                        select 'Question title ' || g,
+                               repeat('Question text ', 15),
+                               case when g % :authors = 0 then :author else md5('author' || g % :authors)::uuid end,
+                               now() - g * interval '1 second'
+                        from generate_series(1, :count) g""")
+                .param("authors", AUTHORS)
+                .param("author", TestConstants.USER_ID_1)
+                .param("count", QUESTIONS)
+                .update();
+        jdbcClient.sql("""
+                        insert into answers(text, question_id, author, created_at)
+                        select repeat('Answer text ', 15),
+                               q.id,
+                               case when g % :authors = 0 then :author else md5('author' || g % :authors)::uuid end,
+                               q.created_at + g % 1000 * interval '1 second'
+                        from generate_series(1, :count) g
+                        join questions q on q.title = 'Question title ' || (g % :questions + 1)
+                        where (g % :questions + 1) % :unanswered <> 0""")
+                .param("authors", AUTHORS)
+                .param("author", TestConstants.USER_ID_1)
+                .param("count", ANSWERS)
+                .param("questions", QUESTIONS)
+                .param("unanswered", UNANSWERED_EVERY)
+                .update();
+        jdbcClient.sql("""
+                        update questions q
+                        set answer_count = a.answers
+                        from (select question_id, count(*) answers from answers group by question_id) a
+                        where q.id = a.question_id""")
+                .update();
+        jdbcClient.sql("analyze questions").update();
+        jdbcClient.sql("analyze answers").update();
+        recordingDataSource.clear();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueries_UseIndexesOnly() {
+        Long questionId = jdbcClient.sql("select max(id) from questions").query(Long.class).single();
+        recordingDataSource.clear();
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("QuestionRepository.findById", () -> questionRepository.findById(questionId));
+        queries.put("QuestionRepository.findHeaders", () -> questionRepository.findHeaders(firstPage));
+        queries.put("QuestionRepository.findHeaders by answer count", () -> questionRepository.findHeaders(
+                PageRequest.of(0, 20, Sort.by(Sort.Order.desc("answerCount"), Sort.Order.desc("id")))));
+        queries.put("QuestionRepository.findHeadersByAuthor",
+                () -> questionRepository.findHeadersByAuthor(TestConstants.USER_ID_1, firstPage));
+        queries.put("QuestionRepository.findHeadersByIdIn",
+                () -> questionRepository.findHeadersByIdIn(List.of(questionId, questionId - 1, questionId - 2)));
+        queries.put("QuestionRepository.findFirstHeaders", () -> questionRepository.findFirstHeaders(limit));
+        queries.put("QuestionRepository.findHeadersBeforeCursor",
+                () -> questionRepository.findHeadersBeforeCursor(cursorCreatedAt, Long.MAX_VALUE, limit));
+        queries.put("QuestionRepository.findFirstHeadersByAuthor",
+                () -> questionRepository.findFirstHeadersByAuthor(TestConstants.USER_ID_1, limit));
+        queries.put("QuestionRepository.findHeadersByAuthorBeforeCursor",
+                () -> questionRepository.findHeadersByAuthorBeforeCursor(
+                        TestConstants.USER_ID_1, cursorCreatedAt, Long.MAX_VALUE, limit));
+        queries.put("QuestionRepository.findUnansweredHeaders", () -> questionRepository.findUnansweredHeaders(firstPage));
+        queries.put("QuestionRepository.findFirstUnansweredHeaders",
+                () -> questionRepository.findFirstUnansweredHeaders(limit));
+        queries.put("QuestionRepository.findUnansweredHeadersBeforeCursor",
+                () -> questionRepository.findUnansweredHeadersBeforeCursor(cursorCreatedAt, Long.MAX_VALUE, limit));
+        queries.put("QuestionRepository.countUnanswered", questionRepository::countUnanswered);
+        queries.put("QuestionRepository.countByAuthor", () -> questionRepository.countByAuthor(TestConstants.USER_ID_1));
+        queries.put("AnswerRepository.findResponsesByAuthor",
+                () -> answerRepository.findResponsesByAuthor(TestConstants.USER_ID_1, firstPage));
+        queries.put("AnswerRepository.findFirstResponsesByAuthor",
+                () -> answerRepository.findFirstResponsesByAuthor(TestConstants.USER_ID_1, limit));
+        queries.put("AnswerRepository.findResponsesByAuthorBeforeCursor",
+                () -> answerRepository.findResponsesByAuthorBeforeCursor(
+                        TestConstants.USER_ID_1, cursorCreatedAt, Long.MAX_VALUE, limit));
+        queries.put("AnswerRepository.findFirstItemsByQuestion",
+                () -> answerRepository.findFirstItemsByQuestion(questionId, limit));
+        queries.put("AnswerRepository.findItemsByQuestionAfterCursor",
+                () -> answerRepository.findItemsByQuestionAfterCursor(questionId, Instant.EPOCH, 0L, limit));
+        queries.put("AnswerRepository.countByQuestionId", () -> answerRepository.countByQuestionId(questionId));
+        queries.put("AnswerRepository.countByAuthor", () -> answerRepository.countByAuthor(TestConstants.USER_ID_1));
+        queries.put("AnswerRepository.insertIfAbsent",
+                () -> answerRepository.insertIfAbsent(
+                        Long.MAX_VALUE, questionId, "Answer text", UUID.randomUUID(), Instant.now()));
+
+        return queries.entrySet().stream().map(query -> DynamicTest.dynamicTest(query.getKey(), () -> {
+            recordingDataSource.clear();
+            query.getValue().run();
+
+            List<RecordedStatement> statements = recordingDataSource.getStatements();
+            assertThat(statements).as("statements of %s", query.getKey()).isNotEmpty();
+            for (RecordedStatement statement : statements) {
+                assertIndexOnlyPlan(statement);
+            }
+        }));
+    }
+
+    private void assertIndexOnlyPlan(RecordedStatement statement) {
+        JsonNode plan = jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement explain = statement.prepare(connection, "explain (format json) ");
+                 ResultSet resultSet = explain.executeQuery()) {
+                resultSet.next();
+                return readTree(resultSet.getString(1));
+            }
+        });
+
+        List<String> violations = new ArrayList<>();
+        collectViolations(plan.get(0).get("Plan"), violations);
+        if (!violations.isEmpty()) {
+            fail("%s%nin plan of:%n%s%n%s".formatted(violations, statement.sql(), plan.toPrettyString()));
+        }
+    }
+
+    private void collectViolations(JsonNode node, List<String> violations) {
+        String nodeType = node.path("Node Type").asText();
+        String relation = node.path("Relation Name").asText(null);
+        if (FORBIDDEN_NODES.contains(nodeType) && (relation == null || LARGE_TABLES.contains(relation))) {
+            violations.add(relation == null ? nodeType : nodeType + " on " + relation);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectViolations(child, violations);
+        }
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected EXPLAIN output: " + json, e);
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingBeans {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)) {
+                        return new RecordingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
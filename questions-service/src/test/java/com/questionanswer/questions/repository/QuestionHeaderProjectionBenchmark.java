@@ -0,0 +1,109 @@
+package com.questionanswer.questions.repository;
+
+import com.questionanswer.questions.controller.BaseIntegrationTest;
+import com.questionanswer.questions.dto.QuestionHeader;
+import com.questionanswer.questions.entity.Question;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares allocation and latency of a listing page built from entities against the header projection.
+ * Run with {@code QUESTIONS_BENCHMARK=true ./gradlew :questions-service:test --tests '*Benchmark'}.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "QUESTIONS_BENCHMARK", matches = "true")
+class QuestionHeaderProjectionBenchmark extends BaseIntegrationTest {
+    private static final Logger log = LoggerFactory.getLogger(QuestionHeaderProjectionBenchmark.class);
+    private static final int QUESTIONS = 50_000;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 1_000;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    private final Pageable pageable = PageRequest.of(10, 20, Sort.by("createdAt").descending());
+
+    @BeforeEach
+    void seed() {
+        jdbcClient.sql("""
+                        insert into questions(title, text, author, created_at)
+                        select 'Question title ' || g, repeat('Lorem ipsum dolor sit amet ', 11), gen_random_uuid(),
+                               now() - g * interval '1 second'
+                        from generate_series(1, :count) g""")
+                .param("count", QUESTIONS)
+                .update();
+        jdbcClient.sql("analyze questions").update();
+    }
+
+    @Test
+    void headerProjection_AllocatesLessThanEntityMapping() {
+        // Same page and limit as the projection's slice query, without the count query of findAll(Pageable)
+        Result entities = measure(() -> entityManager
+                .createQuery("select q from Question q order by q.createdAt desc", Question.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultStream()
+                .map(QuestionHeaderProjectionBenchmark::toHeader)
+                .toList());
+        Result projection = measure(() -> questionRepository.findHeaders(pageable).getContent());
+
+        log.info("entities: {} bytes/page, {} ns/page", entities.bytesPerPage(), entities.nanosPerPage());
+        log.info("projection: {} bytes/page, {} ns/page", projection.bytesPerPage(), projection.nanosPerPage());
+
+        assertThat(projection.bytesPerPage()).isLessThan(entities.bytesPerPage());
+    }
+
+    private Result measure(Supplier<List<QuestionHeader>> page) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            page.get();
+            entityManager.clear();
+        }
+
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            page.get();
+            // Every request starts with an empty persistence context
+            entityManager.clear();
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Result(allocated / MEASURED_ITERATIONS, elapsed / MEASURED_ITERATIONS);
+    }
+
+    /**
+     * The mapping listings used before the projection, the text is loaded in full and cut afterwards.
+     */
+    private static QuestionHeader toHeader(Question question) {
+        return new QuestionHeader(question.getId(), question.getTitle(),
+                question.getText().substring(0, Math.min(question.getText().length(), 120)) + "...",
+                question.getAuthor(), question.getCreatedAt(), question.getViews(), question.getAnswerCount());
+    }
+
+    private record Result(long bytesPerPage, long nanosPerPage) {
+    }
+}
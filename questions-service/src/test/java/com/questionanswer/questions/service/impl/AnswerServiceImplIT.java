@@ -0,0 +1,105 @@
+package com.questionanswer.questions.service.impl;
+
+import com.questionanswer.questions.TestConstants;
+import com.questionanswer.questions.controller.BaseIntegrationTest;
+import com.questionanswer.questions.dto.AnswerResponse;
+import com.questionanswer.questions.dto.PagedResponse;
+import com.questionanswer.questions.service.AnswerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link AnswerServiceImpl}
+ */
+@SpringBootTest
+class AnswerServiceImplIT extends BaseIntegrationTest {
+    private static final int ANSWERS = 50;
+
+    @Autowired
+    private AnswerService answerService;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.sql("""
+                        insert into questions(id, title, text, author)
+                        select g, 'Question title ' || g, repeat('Question text ', 20), :questionAuthor
+                        from generate_series(1, :count) g""")
+                .param("questionAuthor", TestConstants.USER_ID_2)
+                .param("count", ANSWERS)
+                .update();
+        jdbcClient.sql("""
+                        insert into answers(text, question_id, author)
+                        select 'Answer text ' || g, g, :answerAuthor
+                        from generate_series(1, :count) g""")
+                .param("answerAuthor", TestConstants.USER_ID_1)
+                .param("count", ANSWERS)
+                .update();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 40})
+    void getAnswersByAuthor_AnyPageSize_ExecutesSingleStatement(int size) {
+        PagedResponse<AnswerResponse> result = answerService.getAnswersByAuthor(
+                TestConstants.USER_ID_1,
+                PageRequest.of(0, size, Sort.by("createdAt").descending()),
+                false
+        );
+
+        assertThat(result.data()).hasSize(size);
+        assertThat(result.data().get(0).question().text()).hasSize(123);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void createAnswer_ValidData_CountsAndVersionsInSingleStatement() {
+        Jwt jwt = Jwt.withTokenValue("test-token")
+                .header("alg", "HS256")
+                .claim("sub", TestConstants.ADMIN_USER_ID.toString())
+                .build();
+        var accessToken = new JwtAuthenticationToken(jwt, List.of(), TestConstants.ADMIN_USER_ID.toString());
+
+        answerService.createAnswer(1L, "Answer text", accessToken);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(jdbcClient.sql("select answer_count, version from questions where id = 1")
+                .query((resultSet, row) -> List.of(resultSet.getLong(1), resultSet.getLong(2)))
+                .single()).containsExactly(1L, 1L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 40})
+    void getAnswersByAuthorByCursor_AnyPageSize_ExecutesSingleStatement(int size) {
+        var result = answerService.getAnswersByAuthor(TestConstants.USER_ID_1, null, size);
+
+        assertThat(result.data()).hasSize(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -1,26 +1,34 @@
 package com.questionanswer.questions.service.impl;
 
 import com.questionanswer.questions.TestConstants;
+import com.questionanswer.questions.components.IdBlocks;
 import com.questionanswer.questions.components.SecurityUtils;
+import com.questionanswer.questions.components.TotalCountProvider;
 import com.questionanswer.questions.dto.AnswerResponse;
+import com.questionanswer.questions.dto.InsertedAnswer;
 import com.questionanswer.questions.dto.PagedResponse;
+import com.questionanswer.questions.dto.QuestionHeader;
 import com.questionanswer.questions.entity.Answer;
 import com.questionanswer.questions.entity.Question;
+import com.questionanswer.questions.events.AnswerChangedEvent;
+import com.questionanswer.questions.events.AnswerVotedEvent;
 import com.questionanswer.questions.exception.AnswerAlreadyExistsException;
 import com.questionanswer.questions.exception.AnswerNotFoundException;
 import com.questionanswer.questions.exception.AnswerOwnQuestionException;
+import com.questionanswer.questions.exception.QuestionNotFoundException;
 import com.questionanswer.questions.repository.AnswerRepository;
-import com.questionanswer.questions.service.QuestionService;
+import com.questionanswer.questions.repository.VoteRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -36,6 +44,7 @@ import java.util.stream.Stream;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -48,11 +57,20 @@ class AnswerServiceImplTest {
     private AnswerRepository answerRepository;
 
     @Mock
-    private QuestionService questionService;
+    private VoteRepository voteRepository;
 
     @Mock
     private SecurityUtils securityUtils;
 
+    @Mock
+    private TotalCountProvider totalCountProvider;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private IdBlocks idBlocks;
+
     @InjectMocks
     private AnswerServiceImpl answerService;
 
@@ -72,7 +90,11 @@ class AnswerServiceImplTest {
                 TestConstants.TEST_QUESTION_TEXT,
                 TestConstants.USER_ID_2,
                 new ArrayList<>(),
-                Instant.now()
+                Instant.now(),
+                0,
+                0,
+                0,
+                null
         );
 
         testAnswer = new Answer(
@@ -80,7 +102,8 @@ class AnswerServiceImplTest {
                 TestConstants.TEST_ANSWER_TEXT,
                 TestConstants.USER_ID_1,
                 testQuestion,
-                Instant.now()
+                Instant.now(),
+                0
         );
 
         adminToken = createJwtToken(TestConstants.ADMIN_USER_ID, TestConstants.ROLE_ADMIN);
@@ -94,43 +117,46 @@ class AnswerServiceImplTest {
     @Test
     void getAnswersByAuthor_AuthorHasAnswers_ReturnsPagedResponse() {
         // Arrange
-        Page<Answer> answerPage = new PageImpl<>(List.of(testAnswer), testPageable, 1);
-        when(answerRepository.findAllByAuthorOrderByCreatedAtDesc(TestConstants.USER_ID_1, testPageable))
-                .thenReturn(answerPage);
+        QuestionHeader questionHeader = new QuestionHeader(TestConstants.QUESTION_ID_1, TestConstants.TEST_QUESTION_TITLE,
+                TestConstants.TEST_QUESTION_TEXT, TestConstants.USER_ID_2, testQuestion.getCreatedAt(), 0, 0);
+        AnswerResponse answerResponse = new AnswerResponse(TestConstants.ANSWER_ID_1, TestConstants.TEST_ANSWER_TEXT,
+                TestConstants.USER_ID_1, questionHeader, testAnswer.getCreatedAt());
+        Slice<AnswerResponse> answerSlice = new SliceImpl<>(List.of(answerResponse), testPageable, false);
+        when(answerRepository.findResponsesByAuthor(TestConstants.USER_ID_1, testPageable))
+                .thenReturn(answerSlice);
 
         // Act
-        PagedResponse<AnswerResponse> result = answerService.getAnswersByAuthor(TestConstants.USER_ID_1, testPageable);
+        PagedResponse<AnswerResponse> result = answerService.getAnswersByAuthor(TestConstants.USER_ID_1, testPageable, true);
 
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.data()).hasSize(1);
-        verify(answerRepository).findAllByAuthorOrderByCreatedAtDesc(TestConstants.USER_ID_1, testPageable);
+        verify(answerRepository).findResponsesByAuthor(TestConstants.USER_ID_1, testPageable);
     }
 
     @Test
     void getAnswersByAuthor_AuthorHasNoAnswers_ReturnsEmptyPagedResponse() {
         // Arrange
-        Page<Answer> emptyPage = new PageImpl<>(List.of(), testPageable, 0);
-        when(answerRepository.findAllByAuthorOrderByCreatedAtDesc(TestConstants.USER_ID_1, testPageable))
-                .thenReturn(emptyPage);
+        Slice<AnswerResponse> emptySlice = new SliceImpl<>(List.of(), testPageable, false);
+        when(answerRepository.findResponsesByAuthor(TestConstants.USER_ID_1, testPageable))
+                .thenReturn(emptySlice);
 
         // Act
-        PagedResponse<AnswerResponse> result = answerService.getAnswersByAuthor(TestConstants.USER_ID_1, testPageable);
+        PagedResponse<AnswerResponse> result = answerService.getAnswersByAuthor(TestConstants.USER_ID_1, testPageable, true);
 
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.data()).isEmpty();
-        verify(answerRepository).findAllByAuthorOrderByCreatedAtDesc(TestConstants.USER_ID_1, testPageable);
+        verify(answerRepository).findResponsesByAuthor(TestConstants.USER_ID_1, testPageable);
     }
 
     @Test
     void createAnswerToQuestion_ValidData_CreatesAnswer() {
         // Arrange
-        when(questionService.getQuestion(TestConstants.QUESTION_ID_1)).thenReturn(testQuestion);
         when(securityUtils.getCurrentUserId(otherUserToken)).thenReturn(TestConstants.USER_ID_1);
-        when(answerRepository.existsByQuestionIdAndAuthor(TestConstants.QUESTION_ID_1, TestConstants.USER_ID_1))
-                .thenReturn(false);
-        when(answerRepository.save(any(Answer.class))).thenReturn(testAnswer);
+        when(answerRepository.insertIfAbsent(anyLong(), eq(TestConstants.QUESTION_ID_1),
+                eq(TestConstants.TEST_ANSWER_TEXT), eq(TestConstants.USER_ID_1), any(Instant.class)))
+                .thenReturn(Optional.of(insertedAnswer(TestConstants.ANSWER_ID_1)));
 
         // Act
         Answer result = answerService.createAnswer(
@@ -140,17 +166,22 @@ class AnswerServiceImplTest {
         );
 
         // Assert
-        assertThat(result).isEqualTo(testAnswer);
-        verify(questionService).getQuestion(TestConstants.QUESTION_ID_1);
-        verify(answerRepository).existsByQuestionIdAndAuthor(TestConstants.QUESTION_ID_1, TestConstants.USER_ID_1);
-        verify(answerRepository).save(any(Answer.class));
+        assertThat(result.getId()).isEqualTo(TestConstants.ANSWER_ID_1);
+        assertThat(result.getAuthor()).isEqualTo(TestConstants.USER_ID_1);
+        assertThat(result.getQuestion().getId()).isEqualTo(TestConstants.QUESTION_ID_1);
+        assertThat(result.getQuestion().getAuthor()).isEqualTo(TestConstants.USER_ID_2);
+        assertThat(result.getQuestion().getTitle()).isEqualTo(TestConstants.TEST_QUESTION_TITLE);
+        verify(answerRepository, never()).save(any(Answer.class));
+        verify(applicationEventPublisher).publishEvent(any(AnswerChangedEvent.class));
     }
 
     @Test
     void createAnswerToQuestion_UserAnswersOwnQuestion_ThrowsAnswerOwnQuestionException() {
         // Arrange
-        when(questionService.getQuestion(TestConstants.QUESTION_ID_1)).thenReturn(testQuestion);
         when(securityUtils.getCurrentUserId(questionAuthorToken)).thenReturn(TestConstants.USER_ID_2);
+        when(answerRepository.insertIfAbsent(anyLong(), eq(TestConstants.QUESTION_ID_1),
+                eq(TestConstants.TEST_ANSWER_TEXT), eq(TestConstants.USER_ID_2), any(Instant.class)))
+                .thenReturn(Optional.of(insertedAnswer(null)));
 
         // Act & Assert
         assertThatThrownBy(() -> answerService.createAnswer(
@@ -161,16 +192,16 @@ class AnswerServiceImplTest {
                 .isInstanceOf(AnswerOwnQuestionException.class)
                 .hasMessage("You can not answer to your own question");
 
-        verify(answerRepository, never()).save(any(Answer.class));
+        verifyNoInteractions(applicationEventPublisher);
     }
 
     @Test
     void createAnswerToQuestion_UserAlreadyAnswered_ThrowsAnswerAlreadyExistsException() {
         // Arrange
-        when(questionService.getQuestion(TestConstants.QUESTION_ID_1)).thenReturn(testQuestion);
         when(securityUtils.getCurrentUserId(otherUserToken)).thenReturn(TestConstants.USER_ID_1);
-        when(answerRepository.existsByQuestionIdAndAuthor(TestConstants.QUESTION_ID_1, TestConstants.USER_ID_1))
-                .thenReturn(true);
+        when(answerRepository.insertIfAbsent(anyLong(), eq(TestConstants.QUESTION_ID_1),
+                eq(TestConstants.TEST_ANSWER_TEXT), eq(TestConstants.USER_ID_1), any(Instant.class)))
+                .thenReturn(Optional.of(insertedAnswer(null)));
 
         // Act & Assert
         assertThatThrownBy(() -> answerService.createAnswer(
@@ -180,7 +211,26 @@ class AnswerServiceImplTest {
         ))
                 .isInstanceOf(AnswerAlreadyExistsException.class);
 
-        verify(answerRepository, never()).save(any(Answer.class));
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    void createAnswerToQuestion_QuestionNotFound_ThrowsQuestionNotFoundException() {
+        // Arrange
+        when(securityUtils.getCurrentUserId(otherUserToken)).thenReturn(TestConstants.USER_ID_1);
+        when(answerRepository.insertIfAbsent(anyLong(), eq(TestConstants.QUESTION_ID_1),
+                eq(TestConstants.TEST_ANSWER_TEXT), eq(TestConstants.USER_ID_1), any(Instant.class)))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> answerService.createAnswer(
+                TestConstants.QUESTION_ID_1,
+                TestConstants.TEST_ANSWER_TEXT,
+                otherUserToken
+        ))
+                .isInstanceOf(QuestionNotFoundException.class);
+
+        verifyNoInteractions(applicationEventPublisher);
     }
 
     @Test
@@ -194,7 +244,7 @@ class AnswerServiceImplTest {
         answerService.deleteAnswer(TestConstants.ANSWER_ID_1, adminToken);
 
         // Assert
-        verify(answerRepository).delete(testAnswer);
+        verify(answerRepository).deleteCounted(TestConstants.ANSWER_ID_1);
     }
 
     @Test
@@ -208,7 +258,7 @@ class AnswerServiceImplTest {
         answerService.deleteAnswer(TestConstants.ANSWER_ID_1, answerAuthorToken);
 
         // Assert
-        verify(answerRepository).delete(testAnswer);
+        verify(answerRepository).deleteCounted(TestConstants.ANSWER_ID_1);
     }
 
     @Test
@@ -223,7 +273,7 @@ class AnswerServiceImplTest {
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessage("You do not have access to this answer");
 
-        verify(answerRepository, never()).delete(any(Answer.class));
+        verify(answerRepository, never()).deleteCounted(any());
     }
 
     @Test
@@ -236,7 +286,88 @@ class AnswerServiceImplTest {
         assertThatThrownBy(() -> answerService.deleteAnswer(TestConstants.NON_EXISTENT_ANSWER_ID, answerAuthorToken))
                 .isInstanceOf(AnswerNotFoundException.class);
 
-        verify(answerRepository, never()).delete(any(Answer.class));
+        verify(answerRepository, never()).deleteCounted(any());
+    }
+
+    @Test
+    void vote_FirstVote_InsertsVoteAndPublishesDelta() {
+        // Arrange
+        when(securityUtils.getCurrentUserId(otherUserToken)).thenReturn(TestConstants.USER_ID_2);
+        when(voteRepository.findValueForUpdate(TestConstants.ANSWER_ID_1, TestConstants.USER_ID_2))
+                .thenReturn(Optional.empty());
+        when(voteRepository.insertIfAbsent(TestConstants.ANSWER_ID_1, TestConstants.USER_ID_2, 1)).thenReturn(1);
+
+        // Act
+        int delta = answerService.vote(TestConstants.ANSWER_ID_1, 1, otherUserToken);
+
+        // Assert
+        assertThat(delta).isEqualTo(1);
+        verify(applicationEventPublisher).publishEvent(new AnswerVotedEvent(TestConstants.ANSWER_ID_1, 1));
+    }
+
+    @Test
+    void vote_UpVoteChangedToDownVote_UpdatesVoteAndPublishesDelta() {
+        // Arrange
+        when(securityUtils.getCurrentUserId(otherUserToken)).thenReturn(TestConstants.USER_ID_2);
+        when(voteRepository.findValueForUpdate(TestConstants.ANSWER_ID_1, TestConstants.USER_ID_2))
+                .thenReturn(Optional.of(1));
+
+        // Act
+        int delta = answerService.vote(TestConstants.ANSWER_ID_1, -1, otherUserToken);
+
+        // Assert
+        assertThat(delta).isEqualTo(-2);
+        verify(voteRepository).updateValue(TestConstants.ANSWER_ID_1, TestConstants.USER_ID_2, -1);
+        verify(voteRepository, never()).insertIfAbsent(any(), any(), anyInt());
+        verify(applicationEventPublisher).publishEvent(new AnswerVotedEvent(TestConstants.ANSWER_ID_1, -2));
+    }
+
+    @Test
+    void vote_SameVoteRepeated_PublishesNothing() {
+        // Arrange
+        when(securityUtils.getCurrentUserId(otherUserToken)).thenReturn(TestConstants.USER_ID_2);
+        when(voteRepository.findValueForUpdate(TestConstants.ANSWER_ID_1, TestConstants.USER_ID_2))
+                .thenReturn(Optional.of(1));
+
+        // Act
+        int delta = answerService.vote(TestConstants.ANSWER_ID_1, 1, otherUserToken);
+
+        // Assert
+        assertThat(delta).isZero();
+        verify(voteRepository, never()).updateValue(any(), any(), anyInt());
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    void vote_VoteRetracted_DeletesVoteAndPublishesDelta() {
+        // Arrange
+        when(securityUtils.getCurrentUserId(otherUserToken)).thenReturn(TestConstants.USER_ID_2);
+        when(voteRepository.deleteReturningValue(TestConstants.ANSWER_ID_1, TestConstants.USER_ID_2))
+                .thenReturn(Optional.of(-1));
+
+        // Act
+        int delta = answerService.vote(TestConstants.ANSWER_ID_1, 0, otherUserToken);
+
+        // Assert
+        assertThat(delta).isEqualTo(1);
+        verify(applicationEventPublisher).publishEvent(new AnswerVotedEvent(TestConstants.ANSWER_ID_1, 1));
+    }
+
+    @Test
+    void vote_AnswerNotFound_ThrowsAnswerNotFoundException() {
+        // Arrange
+        when(securityUtils.getCurrentUserId(otherUserToken)).thenReturn(TestConstants.USER_ID_2);
+        when(voteRepository.findValueForUpdate(TestConstants.NON_EXISTENT_ANSWER_ID, TestConstants.USER_ID_2))
+                .thenReturn(Optional.empty());
+        when(voteRepository.insertIfAbsent(TestConstants.NON_EXISTENT_ANSWER_ID, TestConstants.USER_ID_2, 1))
+                .thenReturn(0);
+        when(answerRepository.existsById(TestConstants.NON_EXISTENT_ANSWER_ID)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> answerService.vote(TestConstants.NON_EXISTENT_ANSWER_ID, 1, otherUserToken))
+                .isInstanceOf(AnswerNotFoundException.class);
+
+        verifyNoInteractions(applicationEventPublisher);
     }
 
     private JwtAuthenticationToken createJwtToken(UUID subject, String... authorities) {
@@ -253,4 +384,23 @@ class AnswerServiceImplTest {
 
         return new JwtAuthenticationToken(jwt, grantedAuthorities, subject.toString());
     }
-}
\ No newline at end of file
+
+    private InsertedAnswer insertedAnswer(Long id) {
+        return new InsertedAnswer() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getQuestionAuthor() {
+                return testQuestion.getAuthor();
+            }
+
+            @Override
+            public String getQuestionTitle() {
+                return testQuestion.getTitle();
+            }
+        };
+    }
+}
@@ -1,37 +1,58 @@
 package com.questionanswer.questions.service.impl;
 
+import com.questionanswer.questions.components.AnswerScoreCounter;
+import com.questionanswer.questions.components.HotQuestionFeed;
+import com.questionanswer.questions.components.MinHash;
+import com.questionanswer.questions.components.QuestionCache;
+import com.questionanswer.questions.components.QuestionDuplicateIndex;
+import com.questionanswer.questions.components.QuestionListingVersion;
+import com.questionanswer.questions.components.QuestionViewCounter;
 import com.questionanswer.questions.components.SecurityUtils;
+import com.questionanswer.questions.components.TotalCountProvider;
 import com.questionanswer.questions.dto.*;
 import com.questionanswer.questions.entity.Question;
+import com.questionanswer.questions.events.QuestionChangedEvent;
+import com.questionanswer.questions.events.QuestionsCreatedEvent;
 import com.questionanswer.questions.exception.QuestionNotFoundException;
+import com.questionanswer.questions.mapper.QuestionMapper;
+import com.questionanswer.questions.repository.AnswerRepository;
 import com.questionanswer.questions.repository.QuestionRepository;
 import com.questionanswer.questions.TestConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -43,13 +64,41 @@ class QuestionServiceImplTest {
     @Mock
     private QuestionRepository questionRepository;
 
+    @Mock
+    private AnswerRepository answerRepository;
+
+    @Spy
+    private QuestionCache questionCache = new QuestionCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+    @Mock
+    private QuestionListingVersion questionListingVersion;
+
+    @Mock
+    private QuestionViewCounter questionViewCounter;
+
+    @Mock
+    private AnswerScoreCounter answerScoreCounter;
+
+    @Mock
+    private QuestionDuplicateIndex questionDuplicateIndex;
+
+    @Mock
+    private HotQuestionFeed hotQuestionFeed;
+
     @Mock
     private SecurityUtils securityUtils;
 
+    @Mock
+    private TotalCountProvider totalCountProvider;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
     @InjectMocks
     private QuestionServiceImpl questionService;
 
     private Question testQuestion;
+    private QuestionHeader testHeader;
     private JwtAuthenticationToken adminToken;
     private JwtAuthenticationToken questionAuthorToken;
     private JwtAuthenticationToken otherUserToken;
@@ -63,6 +112,8 @@ class QuestionServiceImplTest {
         testQuestion.setText(TestConstants.TEST_QUESTION_TEXT);
         testQuestion.setAuthor(TestConstants.USER_ID_1);
         testQuestion.setCreatedAt(Instant.now());
+        testHeader = new QuestionHeader(TestConstants.QUESTION_ID_1, TestConstants.TEST_QUESTION_TITLE,
+                TestConstants.TEST_QUESTION_TEXT, TestConstants.USER_ID_1, testQuestion.getCreatedAt(), 0, 0);
 
         adminToken = createJwtToken(TestConstants.ADMIN_USER_ID, TestConstants.ROLE_ADMIN);
         questionAuthorToken = createJwtToken(TestConstants.USER_ID_1, TestConstants.ROLE_USER);
@@ -87,6 +138,118 @@ class QuestionServiceImplTest {
         verify(questionRepository).findById(TestConstants.QUESTION_ID_1);
     }
 
+    @Test
+    void getQuestionWithAnswers_ViewsPending_AddsPendingToPersistedViews() {
+        // Arrange
+        testQuestion.setViews(40);
+        when(questionRepository.findById(TestConstants.QUESTION_ID_1))
+                .thenReturn(Optional.of(testQuestion));
+        when(questionViewCounter.pending(TestConstants.QUESTION_ID_1)).thenReturn(2L);
+
+        // Act
+        QuestionResponse result = questionService.getQuestionWithAnswers(TestConstants.QUESTION_ID_1);
+
+        // Assert
+        assertThat(result.views()).isEqualTo(42);
+    }
+
+    @Test
+    void getQuestions_ViewsPending_AddsPendingToHeaders() {
+        // Arrange
+        Slice<QuestionHeader> slice = new SliceImpl<>(List.of(testHeader.withViews(40)), testPageable, false);
+        when(questionRepository.findHeaders(testPageable)).thenReturn(slice);
+        when(questionViewCounter.pending(TestConstants.QUESTION_ID_1)).thenReturn(2L);
+
+        // Act
+        PagedResponse<QuestionHeader> result = questionService.getQuestions(testPageable, false);
+
+        // Assert
+        assertThat(result.data()).extracting(QuestionHeader::views).containsExactly(42L);
+    }
+
+    @Test
+    void getQuestion_CalledTwice_LoadsOnce() {
+        // Arrange
+        when(questionRepository.findById(TestConstants.QUESTION_ID_1))
+                .thenReturn(Optional.of(testQuestion));
+
+        // Act
+        questionService.getQuestion(TestConstants.QUESTION_ID_1);
+        Question result = questionService.getQuestion(TestConstants.QUESTION_ID_1);
+
+        // Assert
+        assertThat(result).isNotSameAs(testQuestion);
+        assertThat(result.getTitle()).isEqualTo(TestConstants.TEST_QUESTION_TITLE);
+        verify(questionRepository, times(1)).findById(TestConstants.QUESTION_ID_1);
+    }
+
+    @Test
+    void getQuestionVersion_QuestionCached_ReturnsVersionWithoutLoading() {
+        // Arrange
+        testQuestion.setVersion(3);
+        when(questionRepository.findById(TestConstants.QUESTION_ID_1))
+                .thenReturn(Optional.of(testQuestion));
+        questionService.getQuestion(TestConstants.QUESTION_ID_1);
+
+        // Act
+        long result = questionService.getQuestionVersion(TestConstants.QUESTION_ID_1);
+
+        // Assert
+        assertThat(result).isEqualTo(3);
+        verify(questionRepository, times(1)).findById(TestConstants.QUESTION_ID_1);
+    }
+
+    @Test
+    void getQuestion_QuestionHasManyAnswers_ReturnsFirstAnswersAndCount() {
+        // Arrange
+        List<AnswerItem> answers = LongStream.rangeClosed(1, 21)
+                .mapToObj(id -> new AnswerItem(id, TestConstants.TEST_ANSWER_TEXT, TestConstants.USER_ID_2, Instant.now(), 0))
+                .toList();
+        when(questionRepository.findById(TestConstants.QUESTION_ID_1))
+                .thenReturn(Optional.of(testQuestion));
+        when(answerRepository.findFirstItemsByQuestion(TestConstants.QUESTION_ID_1, PageRequest.ofSize(21)))
+                .thenReturn(answers);
+        testQuestion.setAnswerCount(500);
+
+        // Act
+        QuestionResponse result = questionService.getQuestionWithAnswers(TestConstants.QUESTION_ID_1);
+
+        // Assert
+        assertThat(result.answers()).hasSize(20);
+        assertThat(result.answerCount()).isEqualTo(500);
+        assertThat(result.answersCursor()).isNotNull();
+    }
+
+    @Test
+    void getAnswersByScore_FirstPageHasMore_ReturnsScoreCursorAndPendingScores() {
+        // Arrange
+        Instant now = Instant.now();
+        List<AnswerItem> answers = List.of(
+                new AnswerItem(2L, TestConstants.TEST_ANSWER_TEXT, TestConstants.USER_ID_2, now, 7),
+                new AnswerItem(1L, TestConstants.TEST_ANSWER_TEXT, TestConstants.ADMIN_USER_ID, now, 3));
+        when(answerRepository.findFirstItemsByQuestionByScore(TestConstants.QUESTION_ID_1, PageRequest.ofSize(2)))
+                .thenReturn(answers);
+        when(answerScoreCounter.pending(2L)).thenReturn(-1L);
+
+        // Act
+        CursorPagedResponse<AnswerItem> result =
+                questionService.getAnswersByScore(TestConstants.QUESTION_ID_1, null, 1);
+
+        // Assert
+        assertThat(result.data()).extracting(AnswerItem::score).containsExactly(6L);
+        assertThat(ScoreCursor.decode(result.nextCursor())).isEqualTo(new ScoreCursor(7, 2L));
+    }
+
+    @Test
+    void getAnswers_QuestionNotFound_ThrowsQuestionNotFoundException() {
+        // Arrange
+        when(questionRepository.existsById(TestConstants.NON_EXISTENT_QUESTION_ID)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> questionService.getAnswers(TestConstants.NON_EXISTENT_QUESTION_ID, null, 10))
+                .isInstanceOf(QuestionNotFoundException.class);
+    }
+
     @Test
     void getQuestion_QuestionNotFound_ThrowsQuestionNotFoundException() {
         // Arrange
@@ -101,32 +264,339 @@ class QuestionServiceImplTest {
     @Test
     void getQuestions_ReturnsPagedResponse() {
         // Arrange
-        Page<Question> questionPage = new PageImpl<>(List.of(testQuestion), testPageable, 1);
-        when(questionRepository.findAll(testPageable)).thenReturn(questionPage);
+        Slice<QuestionHeader> questionSlice = new SliceImpl<>(List.of(testHeader), testPageable, false);
+        when(questionRepository.findHeaders(testPageable)).thenReturn(questionSlice);
 
         // Act
-        PagedResponse<QuestionHeader> result = questionService.getQuestions(testPageable);
+        PagedResponse<QuestionHeader> result = questionService.getQuestions(testPageable, true);
 
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.data()).hasSize(1);
-        verify(questionRepository).findAll(testPageable);
+        assertThat(result.totalItems()).isEqualTo(1);
+        verify(questionRepository).findHeaders(testPageable);
+    }
+
+    @Test
+    void getQuestions_FullPageWithTotal_UsesCountProvider() {
+        // Arrange
+        Pageable singleItemPage = PageRequest.of(0, 1);
+        Slice<QuestionHeader> questionSlice = new SliceImpl<>(List.of(testHeader), singleItemPage, true);
+        when(questionRepository.findHeaders(singleItemPage)).thenReturn(questionSlice);
+        when(totalCountProvider.countQuestions()).thenReturn(42L);
+
+        // Act
+        PagedResponse<QuestionHeader> result = questionService.getQuestions(singleItemPage, true);
+
+        // Assert
+        assertThat(result.totalItems()).isEqualTo(42);
+        assertThat(result.totalPages()).isEqualTo(42);
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @Test
+    void getQuestions_WithoutTotal_SkipsCounting() {
+        // Arrange
+        Pageable singleItemPage = PageRequest.of(0, 1);
+        Slice<QuestionHeader> questionSlice = new SliceImpl<>(List.of(testHeader), singleItemPage, true);
+        when(questionRepository.findHeaders(singleItemPage)).thenReturn(questionSlice);
+
+        // Act
+        PagedResponse<QuestionHeader> result = questionService.getQuestions(singleItemPage, false);
+
+        // Assert
+        assertThat(result.totalItems()).isNull();
+        assertThat(result.hasNext()).isTrue();
+        verifyNoInteractions(totalCountProvider);
     }
 
     @Test
     void getQuestionsByAuthor_ReturnsPagedResponse() {
         // Arrange
-        Page<Question> questionPage = new PageImpl<>(List.of(testQuestion), testPageable, 1);
-        when(questionRepository.findAllByAuthorOrderByCreatedAtDesc(TestConstants.USER_ID_1, testPageable))
-                .thenReturn(questionPage);
+        Slice<QuestionHeader> questionSlice = new SliceImpl<>(List.of(testHeader), testPageable, false);
+        when(questionRepository.findHeadersByAuthor(TestConstants.USER_ID_1, testPageable))
+                .thenReturn(questionSlice);
 
         // Act
-        PagedResponse<QuestionHeader> result = questionService.getQuestionsByAuthor(TestConstants.USER_ID_1, testPageable);
+        PagedResponse<QuestionHeader> result = questionService.getQuestionsByAuthor(TestConstants.USER_ID_1, testPageable, true);
 
         // Assert
         assertThat(result).isNotNull();
         assertThat(result.data()).hasSize(1);
-        verify(questionRepository).findAllByAuthorOrderByCreatedAtDesc(TestConstants.USER_ID_1, testPageable);
+        verify(questionRepository).findHeadersByAuthor(TestConstants.USER_ID_1, testPageable);
+    }
+
+    @Test
+    void getUnansweredQuestions_FullPageWithTotal_UsesUnansweredCount() {
+        // Arrange
+        Pageable singleItemPage = PageRequest.of(0, 1);
+        Slice<QuestionHeader> questionSlice = new SliceImpl<>(List.of(testHeader), singleItemPage, true);
+        when(questionRepository.findUnansweredHeaders(singleItemPage)).thenReturn(questionSlice);
+        when(totalCountProvider.countUnansweredQuestions()).thenReturn(7L);
+
+        // Act
+        PagedResponse<QuestionHeader> result = questionService.getUnansweredQuestions(singleItemPage, true);
+
+        // Assert
+        assertThat(result.totalItems()).isEqualTo(7);
+        assertThat(result.hasNext()).isTrue();
+        verify(totalCountProvider, never()).countQuestions();
+    }
+
+    @Test
+    void getUnansweredQuestions_FirstCursorPageHasMore_ReturnsNextCursor() {
+        // Arrange
+        QuestionHeader secondHeader = new QuestionHeader(TestConstants.QUESTION_ID_2, TestConstants.TEST_QUESTION_TITLE,
+                TestConstants.TEST_QUESTION_TEXT, TestConstants.USER_ID_2, Instant.now(), 0, 0);
+        when(questionRepository.findFirstUnansweredHeaders(PageRequest.ofSize(2)))
+                .thenReturn(List.of(testHeader, secondHeader));
+
+        // Act
+        CursorPagedResponse<QuestionHeader> result = questionService.getUnansweredQuestions(null, 1);
+
+        // Assert
+        assertThat(result.data()).extracting(QuestionHeader::id).containsExactly(TestConstants.QUESTION_ID_1);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(PageCursor.decode(result.nextCursor())).isEqualTo(QuestionMapper.toCursor(testHeader));
+    }
+
+    @Test
+    void getHotQuestions_SecondPage_ReturnsSliceOfFeed() {
+        // Arrange
+        QuestionHeader secondHeader = new QuestionHeader(TestConstants.QUESTION_ID_2, TestConstants.TEST_QUESTION_TITLE,
+                TestConstants.TEST_QUESTION_TEXT, TestConstants.USER_ID_2, Instant.now(), 0, 0);
+        when(hotQuestionFeed.hottest()).thenReturn(List.of(secondHeader, testHeader));
+        when(questionViewCounter.pending(TestConstants.QUESTION_ID_1)).thenReturn(4L);
+
+        // Act
+        PagedResponse<QuestionHeader> result = questionService.getHotQuestions(null, PageRequest.of(1, 1));
+
+        // Assert
+        assertThat(result.data()).extracting(QuestionHeader::id).containsExactly(TestConstants.QUESTION_ID_1);
+        assertThat(result.data().get(0).views()).isEqualTo(4);
+        assertThat(result.totalItems()).isEqualTo(2);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.hasPrevious()).isTrue();
+        verifyNoInteractions(questionRepository);
+    }
+
+    @Test
+    void getHotQuestions_Author_ListsOnlyTheirQuestions() {
+        // Arrange
+        QuestionHeader secondHeader = new QuestionHeader(TestConstants.QUESTION_ID_2, TestConstants.TEST_QUESTION_TITLE,
+                TestConstants.TEST_QUESTION_TEXT, TestConstants.USER_ID_2, Instant.now(), 0, 0);
+        when(hotQuestionFeed.hottest()).thenReturn(List.of(secondHeader, testHeader));
+
+        // Act
+        PagedResponse<QuestionHeader> result = questionService.getHotQuestions(TestConstants.USER_ID_2, testPageable);
+
+        // Assert
+        assertThat(result.data()).extracting(QuestionHeader::id).containsExactly(TestConstants.QUESTION_ID_2);
+        assertThat(result.totalItems()).isEqualTo(1);
+    }
+
+    @Test
+    void getQuestionsByIds_ReturnsQuestionsInRequestOrderAndMissingIds() {
+        // Arrange
+        QuestionHeader secondHeader = new QuestionHeader(TestConstants.QUESTION_ID_2, TestConstants.TEST_QUESTION_TITLE,
+                TestConstants.TEST_QUESTION_TEXT, TestConstants.USER_ID_2, Instant.now(), 0, 0);
+        when(questionRepository.findHeadersByIdIn(any()))
+                .thenReturn(List.of(testHeader, secondHeader));
+
+        // Act
+        QuestionBatchResponse result = questionService.getQuestionsByIds(List.of(
+                TestConstants.QUESTION_ID_2, TestConstants.NON_EXISTENT_QUESTION_ID,
+                TestConstants.QUESTION_ID_1, TestConstants.QUESTION_ID_2));
+
+        // Assert
+        assertThat(result.data()).extracting(QuestionHeader::id)
+                .containsExactly(TestConstants.QUESTION_ID_2, TestConstants.QUESTION_ID_1);
+        assertThat(result.missingIds()).containsExactly(TestConstants.NON_EXISTENT_QUESTION_ID);
+    }
+
+    @Test
+    void searchQuestions_FirstPageHasMore_ReturnsHitsInRankOrderWithCursor() {
+        // Arrange
+        QuestionHeader secondHeader = new QuestionHeader(TestConstants.QUESTION_ID_2, TestConstants.TEST_QUESTION_TITLE,
+                TestConstants.TEST_QUESTION_TEXT, TestConstants.USER_ID_2, Instant.now(), 0, 0);
+        when(questionRepository.findFirstSearchMatches("title", 2)).thenReturn(List.of(
+                new SearchMatch(TestConstants.QUESTION_ID_2, 0.5f, "<mark>Title</mark>", "snippet"),
+                new SearchMatch(TestConstants.QUESTION_ID_1, 0.3f, "<mark>Title</mark>", "snippet")));
+        when(questionRepository.findHeadersByIdIn(List.of(TestConstants.QUESTION_ID_2)))
+                .thenReturn(List.of(secondHeader));
+        when(questionViewCounter.pending(TestConstants.QUESTION_ID_2)).thenReturn(3L);
+
+        // Act
+        CursorPagedResponse<QuestionSearchHit> result = questionService.searchQuestions("title", null, 1);
+
+        // Assert
+        assertThat(result.data()).extracting(hit -> hit.question().id()).containsExactly(TestConstants.QUESTION_ID_2);
+        assertThat(result.data().get(0).title()).isEqualTo("<mark>Title</mark>");
+        assertThat(result.data().get(0).question().views()).isEqualTo(3);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(RankCursor.decode(result.nextCursor())).isEqualTo(new RankCursor(0.5f, TestConstants.QUESTION_ID_2));
+    }
+
+    @Test
+    void searchQuestions_QuestionDeletedAfterRanking_LeavesItOut() {
+        // Arrange
+        RankCursor cursor = new RankCursor(0.7f, TestConstants.NON_EXISTENT_QUESTION_ID);
+        when(questionRepository.findSearchMatchesAfterCursor("title", 0.7f, TestConstants.NON_EXISTENT_QUESTION_ID, 11))
+                .thenReturn(List.of(
+                        new SearchMatch(TestConstants.QUESTION_ID_2, 0.5f, "Title", "snippet"),
+                        new SearchMatch(TestConstants.QUESTION_ID_1, 0.3f, "Title", "snippet")));
+        when(questionRepository.findHeadersByIdIn(any())).thenReturn(List.of(testHeader));
+
+        // Act
+        CursorPagedResponse<QuestionSearchHit> result = questionService.searchQuestions("title", cursor, 10);
+
+        // Assert
+        assertThat(result.data()).extracting(hit -> hit.question().id()).containsExactly(TestConstants.QUESTION_ID_1);
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    void searchQuestions_QuestionDeletedOnFullPage_KeepsCursorOfLastMatch() {
+        // Arrange
+        when(questionRepository.findFirstSearchMatches("title", 3)).thenReturn(List.of(
+                new SearchMatch(TestConstants.QUESTION_ID_1, 0.5f, "Title", "snippet"),
+                new SearchMatch(TestConstants.QUESTION_ID_2, 0.4f, "Title", "snippet"),
+                new SearchMatch(TestConstants.QUESTION_ID_3, 0.3f, "Title", "snippet")));
+        when(questionRepository.findHeadersByIdIn(List.of(TestConstants.QUESTION_ID_1, TestConstants.QUESTION_ID_2)))
+                .thenReturn(List.of(testHeader));
+
+        // Act
+        CursorPagedResponse<QuestionSearchHit> result = questionService.searchQuestions("title", null, 2);
+
+        // Assert
+        assertThat(result.data()).extracting(hit -> hit.question().id()).containsExactly(TestConstants.QUESTION_ID_1);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(RankCursor.decode(result.nextCursor())).isEqualTo(new RankCursor(0.4f, TestConstants.QUESTION_ID_2));
+    }
+
+    @Test
+    void getPossibleDuplicates_NewQuestion_ReturnsMatchesInSimilarityOrder() {
+        // Arrange
+        CreateQuestionRequest request = new CreateQuestionRequest(
+                TestConstants.TEST_QUESTION_TITLE,
+                TestConstants.TEST_QUESTION_TEXT
+        );
+        QuestionHeader secondHeader = new QuestionHeader(TestConstants.QUESTION_ID_2, TestConstants.TEST_QUESTION_TITLE,
+                TestConstants.TEST_QUESTION_TEXT, TestConstants.USER_ID_2, Instant.now(), 0, 0);
+        when(questionDuplicateIndex.findSimilar(
+                MinHash.signature(TestConstants.TEST_QUESTION_TITLE, TestConstants.TEST_QUESTION_TEXT), null, 5))
+                .thenReturn(List.of(
+                        new QuestionDuplicateIndex.Match(TestConstants.QUESTION_ID_2, 0.9),
+                        new QuestionDuplicateIndex.Match(TestConstants.QUESTION_ID_1, 0.6)));
+        when(questionRepository.findHeadersByIdIn(List.of(TestConstants.QUESTION_ID_2, TestConstants.QUESTION_ID_1)))
+                .thenReturn(List.of(testHeader, secondHeader));
+
+        // Act
+        List<DuplicateCandidate> result = questionService.getPossibleDuplicates(request, 5);
+
+        // Assert
+        assertThat(result).extracting(candidate -> candidate.question().id())
+                .containsExactly(TestConstants.QUESTION_ID_2, TestConstants.QUESTION_ID_1);
+        assertThat(result).extracting(DuplicateCandidate::similarity).containsExactly(0.9, 0.6);
+    }
+
+    @Test
+    void getPossibleDuplicates_ExistingQuestion_ExcludesItself() {
+        // Arrange
+        when(questionRepository.findById(TestConstants.QUESTION_ID_1)).thenReturn(Optional.of(testQuestion));
+        when(questionDuplicateIndex.findSimilar(any(), eq(TestConstants.QUESTION_ID_1), eq(5))).thenReturn(List.of());
+
+        // Act
+        List<DuplicateCandidate> result = questionService.getPossibleDuplicates(TestConstants.QUESTION_ID_1, 5);
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(questionRepository, never()).findHeadersByIdIn(any());
+    }
+
+    @Test
+    void getPossibleDuplicates_QuestionNotFound_ThrowsException() {
+        // Arrange
+        when(questionRepository.findById(TestConstants.NON_EXISTENT_QUESTION_ID)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> questionService.getPossibleDuplicates(TestConstants.NON_EXISTENT_QUESTION_ID, 5))
+                .isInstanceOf(QuestionNotFoundException.class);
+        verifyNoInteractions(questionDuplicateIndex);
+    }
+
+    @Test
+    void getQuestionsByCursor_FirstPageHasMore_ReturnsNextCursor() {
+        // Arrange
+        QuestionHeader olderHeader = new QuestionHeader(
+                TestConstants.QUESTION_ID_2,
+                TestConstants.TEST_QUESTION_TITLE,
+                TestConstants.TEST_QUESTION_TEXT,
+                TestConstants.USER_ID_1,
+                testQuestion.getCreatedAt().minusSeconds(60),
+                0,
+                0
+        );
+        when(questionRepository.findFirstHeaders(PageRequest.ofSize(2)))
+                .thenReturn(List.of(testHeader, olderHeader));
+
+        // Act
+        CursorPagedResponse<QuestionHeader> result = questionService.getQuestions(null, 1);
+
+        // Assert
+        assertThat(result.data()).hasSize(1);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(PageCursor.decode(result.nextCursor()))
+                .isEqualTo(new PageCursor(testQuestion.getCreatedAt(), TestConstants.QUESTION_ID_1));
+    }
+
+    @Test
+    void getQuestionsByCursor_LastPage_ReturnsNoCursor() {
+        // Arrange
+        PageCursor cursor = new PageCursor(Instant.now(), TestConstants.QUESTION_ID_2);
+        when(questionRepository.findHeadersBeforeCursor(cursor.createdAt(), cursor.id(), PageRequest.ofSize(11)))
+                .thenReturn(List.of(testHeader));
+
+        // Act
+        CursorPagedResponse<QuestionHeader> result = questionService.getQuestions(cursor, 10);
+
+        // Assert
+        assertThat(result.data()).hasSize(1);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.nextCursor()).isNull();
+    }
+
+    @Test
+    void exportQuestions_RowsOfSeveralQuestions_GroupsAnswersByQuestion() {
+        // Arrange
+        Instant now = Instant.now();
+        when(questionRepository.streamExportRows()).thenReturn(Stream.of(
+                new QuestionExportRow(1L, "Title 1", "Text 1", TestConstants.USER_ID_1, now,
+                        10L, "Answer 10", TestConstants.USER_ID_2, now, 0L),
+                new QuestionExportRow(1L, "Title 1", "Text 1", TestConstants.USER_ID_1, now,
+                        11L, "Answer 11", TestConstants.ADMIN_USER_ID, now, 0L),
+                new QuestionExportRow(2L, "Title 2", "Text 2", TestConstants.USER_ID_2, now,
+                        null, null, null, null, null)
+        ));
+        List<QuestionExport> exports = new ArrayList<>();
+
+        // Act
+        questionService.exportQuestions(null, exports::add);
+
+        // Assert
+        assertThat(exports).extracting(QuestionExport::id).containsExactly(1L, 2L);
+        assertThat(exports.get(0).answers()).extracting(AnswerItem::id).containsExactly(10L, 11L);
+        assertThat(exports.get(1).answers()).isEmpty();
+    }
+
+    @Test
+    void checkExportAccess_AllQuestionsAndUserNotAdmin_ThrowsAccessDeniedException() {
+        // Arrange
+        when(securityUtils.isAdmin(questionAuthorToken)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> questionService.checkExportAccess(null, questionAuthorToken))
+                .isInstanceOf(AccessDeniedException.class);
     }
 
     @Test
@@ -148,6 +618,30 @@ class QuestionServiceImplTest {
         verify(questionRepository).save(any(Question.class));
     }
 
+    @Test
+    void createQuestions_ValidData_SavesAllInOneCallAndPublishesOneEvent() {
+        // Arrange
+        List<CreateQuestionRequest> requests = List.of(
+                new CreateQuestionRequest("First question title", TestConstants.TEST_QUESTION_TEXT),
+                new CreateQuestionRequest("Second question title", TestConstants.TEST_QUESTION_TEXT)
+        );
+        when(securityUtils.getCurrentUserId(questionAuthorToken)).thenReturn(TestConstants.USER_ID_1);
+        when(questionRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        List<Question> result = questionService.createQuestions(requests, questionAuthorToken);
+
+        // Assert
+        assertThat(result).extracting(Question::getTitle)
+                .containsExactly("First question title", "Second question title");
+        assertThat(result).extracting(Question::getAuthor)
+                .containsOnly(TestConstants.USER_ID_1);
+        verify(questionRepository).saveAll(any());
+        verify(questionRepository, never()).save(any(Question.class));
+        verify(applicationEventPublisher).publishEvent(any(QuestionsCreatedEvent.class));
+        verify(applicationEventPublisher, never()).publishEvent(any(QuestionChangedEvent.class));
+    }
+
     @Test
     void updateQuestion_UserIsAuthor_UpdatesQuestion() {
         // Arrange
@@ -287,4 +781,8 @@ class QuestionServiceImplTest {
 
         return new JwtAuthenticationToken(jwt, grantedAuthorities, subject.toString());
     }
-}
\ No newline at end of file
+
+    private record SearchMatch(Long getId, Float getRank, String getTitle, String getSnippet)
+            implements QuestionSearchMatch {
+    }
+}
@@ -0,0 +1,2 @@
+delete from answers;
+delete from questions;
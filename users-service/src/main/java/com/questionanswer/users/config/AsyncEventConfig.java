@@ -1,23 +1,27 @@
 package com.questionanswer.users.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @EnableAsync
 public class AsyncEventConfig {
 
+    /**
+     * A thread per task, virtual when {@code spring.threads.virtual.enabled} is set on Java 21.
+     * Concurrency is bounded by a limit instead of a pool and a queue: once it is reached, submitting
+     * waits for a running task to finish rather than rejecting the work.
+     */
     @Bean
-    TaskExecutor eventTaskExecutor() {
-        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
-        taskExecutor.setCorePoolSize(2);
-        taskExecutor.setMaxPoolSize(4);
-        taskExecutor.setQueueCapacity(20);
-        taskExecutor.setThreadNamePrefix("event-publisher-");
-        taskExecutor.initialize();
-        return taskExecutor;
+    TaskExecutor eventTaskExecutor(SimpleAsyncTaskExecutorBuilder builder,
+                                   @Value("${users.async.max-concurrency:16}") int maxConcurrency) {
+        return builder
+                .threadNamePrefix("event-publisher-")
+                .concurrencyLimit(maxConcurrency)
+                .build();
     }
-}
\ No newline at end of file
+}
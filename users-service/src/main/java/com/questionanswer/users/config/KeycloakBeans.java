@@ -7,6 +7,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.Semaphore;
+
 @Configuration
 public class KeycloakBeans {
 
@@ -34,4 +36,13 @@ public class KeycloakBeans {
                 .serverUrl(serverUrl)
                 .build();
     }
+
+    /**
+     * Bounds concurrent admin API calls to the connection pool of the client,
+     * so callers wait for a permit with a timeout instead of queueing for a connection.
+     */
+    @Bean
+    public Semaphore keycloakPermits(@Value("${keycloak.admin.max-concurrent-requests:10}") int permits) {
+        return new Semaphore(permits, true);
+    }
 }
@@ -18,7 +18,11 @@ import org.springframework.retry.annotation.Retryable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -27,8 +31,12 @@ public class KeycloakServiceImpl implements KeycloakService {
     @Value("${keycloak.realm}")
     private String realmName;
 
+    @Value("${keycloak.admin.acquire-timeout:5s}")
+    private Duration acquireTimeout;
+
     private final Keycloak keycloak;
     private final UserMapper userMapper;
+    private final Semaphore keycloakPermits;
 
 
     @Override
@@ -36,6 +44,7 @@ public class KeycloakServiceImpl implements KeycloakService {
         UserRepresentation userRepresentation = userMapper.toUserRepresentation(request);
         UsersResource usersResource = keycloak.realm(realmName).users();
         String keycloakUserId;
+        acquirePermit(() -> new KeycloakUserCreationError("Keycloak is busy, try again later"));
         try (var response = usersResource.create(userRepresentation)) {
             String error = response.readEntity(String.class);
             switch (response.getStatus()) {
@@ -49,6 +58,8 @@ public class KeycloakServiceImpl implements KeycloakService {
                 }
                 default -> throw new KeycloakUserCreationError("Error while keycloak user creating: " + error);
             }
+        } finally {
+            keycloakPermits.release();
         }
         log.info("User created in Keycloak with ID: {}", keycloakUserId);
 
@@ -62,12 +73,15 @@ public class KeycloakServiceImpl implements KeycloakService {
             throw new KeycloakUserDeleteException("User ID cannot be null or blank");
         }
 
+        acquirePermit(() -> new KeycloakUserDeleteException("Keycloak is busy, user deletion postponed"));
         try (var response = keycloak.realm(realmName).users().delete(userId)) {
             if (response.getStatus() != 204) {
                 String error = response.readEntity(String.class);
                 log.error("Failed delete user with id {}: {}", userId, error);
                 throw new KeycloakUserDeleteException("Error while keycloak user deletion: " + error);
             }
+        } finally {
+            keycloakPermits.release();
         }
     }
 
@@ -88,6 +102,22 @@ public class KeycloakServiceImpl implements KeycloakService {
     }
 
 
+    /**
+     * Waits for one of the permits that bound concurrent Keycloak calls.
+     * The permit must be released by the caller once the response is consumed.
+     */
+    private void acquirePermit(Supplier<? extends RuntimeException> busy) {
+        try {
+            if (!keycloakPermits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("No Keycloak permit within {}", acquireTimeout);
+                throw busy.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy.get();
+        }
+    }
+
     private String extractUserIdFromLocation(java.net.URI location) {
         String path = location.getPath();
         return path.substring(path.lastIndexOf('/') + 1);